@@ -28,6 +28,7 @@ import org.openhab.core.config.core.ConfigurableService;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 
@@ -46,6 +47,8 @@ import com.oracle.truffle.js.scriptengine.GraalJSEngineFactory;
 public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
     private static final String CFG_INJECTION_ENABLED = "injectionEnabled";
     private static final String CFG_INJECTION_CACHING_ENABLED = "injectionCachingEnabled";
+    private static final String CFG_PREPARED_ENGINES = "preparedEngines";
+    private static final int DEFAULT_PREPARED_ENGINES = 2;
 
     private static final GraalJSEngineFactory factory = new GraalJSEngineFactory();
 
@@ -60,6 +63,8 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
 
     private boolean injectionEnabled = true;
     private boolean injectionCachingEnabled = true;
+    private int preparedEngines = DEFAULT_PREPARED_ENGINES;
+    private volatile @Nullable GraalJSScriptEnginePool enginePool;
 
     private final JSScriptServiceUtil jsScriptServiceUtil;
     private final JSDependencyTracker jsDependencyTracker;
@@ -87,8 +92,13 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
         if (!scriptTypes.contains(scriptType)) {
             return null;
         }
-        return new DebuggingGraalScriptEngine<>(new OpenhabGraalJSScriptEngine(injectionEnabled,
-                injectionCachingEnabled, jsScriptServiceUtil, jsDependencyTracker));
+        GraalJSScriptEnginePool enginePool = this.enginePool;
+        return new DebuggingGraalScriptEngine<>(enginePool != null ? enginePool.take() : createEngine());
+    }
+
+    private OpenhabGraalJSScriptEngine createEngine() {
+        return new OpenhabGraalJSScriptEngine(injectionEnabled, injectionCachingEnabled, jsScriptServiceUtil,
+                jsDependencyTracker);
     }
 
     @Override
@@ -97,9 +107,31 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
     }
 
     @Modified
-    protected void modified(Map<String, ?> config) {
+    protected synchronized void modified(Map<String, ?> config) {
         this.injectionEnabled = ConfigParser.valueAsOrElse(config.get(CFG_INJECTION_ENABLED), Boolean.class, true);
         this.injectionCachingEnabled = ConfigParser.valueAsOrElse(config.get(CFG_INJECTION_CACHING_ENABLED),
                 Boolean.class, true);
+        this.preparedEngines = Math.max(0, ConfigParser.valueAsOrElse(config.get(CFG_PREPARED_ENGINES),
+                Integer.class, DEFAULT_PREPARED_ENGINES));
+
+        // engines prepared with the previous configuration are discarded
+        closeEnginePool();
+        if (preparedEngines > 0) {
+            enginePool = new GraalJSScriptEnginePool(this::createEngine, preparedEngines,
+                    injectionEnabled && injectionCachingEnabled);
+        }
+    }
+
+    @Deactivate
+    protected synchronized void deactivate() {
+        closeEnginePool();
+    }
+
+    private void closeEnginePool() {
+        GraalJSScriptEnginePool enginePool = this.enginePool;
+        if (enginePool != null) {
+            enginePool.close();
+            this.enginePool = null;
+        }
     }
 }
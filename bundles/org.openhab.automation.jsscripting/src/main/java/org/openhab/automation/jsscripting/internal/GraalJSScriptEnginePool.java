@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a number of {@link OpenhabGraalJSScriptEngine}s, which are prepared in the background, ready to be used by new
+ * scripts. The JS context of a prepared engine has already been created and the global script has been evaluated, so
+ * only the script specific initialization is left when the engine is first invoked.
+ *
+ * When an engine is taken, a new one is prepared in the background. The first prepared engine also parses the
+ * openhab-js injection, so the shared code cache is filled before the first scripts are loaded.
+ *
+ * @author Jonathan Gilbert - Initial contribution
+ */
+@NonNullByDefault
+class GraalJSScriptEnginePool {
+    private static final String THREAD_POOL_NAME = "automation-jsscripting";
+
+    private final Logger logger = LoggerFactory.getLogger(GraalJSScriptEnginePool.class);
+
+    private final ExecutorService executor = ThreadPoolManager.getPool(THREAD_POOL_NAME);
+    private final Supplier<OpenhabGraalJSScriptEngine> engineSupplier;
+    private final int size;
+    private final BlockingQueue<OpenhabGraalJSScriptEngine> engines;
+
+    private int preparing = 0;
+    private boolean parseInjection;
+    private boolean closed = false;
+
+    /**
+     * @param engineSupplier creates new engines
+     * @param size the number of engines to keep prepared
+     * @param parseInjection whether to parse the cached openhab-js injection in advance
+     */
+    GraalJSScriptEnginePool(Supplier<OpenhabGraalJSScriptEngine> engineSupplier, int size, boolean parseInjection) {
+        this.engineSupplier = engineSupplier;
+        this.size = size;
+        this.parseInjection = parseInjection;
+        this.engines = new LinkedBlockingQueue<>(Math.max(1, size));
+        fill();
+    }
+
+    /**
+     * Returns a prepared engine, or a new engine if none is ready.
+     */
+    OpenhabGraalJSScriptEngine take() {
+        OpenhabGraalJSScriptEngine engine = engines.poll();
+        fill();
+        if (engine == null) {
+            logger.debug("No prepared GraalJS script engine available, creating a new one");
+            return engineSupplier.get();
+        }
+        return engine;
+    }
+
+    /**
+     * Closes all prepared engines. Engines which are still being prepared are closed when done.
+     */
+    synchronized void close() {
+        closed = true;
+        OpenhabGraalJSScriptEngine engine;
+        while ((engine = engines.poll()) != null) {
+            engine.discard();
+        }
+    }
+
+    private synchronized void fill() {
+        while (!closed && engines.size() + preparing < size) {
+            preparing++;
+            executor.execute(this::prepareEngine);
+        }
+    }
+
+    private void prepareEngine() {
+        @Nullable
+        OpenhabGraalJSScriptEngine engine = null;
+        try {
+            long start = System.nanoTime();
+            engine = engineSupplier.get();
+            engine.prepare();
+            if (takeParseInjection()) {
+                engine.parseInjection();
+            }
+            logger.debug("Prepared GraalJS script engine in {} ms", (System.nanoTime() - start) / 1000000);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to prepare GraalJS script engine: {}", e.getMessage());
+            if (engine != null) {
+                engine.discard();
+            }
+            engine = null;
+        }
+
+        synchronized (this) {
+            preparing--;
+            if (engine != null && (closed || !engines.offer(engine))) {
+                engine.discard();
+            }
+        }
+    }
+
+    private synchronized boolean takeParseInjection() {
+        boolean result = parseInjection;
+        parseInjection = false;
+        return result;
+    }
+}
@@ -141,6 +141,7 @@ public class OpenhabGraalJSScriptEngine
     private @Nullable Consumer<String> scriptDependencyListener;
     private String engineIdentifier; // this field is very helpful for debugging, please do not remove it
 
+    private boolean prepared = false;
     private boolean initialized = false;
     private final boolean injectionEnabled;
     private final boolean injectionCachingEnabled;
@@ -274,17 +275,10 @@ public class OpenhabGraalJSScriptEngine
         delegate.getBindings(ScriptContext.ENGINE_SCOPE).put(REQUIRE_WRAPPER_NAME, wrapRequireFn);
         delegate.put("require", wrapRequireFn.apply((Function<Object[], Object>) delegate.get("require")));
 
-        // Injections into the JS runtime
-        jsRuntimeFeatures.getFeatures().forEach((key, obj) -> {
-            logger.debug("Injecting {} into the JS runtime...", key);
-            delegate.put(key, obj);
-        });
-
         initialized = true;
 
         try {
-            logger.debug("Evaluating cached global script...");
-            delegate.getPolyglotContext().eval(GLOBAL_SOURCE);
+            prepare();
             if (this.injectionEnabled) {
                 if (this.injectionCachingEnabled) {
                     logger.debug("Evaluating cached openhab-js injection...");
@@ -300,6 +294,54 @@ public class OpenhabGraalJSScriptEngine
         }
     }
 
+    /**
+     * Prepares the parts of the JS runtime which do not depend on the script, so that it can be done in advance by
+     * the {@link GraalJSScriptEnginePool}: injects the {@link JSRuntimeFeatures} and evaluates the global script.
+     * Otherwise, this is done on the first invocation.
+     */
+    void prepare() {
+        lock.lock();
+        try {
+            if (prepared) {
+                return;
+            }
+            prepared = true;
+
+            // Injections into the JS runtime
+            jsRuntimeFeatures.getFeatures().forEach((key, obj) -> {
+                logger.debug("Injecting {} into the JS runtime...", key);
+                delegate.put(key, obj);
+            });
+
+            logger.debug("Evaluating cached global script...");
+            delegate.getPolyglotContext().eval(GLOBAL_SOURCE);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Parses the cached openhab-js injection without evaluating it. As all contexts share the same {@link Engine}, the
+     * parsed source is reused when the injection is evaluated by the first scripts.
+     */
+    void parseInjection() {
+        lock.lock();
+        try {
+            logger.debug("Parsing cached openhab-js injection...");
+            delegate.getPolyglotContext().parse(OPENHAB_JS_SOURCE);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes an engine which has been prepared, but is not used by any script.
+     */
+    void discard() {
+        jsRuntimeFeatures.close();
+        delegate.getPolyglotContext().close();
+    }
+
     @Override
     protected Object afterInvocation(Object obj) {
         lock.unlock();
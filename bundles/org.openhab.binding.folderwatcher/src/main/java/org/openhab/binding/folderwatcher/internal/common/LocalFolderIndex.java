@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.folderwatcher.internal.common;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link LocalFolderIndex} class keeps size and modification time of all known files of a watched local folder.
+ * It is stored in a binary file, where paths are sorted and only the part differing from the previous path is
+ * written.
+ *
+ * @author Alexandr Salamatov - Initial contribution
+ */
+@NonNullByDefault
+public class LocalFolderIndex {
+    private static final int MAGIC = 0x46574958;
+    private static final int VERSION = 1;
+
+    private record Entry(long size, long lastModified) {
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean dirty;
+
+    /**
+     * Adds or updates a file.
+     *
+     * @return true if the file was not known before
+     */
+    public boolean put(String path, long size, long lastModified) {
+        Entry entry = new Entry(size, lastModified);
+        @Nullable
+        Entry previous = entries.put(path, entry);
+        if (!entry.equals(previous)) {
+            dirty = true;
+        }
+        return previous == null;
+    }
+
+    /**
+     * Removes a file.
+     *
+     * @return true if the file was known
+     */
+    public boolean remove(String path) {
+        boolean removed = entries.remove(path) != null;
+        dirty |= removed;
+        return removed;
+    }
+
+    /**
+     * Removes all files below a directory.
+     */
+    public void removeTree(String directory) {
+        String prefix = directory.endsWith(File.separator) ? directory : directory + File.separator;
+        dirty |= entries.keySet().removeIf(path -> path.startsWith(prefix));
+    }
+
+    /**
+     * Removes all files except the given ones.
+     */
+    public void retainAll(Set<String> paths) {
+        dirty |= entries.keySet().retainAll(paths);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Loads an index.
+     *
+     * @param file index file
+     * @param watchDir directory the index has to belong to
+     * @return the stored index, or an empty index if the file does not exist or belongs to another directory
+     */
+    public static LocalFolderIndex load(File file, String watchDir) throws IOException {
+        LocalFolderIndex index = new LocalFolderIndex();
+        if (!file.exists()) {
+            return index;
+        }
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION || !input.readUTF().equals(watchDir)) {
+                return index;
+            }
+            int count = input.readInt();
+            String previousPath = "";
+            for (int i = 0; i < count; i++) {
+                int common = input.readUnsignedShort();
+                String path = previousPath.substring(0, common) + input.readUTF();
+                index.entries.put(path, new Entry(input.readLong(), input.readLong()));
+                previousPath = path;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Stores the index, replacing the file only once it has been written completely.
+     *
+     * @param file index file
+     * @param watchDir directory the index belongs to
+     */
+    public void save(File file, String watchDir) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        List<String> paths = new ArrayList<>(entries.keySet());
+        Collections.sort(paths);
+        File tempFile = new File(file.getPath() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeUTF(watchDir);
+            output.writeInt(paths.size());
+            String previousPath = "";
+            for (String path : paths) {
+                int common = Math.min(commonPrefixLength(previousPath, path), 0xffff);
+                output.writeShort(common);
+                output.writeUTF(path.substring(common));
+                @Nullable
+                Entry entry = entries.get(path);
+                output.writeLong(entry != null ? entry.size() : -1);
+                output.writeLong(entry != null ? entry.lastModified() : -1);
+                previousPath = path;
+            }
+        }
+        try {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        dirty = false;
+    }
+
+    private static int commonPrefixLength(String first, String second) {
+        int length = Math.min(first.length(), second.length());
+        int i = 0;
+        while (i < length && first.charAt(i) == second.charAt(i)) {
+            i++;
+        }
+        // do not split surrogate pairs
+        if (i > 0 && Character.isHighSurrogate(first.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+}
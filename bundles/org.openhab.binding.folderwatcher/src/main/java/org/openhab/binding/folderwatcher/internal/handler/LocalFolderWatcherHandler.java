@@ -12,23 +12,34 @@
  */
 package org.openhab.binding.folderwatcher.internal.handler;
 
+import static java.nio.file.StandardWatchEventKinds.*;
 import static org.openhab.binding.folderwatcher.internal.FolderWatcherBindingConstants.CHANNEL_NEWFILE;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.FileVisitor;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.folderwatcher.internal.common.LocalFolderIndex;
 import org.openhab.binding.folderwatcher.internal.common.WatcherCommon;
 import org.openhab.binding.folderwatcher.internal.config.LocalFolderWatcherConfiguration;
 import org.openhab.core.OpenHAB;
@@ -50,13 +61,27 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class LocalFolderWatcherHandler extends BaseThingHandler {
+    // file systems where changes made by other hosts are not reported as watch events
+    private static final Set<String> REMOTE_FILE_SYSTEMS = Set.of("nfs", "nfs4", "cifs", "smb", "smb2", "smbfs",
+            "fuse.sshfs", "9p");
+    private static final long WATCH_EVENTS_INTERVAL_MS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(LocalFolderWatcherHandler.class);
     private LocalFolderWatcherConfiguration config = new LocalFolderWatcherConfiguration();
     private File currentLocalListingFile = new File(OpenHAB.getUserDataFolder() + File.separator + "FolderWatcher"
             + File.separator + thing.getUID().getAsString().replace(':', '_') + ".data");
+    private File localIndexFile = new File(OpenHAB.getUserDataFolder() + File.separator + "FolderWatcher"
+            + File.separator + thing.getUID().getAsString().replace(':', '_') + ".index");
     private @Nullable ScheduledFuture<?> executionJob;
+    private @Nullable ScheduledFuture<?> indexSaveJob;
     private List<String> previousLocalListing = new ArrayList<>();
 
+    // used in watch service mode
+    private volatile @Nullable WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    private LocalFolderIndex localIndex = new LocalFolderIndex();
+    private boolean initialScanDone;
+
     public LocalFolderWatcherHandler(Thing thing) {
         super(thing);
     }
@@ -65,7 +90,11 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
     public void handleCommand(ChannelUID channelUID, Command command) {
         logger.debug("Channel {} triggered with command {}", channelUID.getId(), command);
         if (command instanceof RefreshType) {
-            refreshFolderInformation();
+            if (watchService != null) {
+                rescanFolder();
+            } else {
+                refreshFolderInformation();
+            }
         }
     }
 
@@ -74,10 +103,43 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
         config = getConfigAs(LocalFolderWatcherConfiguration.class);
         updateStatus(ThingStatus.UNKNOWN);
 
-        if (!Files.isDirectory(Paths.get(config.localDir))) {
+        Path localDir = Paths.get(config.localDir);
+        if (!Files.isDirectory(localDir)) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, "Local directory is not valid");
             return;
         }
+        if (config.pollIntervalLocal <= 0) {
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
+                    "Polling interval can't be null or negative");
+            return;
+        }
+
+        if (config.useWatchServiceLocal) {
+            WatchService localWatchService = createWatchService(localDir);
+            if (localWatchService != null) {
+                try {
+                    localIndex = loadIndex();
+                } catch (IOException e) {
+                    closeWatchService(localWatchService);
+                    updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
+                    logger.debug("Can't read file {}: {}", localIndexFile, e.getMessage());
+                    return;
+                }
+                watchService = localWatchService;
+                initialScanDone = false;
+                updateStatus(ThingStatus.ONLINE);
+                // the initial scan is done by the first run of the job
+                executionJob = scheduler.scheduleWithFixedDelay(this::processWatchEvents, 0, WATCH_EVENTS_INTERVAL_MS,
+                        TimeUnit.MILLISECONDS);
+                indexSaveJob = scheduler.scheduleWithFixedDelay(this::saveIndex, config.pollIntervalLocal,
+                        config.pollIntervalLocal, TimeUnit.SECONDS);
+                return;
+            }
+        }
+        startPolling();
+    }
+
+    private void startPolling() {
         try {
             previousLocalListing = WatcherCommon.initStorage(currentLocalListingFile, config.localDir);
         } catch (IOException e) {
@@ -86,15 +148,9 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
             return;
         }
 
-        if (config.pollIntervalLocal > 0) {
-            updateStatus(ThingStatus.ONLINE);
-            executionJob = scheduler.scheduleWithFixedDelay(this::refreshFolderInformation, config.pollIntervalLocal,
-                    config.pollIntervalLocal, TimeUnit.SECONDS);
-        } else {
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
-                    "Polling interval can't be null or negative");
-            return;
-        }
+        updateStatus(ThingStatus.ONLINE);
+        executionJob = scheduler.scheduleWithFixedDelay(this::refreshFolderInformation, config.pollIntervalLocal,
+                config.pollIntervalLocal, TimeUnit.SECONDS);
     }
 
     @Override
@@ -104,6 +160,20 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
             executionJob.cancel(true);
             this.executionJob = null;
         }
+        ScheduledFuture<?> indexSaveJob = this.indexSaveJob;
+        if (indexSaveJob != null) {
+            indexSaveJob.cancel(false);
+            this.indexSaveJob = null;
+        }
+        WatchService localWatchService = watchService;
+        if (localWatchService != null) {
+            watchService = null;
+            closeWatchService(localWatchService);
+            synchronized (this) {
+                saveIndex();
+                watchedDirectories.clear();
+            }
+        }
     }
 
     private void refreshFolderInformation() {
@@ -149,7 +219,7 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
             });
 
             List<String> diffLocalListing = new ArrayList<>(currentLocalListing);
-            diffLocalListing.removeAll(previousLocalListing);
+            diffLocalListing.removeAll(new HashSet<>(previousLocalListing));
             diffLocalListing.forEach(file -> triggerChannel(CHANNEL_NEWFILE, file));
 
             if (!diffLocalListing.isEmpty()) {
@@ -160,4 +230,220 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
             logger.debug("File manipulation error: {}", e.getMessage());
         }
     }
+
+    private @Nullable WatchService createWatchService(Path localDir) {
+        try {
+            String type = Files.getFileStore(localDir).type().toLowerCase(Locale.ROOT);
+            if (REMOTE_FILE_SYSTEMS.contains(type)) {
+                logger.debug("File system {} of {} does not report all changes, polling it instead", type, localDir);
+                return null;
+            }
+            return localDir.getFileSystem().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.debug("Can't watch {}, polling it instead: {}", localDir, e.getMessage());
+            return null;
+        }
+    }
+
+    private void closeWatchService(WatchService localWatchService) {
+        try {
+            localWatchService.close();
+        } catch (IOException e) {
+            logger.debug("Can't close watch service: {}", e.getMessage());
+        }
+    }
+
+    private LocalFolderIndex loadIndex() throws IOException {
+        LocalFolderIndex index = LocalFolderIndex.load(localIndexFile, config.localDir);
+        if (index.isEmpty() && currentLocalListingFile.exists()) {
+            // files reported while polling are not reported again, the first line is the watched directory
+            List<String> listing = WatcherCommon.initStorage(currentLocalListingFile, config.localDir);
+            for (String file : listing.subList(Math.min(1, listing.size()), listing.size())) {
+                index.put(file, -1, -1);
+            }
+        }
+        return index;
+    }
+
+    private synchronized void saveIndex() {
+        if (localIndex.isDirty()) {
+            try {
+                localIndex.save(localIndexFile, config.localDir);
+            } catch (IOException e) {
+                logger.debug("Can't write file {}: {}", localIndexFile, e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void processWatchEvents() {
+        WatchService localWatchService = watchService;
+        if (localWatchService == null) {
+            return;
+        }
+        try {
+            if (!initialScanDone) {
+                long start = System.currentTimeMillis();
+                rescanFolder();
+                initialScanDone = true;
+                logger.debug("Indexed {} files of {} in {} ms", localIndex.size(), config.localDir,
+                        System.currentTimeMillis() - start);
+            }
+
+            List<String> newFiles = new ArrayList<>();
+            boolean overflow = false;
+            WatchKey key;
+            while ((key = localWatchService.poll()) != null) {
+                Path dir = watchedDirectories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        overflow = true;
+                    } else if (dir != null && event.context() instanceof Path name) {
+                        processWatchEvent(event.kind(), dir.resolve(name), newFiles);
+                    }
+                }
+                if (!key.reset()) {
+                    // directory has been deleted
+                    watchedDirectories.remove(key);
+                }
+            }
+            newFiles.forEach(file -> triggerChannel(CHANNEL_NEWFILE, file));
+            if (overflow) {
+                logger.debug("Too many changes in {}, scanning it again", config.localDir);
+                rescanFolder();
+            }
+        } catch (ClosedWatchServiceException e) {
+            // thing is being disposed
+        } catch (UnsupportedOperationException e) {
+            logger.debug("Can't watch {}, polling it instead: {}", config.localDir, e.getMessage());
+            fallBackToPolling();
+        } catch (IOException e) {
+            logger.debug("File manipulation error: {}", e.getMessage());
+        }
+    }
+
+    private void processWatchEvent(WatchEvent.Kind<?> kind, Path path, List<String> newFiles) throws IOException {
+        String file = path.toAbsolutePath().toString();
+        if (kind == ENTRY_DELETE) {
+            if (!localIndex.remove(file)) {
+                localIndex.removeTree(file);
+            }
+            return;
+        }
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // already deleted again
+            return;
+        }
+        if (attrs.isDirectory()) {
+            if (kind == ENTRY_CREATE && config.listRecursiveLocal) {
+                // files may have been created before the directory is watched
+                indexTree(path, null, newFiles);
+            }
+        } else if (!Files.isHidden(path) || config.listHiddenLocal) {
+            if (localIndex.put(file, attrs.size(), attrs.lastModifiedTime().toMillis())) {
+                newFiles.add(file);
+            }
+        }
+    }
+
+    private synchronized void rescanFolder() {
+        try {
+            Set<String> currentFiles = new HashSet<>();
+            List<String> newFiles = new ArrayList<>();
+            indexTree(Paths.get(config.localDir), currentFiles, newFiles);
+            if (watchService == null) {
+                // scan has been aborted, keep files which have not been seen
+                return;
+            }
+            localIndex.retainAll(currentFiles);
+            newFiles.forEach(file -> triggerChannel(CHANNEL_NEWFILE, file));
+        } catch (ClosedWatchServiceException e) {
+            // thing is being disposed
+        } catch (IOException e) {
+            logger.debug("File manipulation error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Adds all files below a directory to the index and watches its directories.
+     *
+     * @param start directory to scan
+     * @param currentFiles receives all files found, if not null
+     * @param newFiles receives files which were not in the index
+     */
+    private void indexTree(Path start, @Nullable Set<String> currentFiles, List<String> newFiles) throws IOException {
+        WatchService localWatchService = watchService;
+        if (localWatchService == null) {
+            return;
+        }
+        final Path rootDir = Paths.get(config.localDir);
+        Files.walkFileTree(start, new FileVisitor<@Nullable Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(@Nullable Path dir, @Nullable BasicFileAttributes attrs)
+                    throws IOException {
+                if (dir != null) {
+                    if (!dir.equals(rootDir) && !config.listRecursiveLocal) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    watchedDirectories.put(dir.register(localWatchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY),
+                            dir);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(@Nullable Path file, @Nullable BasicFileAttributes attrs)
+                    throws IOException {
+                if (watchService == null) {
+                    return FileVisitResult.TERMINATE;
+                }
+                if (file != null && attrs != null) {
+                    if (Files.isHidden(file) && !config.listHiddenLocal) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    String path = file.toAbsolutePath().toString();
+                    if (currentFiles != null) {
+                        currentFiles.add(path);
+                    }
+                    if (localIndex.put(path, attrs.size(), attrs.lastModifiedTime().toMillis())) {
+                        newFiles.add(path);
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(@Nullable Path file, @Nullable IOException exc) throws IOException {
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(@Nullable Path dir, @Nullable IOException exc)
+                    throws IOException {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void fallBackToPolling() {
+        WatchService localWatchService = watchService;
+        if (localWatchService != null) {
+            watchService = null;
+            closeWatchService(localWatchService);
+        }
+        watchedDirectories.clear();
+        ScheduledFuture<?> indexSaveJob = this.indexSaveJob;
+        if (indexSaveJob != null) {
+            indexSaveJob.cancel(false);
+            this.indexSaveJob = null;
+        }
+        ScheduledFuture<?> executionJob = this.executionJob;
+        if (executionJob != null) {
+            // called from this job, which ends after the current run
+            executionJob.cancel(false);
+        }
+        startPolling();
+    }
 }
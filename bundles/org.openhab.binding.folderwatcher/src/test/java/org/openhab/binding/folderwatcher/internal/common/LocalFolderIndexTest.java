@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.folderwatcher.internal.common;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests storing and loading the {@link LocalFolderIndex}.
+ *
+ * @author Alexandr Salamatov - Initial contribution
+ */
+@NonNullByDefault
+public class LocalFolderIndexTest {
+    private static final String WATCH_DIR = "/srv/watched";
+
+    private @TempDir @NonNullByDefault({}) Path directory;
+    private @NonNullByDefault({}) File indexFile;
+
+    @BeforeEach
+    public void setUp() {
+        indexFile = directory.resolve("index").resolve("local.idx").toFile();
+    }
+
+    private LocalFolderIndex saveAndLoad(Map<String, Long> files) throws IOException {
+        LocalFolderIndex index = new LocalFolderIndex();
+        files.forEach((path, size) -> index.put(path, size, size * 1000));
+        index.save(indexFile, WATCH_DIR);
+        assertFalse(index.isDirty());
+        return LocalFolderIndex.load(indexFile, WATCH_DIR);
+    }
+
+    private void assertContainsExactly(Map<String, Long> files, LocalFolderIndex index) {
+        assertEquals(files.size(), index.size());
+        // an unchanged file is neither new nor modifying the index
+        files.forEach((path, size) -> assertFalse(index.put(path, size, size * 1000), path));
+        assertFalse(index.isDirty());
+    }
+
+    @Test
+    public void pathsWithSharedPrefixesAreRestored() throws IOException {
+        Map<String, Long> files = Map.of(WATCH_DIR + "/a/file1", 1L, WATCH_DIR + "/a/file10", 2L,
+                WATCH_DIR + "/a/b/file1", 3L, WATCH_DIR + "/c", 4L, WATCH_DIR + "/a", 5L);
+
+        assertContainsExactly(files, saveAndLoad(files));
+    }
+
+    @Test
+    public void prefixesLongerThanTheStoredLengthAreRestored() throws IOException {
+        // each suffix fits into a UTF string, while the prefix shared by the last two paths does not
+        String first = WATCH_DIR + "/" + "a".repeat(40000);
+        String second = first + "b".repeat(40000);
+        String third = second + "c";
+        Map<String, Long> files = Map.of(first, 1L, second, 2L, third, 3L);
+
+        assertContainsExactly(files, saveAndLoad(files));
+    }
+
+    @Test
+    public void surrogatePairsAreNotSplit() throws IOException {
+        Map<String, Long> files = Map.of(WATCH_DIR + "/😀.txt", 1L, WATCH_DIR + "/😁.txt", 2L,
+                WATCH_DIR + "/😁😂.txt", 3L);
+
+        assertContainsExactly(files, saveAndLoad(files));
+    }
+
+    @Test
+    public void indexOfAnotherDirectoryIsNotLoaded() throws IOException {
+        LocalFolderIndex index = new LocalFolderIndex();
+        index.put(WATCH_DIR + "/file", 1, 1000);
+        index.save(indexFile, WATCH_DIR);
+
+        assertTrue(LocalFolderIndex.load(indexFile, "/srv/other").isEmpty());
+        assertEquals(1, LocalFolderIndex.load(indexFile, WATCH_DIR).size());
+    }
+
+    @Test
+    public void missingIndexIsEmpty() throws IOException {
+        LocalFolderIndex index = LocalFolderIndex.load(indexFile, WATCH_DIR);
+
+        assertTrue(index.isEmpty());
+        assertFalse(index.isDirty());
+    }
+}
@@ -267,11 +267,12 @@ public class IpCameraHandler extends BaseThingHandler {
                 if (msg instanceof HttpContent content) {
                     if (mjpegUri.endsWith(requestUrl) && !(content instanceof LastHttpContent)) {
                         // multiple MJPEG stream packets come back as this.
-                        byte[] chunkedFrame = new byte[content.content().readableBytes()];
-                        content.content().getBytes(content.content().readerIndex(), chunkedFrame);
                         CameraServlet localServlet = servlet;
                         if (localServlet != null) {
-                            localServlet.openStreams.queueFrame(chunkedFrame);
+                            int length = content.content().readableBytes();
+                            byte[] chunkedFrame = localServlet.openStreams.borrowBuffer(length);
+                            content.content().getBytes(content.content().readerIndex(), chunkedFrame, 0, length);
+                            localServlet.openStreams.queueFrame(chunkedFrame, length);
                         }
                     } else {
                         // Found some cameras use Content-Type: image/jpg instead of image/jpeg
@@ -70,7 +70,7 @@ public class CameraServlet extends IpCameraServlet {
             case "/ipcamera.jpg":
                 // ffmpeg sends data here for ipcamera.mjpeg streams when camera has no native stream.
                 ServletInputStream snapshotData = req.getInputStream();
-                openStreams.queueFrame(snapshotData.readAllBytes());
+                openStreams.queueFrame(snapshotData, req.getContentLength());
                 snapshotData.close();
                 break;
             case "/snapshot.jpg":
@@ -208,7 +208,9 @@ public class CameraServlet extends IpCameraServlet {
                     } catch (InterruptedException | IOException e) {
                         // Never stop streaming until IOException. Occurs when browser stops the stream.
                         openStreams.removeStream(output);
-                        logger.debug("Now there are {} ipcamera.mjpeg streams open.", openStreams.getNumberOfStreams());
+                        logger.debug(
+                                "Now there are {} ipcamera.mjpeg streams open, the closed stream served {} bytes and dropped {} frames.",
+                                openStreams.getNumberOfStreams(), output.getBytesServed(), output.getFramesDropped());
                         if (openStreams.isEmpty()) {
                             if (output.isSnapshotBased) {
                                 Ffmpeg localMjpeg = handler.ffmpegMjpeg;
@@ -12,56 +12,292 @@
  */
 package org.openhab.binding.ipcamera.internal.servlet;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 
 /**
- * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all FIFO buffers to allow
+ * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all streams to allow
  * 1 to many streams without needing to open more than 1 source stream.
  *
+ * Frames are kept once in a ring buffer, which all streams read from by sequence number. A stream that falls behind
+ * by more than the size of the ring skips to the newest frame where an image starts, so a slow client never holds up
+ * the camera or the other clients. The byte[] of dropped frames are reused for new frames. Once the last stream is
+ * removed, the ring and the reusable byte[] are cleared.
+ *
  * @author Matthew Skinner - Initial contribution
  */
 @NonNullByDefault
 public class OpenStreams {
-    private List<StreamOutput> openStreams = Collections.synchronizedList(new ArrayList<>());
+    private static final int RING_SIZE = 50;
+    private static final int MAX_POOLED_BUFFERS = RING_SIZE + 8;
+    private static final long WAIT_FOR_FRAME_MS = 1000;
+
+    /**
+     * A frame in the ring buffer. It counts the streams which are writing it, so its buffer is only reused once the
+     * frame has left the ring and no stream is writing it anymore.
+     */
+    static class Frame {
+        final long sequence;
+        final byte[] buffer;
+        final int length;
+        // offset where an image starts in the frame, -1 if there is none
+        final int imageStart;
+        private final boolean pooled;
+        private final OpenStreams owner;
+        // the ring holds one reference
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        Frame(OpenStreams owner, long sequence, byte[] buffer, int length, int imageStart, boolean pooled) {
+            this.owner = owner;
+            this.sequence = sequence;
+            this.buffer = buffer;
+            this.length = length;
+            this.imageStart = imageStart;
+            this.pooled = pooled;
+        }
+
+        private boolean retain() {
+            int count;
+            do {
+                count = references.get();
+                if (count == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        void release() {
+            if (references.decrementAndGet() == 0 && pooled) {
+                owner.recycle(buffer);
+            }
+        }
+    }
+
+    private final List<StreamOutput> openStreams = new CopyOnWriteArrayList<>();
+    private final AtomicReferenceArray<@Nullable Frame> ring = new AtomicReferenceArray<>(RING_SIZE);
+    private final Queue<byte[]> bufferPool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledBuffers = new AtomicInteger();
+    private final Object newFrame = new Object();
+    private volatile long latestSequence = -1;
     public String boundary = "thisMjpegStream";
+    private volatile byte[] boundaryBytes = boundary.getBytes(StandardCharsets.US_ASCII);
 
-    public synchronized void addStream(StreamOutput stream) {
+    public void addStream(StreamOutput stream) {
+        // new streams start with the next image
+        stream.attach(this, latestSequence + 1);
         openStreams.add(stream);
     }
 
-    public synchronized void removeStream(StreamOutput stream) {
+    public void removeStream(StreamOutput stream) {
         openStreams.remove(stream);
+        if (openStreams.isEmpty()) {
+            clearFrames();
+        }
     }
 
-    public synchronized int getNumberOfStreams() {
+    public int getNumberOfStreams() {
         return openStreams.size();
     }
 
-    public synchronized boolean isEmpty() {
+    public boolean isEmpty() {
         return openStreams.isEmpty();
     }
 
-    public synchronized void updateContentType(String contentType, String boundary) {
+    public void updateContentType(String contentType, String boundary) {
         this.boundary = boundary;
+        this.boundaryBytes = boundary.getBytes(StandardCharsets.US_ASCII);
         for (StreamOutput stream : openStreams) {
             stream.updateContentType(contentType);
         }
     }
 
-    public synchronized void queueFrame(byte[] frame) {
-        for (StreamOutput stream : openStreams) {
-            stream.queueFrame(frame);
+    /**
+     * Returns a buffer for a frame, which may be a reused one.
+     *
+     * @param minimumSize the size the buffer needs to have at least
+     */
+    public byte[] borrowBuffer(int minimumSize) {
+        byte[] buffer;
+        while ((buffer = bufferPool.poll()) != null) {
+            pooledBuffers.decrementAndGet();
+            if (buffer.length >= minimumSize) {
+                return buffer;
+            }
+        }
+        return new byte[minimumSize];
+    }
+
+    private void recycle(byte[] buffer) {
+        if (pooledBuffers.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+            bufferPool.offer(buffer);
+        } else {
+            pooledBuffers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Queues a frame which may be reused by the caller afterwards, like the current snapshot.
+     */
+    public void queueFrame(byte[] frame) {
+        publish(frame, frame.length, false);
+    }
+
+    /**
+     * Queues a frame in a buffer from {@link #borrowBuffer(int)}. The buffer must not be used by the caller anymore.
+     */
+    public void queueFrame(byte[] buffer, int length) {
+        publish(buffer, length, true);
+    }
+
+    /**
+     * Reads a frame into a reused buffer and queues it.
+     *
+     * @param input the frame data, which is read until its end
+     * @param expectedLength the length of the data if known, or -1
+     */
+    public void queueFrame(InputStream input, int expectedLength) throws IOException {
+        byte[] buffer = borrowBuffer(expectedLength > 0 ? expectedLength : 64 * 1024);
+        int length = 0;
+        int read;
+        while ((read = input.read(buffer, length, buffer.length - length)) >= 0) {
+            length += read;
+            if (length == buffer.length) {
+                int next = input.read();
+                if (next < 0) {
+                    break;
+                }
+                byte[] larger = new byte[buffer.length * 2];
+                System.arraycopy(buffer, 0, larger, 0, length);
+                larger[length++] = (byte) next;
+                buffer = larger;
+            }
+        }
+        queueFrame(buffer, length);
+    }
+
+    private synchronized void publish(byte[] buffer, int length, boolean pooled) {
+        // the only lock taken by the camera, and never held while writing to clients
+        long sequence = latestSequence + 1;
+        Frame frame = new Frame(this, sequence, buffer, length, findImageStart(buffer, length), pooled);
+        @Nullable
+        Frame dropped = ring.getAndSet((int) (sequence % RING_SIZE), frame);
+        latestSequence = sequence;
+        if (dropped != null) {
+            dropped.release();
+        }
+        synchronized (newFrame) {
+            newFrame.notifyAll();
+        }
+    }
+
+    private int findImageStart(byte[] buffer, int length) {
+        if (length >= 2 && (buffer[0] & 0xff) == 0xff && (buffer[1] & 0xff) == 0xd8) {
+            // a complete jpg
+            return 0;
+        }
+        byte[] pattern = boundaryBytes;
+        if (pattern.length == 0) {
+            return -1;
+        }
+        outer: for (int i = 0; i <= length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (buffer[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            // include the dashes in front of the boundary
+            int start = i;
+            while (start > 0 && i - start < 2 && buffer[start - 1] == '-') {
+                start--;
+            }
+            return start;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the next frame for a stream, skipping frames if the stream has fallen behind. The returned frame must
+     * be released after writing it.
+     *
+     * @param stream the stream
+     * @param anyFrame whether every frame holds a complete image, so no frames need to be skipped to find an image
+     * @return the frame, or null if no new frame has arrived for a while
+     */
+    @Nullable
+    Frame nextFrame(StreamOutput stream, boolean anyFrame) throws InterruptedException {
+        long sequence = stream.nextSequence;
+        if (sequence > latestSequence) {
+            synchronized (newFrame) {
+                if (sequence > latestSequence) {
+                    newFrame.wait(WAIT_FOR_FRAME_MS);
+                }
+            }
+            if (sequence > latestSequence) {
+                return null;
+            }
+        }
+        @Nullable
+        Frame frame = ring.get((int) (sequence % RING_SIZE));
+        if (frame != null && frame.sequence == sequence && frame.retain()) {
+            if (stream.waitingForImage && !anyFrame && frame.imageStart < 0) {
+                // new stream or stream which has fallen behind, start with an image
+                frame.release();
+                stream.nextSequence = sequence + 1;
+                return null;
+            }
+            stream.nextSequence = sequence + 1;
+            return frame;
+        }
+        // the frame has been overwritten, continue with the newest image
+        long resumeSequence = latestSequence + 1;
+        for (long candidate = latestSequence; candidate > sequence && candidate > latestSequence - RING_SIZE;) {
+            @Nullable
+            Frame candidateFrame = ring.get((int) (candidate % RING_SIZE));
+            if (candidateFrame != null && candidateFrame.sequence == candidate
+                    && (anyFrame || candidateFrame.imageStart >= 0)) {
+                resumeSequence = candidate;
+                break;
+            }
+            candidate--;
+        }
+        stream.framesDropped += resumeSequence - sequence;
+        stream.nextSequence = resumeSequence;
+        stream.waitingForImage = true;
+        return null;
+    }
+
+    /**
+     * Releases the frames in the ring and drops the reusable buffers, so no memory is held while nobody is watching.
+     */
+    private synchronized void clearFrames() {
+        for (int i = 0; i < RING_SIZE; i++) {
+            @Nullable
+            Frame frame = ring.getAndSet(i, null);
+            if (frame != null) {
+                frame.release();
+            }
+        }
+        while (bufferPool.poll() != null) {
+            pooledBuffers.decrementAndGet();
         }
     }
 
-    public synchronized void closeAllStreams() {
+    public void closeAllStreams() {
         for (StreamOutput stream : openStreams) {
             stream.close();
         }
         openStreams.clear();
+        clearFrames();
     }
 }
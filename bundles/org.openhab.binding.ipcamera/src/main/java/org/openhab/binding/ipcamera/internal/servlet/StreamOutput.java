@@ -13,13 +13,13 @@
 package org.openhab.binding.ipcamera.internal.servlet;
 
 import java.io.IOException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.ipcamera.internal.servlet.OpenStreams.Frame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,7 +35,13 @@ public class StreamOutput {
     private final String boundary;
     private String contentType;
     private final ServletOutputStream output;
-    private BlockingQueue<byte[]> fifo = new ArrayBlockingQueue<>(50);
+    private @Nullable OpenStreams streams;
+    // position in the frames of the OpenStreams, only used by the thread sending the frames
+    long nextSequence;
+    boolean waitingForImage = true;
+    long framesDropped = 0;
+    private long bytesServed = 0;
+    private volatile boolean closed = false;
     private boolean connected = false;
     public boolean isSnapshotBased = false;
 
@@ -59,29 +65,43 @@ public class StreamOutput {
     }
 
     public void sendSnapshotBasedFrame(byte[] currentSnapshot) throws IOException {
-        String header = "--" + boundary + "\r\n" + "Content-Type: image/jpeg" + "\r\n" + "Content-Length: "
-                + currentSnapshot.length + "\r\n\r\n";
+        sendSnapshotBasedFrame(currentSnapshot, currentSnapshot.length);
+    }
+
+    public void sendSnapshotBasedFrame(byte[] currentSnapshot, int length) throws IOException {
+        String header = "--" + boundary + "\r\n" + "Content-Type: image/jpeg" + "\r\n" + "Content-Length: " + length
+                + "\r\n\r\n";
         if (!connected) {
             sendInitialHeaders();
             // iOS needs to have two jpgs sent for the picture to appear instantly.
             output.write(header.getBytes());
-            output.write(currentSnapshot);
+            output.write(currentSnapshot, 0, length);
             output.write("\r\n".getBytes());
             connected = true;
         }
         output.write(header.getBytes());
-        output.write(currentSnapshot);
+        output.write(currentSnapshot, 0, length);
         output.write("\r\n".getBytes());
     }
 
-    public void queueFrame(byte[] frame) {
-        try {
-            fifo.add(frame);
-        } catch (IllegalStateException e) {
-            logger.debug("FIFO buffer has run out of space: {}", e.getMessage());
-            fifo.remove();
-            fifo.add(frame);
-        }
+    /**
+     * @return the number of bytes of frames sent by this stream
+     */
+    public long getBytesServed() {
+        return bytesServed;
+    }
+
+    /**
+     * @return the number of frames skipped by this stream, because it has fallen behind
+     */
+    public long getFramesDropped() {
+        return framesDropped;
+    }
+
+    void attach(OpenStreams streams, long firstSequence) {
+        this.streams = streams;
+        nextSequence = firstSequence;
+        waitingForImage = true;
     }
 
     public void updateContentType(String contentType) {
@@ -92,11 +112,33 @@ public class StreamOutput {
         }
     }
 
+    /**
+     * Waits for the next frame and sends it, or returns after a while if no frame arrives.
+     *
+     * @throws IOException if the client has gone or the stream has been closed
+     */
     public void sendFrame() throws IOException, InterruptedException {
-        if (isSnapshotBased) {
-            sendSnapshotBasedFrame(fifo.take());
-        } else if (connected) {
-            output.write(fifo.take());
+        OpenStreams localStreams = streams;
+        if (closed || localStreams == null) {
+            throw new IOException("Stream has been closed");
+        }
+        Frame frame = localStreams.nextFrame(this, isSnapshotBased);
+        if (frame == null) {
+            return;
+        }
+        try {
+            if (isSnapshotBased) {
+                sendSnapshotBasedFrame(frame.buffer, frame.length);
+                bytesServed += frame.length;
+                waitingForImage = false;
+            } else if (connected) {
+                int offset = waitingForImage ? frame.imageStart : 0;
+                output.write(frame.buffer, offset, frame.length - offset);
+                bytesServed += frame.length - offset;
+                waitingForImage = false;
+            }
+        } finally {
+            frame.release();
         }
     }
 
@@ -107,6 +149,7 @@ public class StreamOutput {
     }
 
     public void close() {
+        closed = true;
         try {
             output.close();
         } catch (IOException e) {
@@ -15,13 +15,18 @@ package org.openhab.binding.knx.internal.client;
 import static org.openhab.binding.knx.internal.dpt.DPTUtil.NORMALIZED_DPT;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -107,7 +112,9 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
+    // group address -> listeners, kept up to date when listeners are (un)registered
+    private final Map<GroupAddress, Set<GroupAddressListener>> groupAddressListeners = new ConcurrentHashMap<>();
+    private final Map<GroupAddressListener, ListenerQueue> listenerQueues = new ConcurrentHashMap<>();
     private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
 
     @FunctionalInterface
@@ -115,6 +122,42 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         void apply(BusMessageListener listener, IndividualAddress source, GroupAddress destination, byte[] asdu);
     }
 
+    /**
+     * Notifications of a listener, which are run one after the other by a single task on the KNX scheduler.
+     * Telegrams arriving while the task is pending or running are handled by the same task.
+     */
+    private class ListenerQueue {
+        private final Set<GroupAddress> groupAddresses;
+        private final Queue<Runnable> notifications = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        ListenerQueue(Set<GroupAddress> groupAddresses) {
+            this.groupAddresses = groupAddresses;
+        }
+
+        void submit(Runnable notification) {
+            notifications.add(notification);
+            if (scheduled.compareAndSet(false, true)) {
+                knxScheduler.execute(this::run);
+            }
+        }
+
+        private void run() {
+            do {
+                Runnable notification;
+                while ((notification = notifications.poll()) != null) {
+                    try {
+                        notification.run();
+                    } catch (RuntimeException e) {
+                        logger.warn("Failed to notify listener about telegram: {}", e.getMessage(), e);
+                    }
+                }
+                scheduled.set(false);
+                // re-check to not miss notifications submitted after the queue was found empty
+            } while (!notifications.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+    }
+
     @NonNullByDefault({})
     private final ProcessListener processListener = new ProcessListener() {
 
@@ -341,13 +384,23 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
+        long received = System.nanoTime();
+        DispatchStatistics statistics = commandExtensionData.dispatchStatistics();
         boolean isHandled = false;
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                isHandled = true;
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
+        Set<GroupAddressListener> listeners = groupAddressListeners.get(destination);
+        if (listeners != null) {
+            for (GroupAddressListener listener : listeners) {
+                ListenerQueue queue = listenerQueues.get(listener);
+                if (queue != null) {
+                    isHandled = true;
+                    queue.submit(() -> {
+                        statistics.listenerNotified(System.nanoTime() - received);
+                        action.apply(listener, source, destination, asdu);
+                    });
+                }
             }
         }
+        statistics.telegramReceived(isHandled);
         // Store information about unhandled GAs, can be shown on console using knx:list-unknown-ga.
         // The idea is to store GA, message type, and size as key. The value counts the number of packets.
         if (!isHandled) {
@@ -519,13 +572,32 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public final void registerGroupAddressListener(GroupAddressListener listener) {
-        groupAddressListeners.add(listener);
+    public final synchronized void registerGroupAddressListener(GroupAddressListener listener) {
+        // index the current addresses of the listener, replacing the ones of a previous registration
+        removeFromIndex(listener);
+        Set<GroupAddress> groupAddresses = Set.copyOf(listener.getGroupAddresses());
+        listenerQueues.put(listener, new ListenerQueue(groupAddresses));
+        for (GroupAddress groupAddress : groupAddresses) {
+            groupAddressListeners.computeIfAbsent(groupAddress, ga -> new CopyOnWriteArraySet<>()).add(listener);
+        }
     }
 
     @Override
-    public final void unregisterGroupAddressListener(GroupAddressListener listener) {
-        groupAddressListeners.remove(listener);
+    public final synchronized void unregisterGroupAddressListener(GroupAddressListener listener) {
+        removeFromIndex(listener);
+    }
+
+    private void removeFromIndex(GroupAddressListener listener) {
+        ListenerQueue queue = listenerQueues.remove(listener);
+        if (queue == null) {
+            return;
+        }
+        for (GroupAddress groupAddress : queue.groupAddresses) {
+            groupAddressListeners.computeIfPresent(groupAddress, (ga, listeners) -> {
+                listeners.remove(listener);
+                return listeners.isEmpty() ? null : listeners;
+            });
+        }
     }
 
     @Override
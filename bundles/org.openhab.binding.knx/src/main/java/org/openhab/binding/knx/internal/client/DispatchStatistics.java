@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Statistics about the telegrams received from the KNX bus and their dispatching to the listeners,
+ * shown on the console using knx:show-statistics.
+ *
+ * @author Simon Kaufmann - Initial contribution
+ */
+@NonNullByDefault
+public class DispatchStatistics {
+
+    private final LongAdder telegrams = new LongAdder();
+    private final LongAdder unhandledTelegrams = new LongAdder();
+    private final LongAdder notifications = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+    private volatile long startNanos = System.nanoTime();
+
+    void telegramReceived(boolean handled) {
+        telegrams.increment();
+        if (!handled) {
+            unhandledTelegrams.increment();
+        }
+    }
+
+    void listenerNotified(long latency) {
+        notifications.increment();
+        latencyNanos.add(latency);
+        maxLatencyNanos.accumulate(latency);
+    }
+
+    public long getTelegrams() {
+        return telegrams.sum();
+    }
+
+    public long getUnhandledTelegrams() {
+        return unhandledTelegrams.sum();
+    }
+
+    public long getNotifications() {
+        return notifications.sum();
+    }
+
+    /**
+     * @return average number of telegrams per second since the statistics have been reset
+     */
+    public double getTelegramsPerSecond() {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        return elapsedMillis > 0 ? telegrams.sum() * 1000.0 / elapsedMillis : 0;
+    }
+
+    /**
+     * @return average time in microseconds from receiving a telegram until a listener is notified
+     */
+    public long getAverageLatencyMicros() {
+        long count = notifications.sum();
+        return count > 0 ? TimeUnit.NANOSECONDS.toMicros(latencyNanos.sum() / count) : 0;
+    }
+
+    /**
+     * @return maximum time in microseconds from receiving a telegram until a listener is notified
+     */
+    public long getMaxLatencyMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxLatencyNanos.get());
+    }
+
+    public void reset() {
+        telegrams.reset();
+        unhandledTelegrams.reset();
+        notifications.reset();
+        latencyNanos.reset();
+        maxLatencyNanos.reset();
+        startNanos = System.nanoTime();
+    }
+}
@@ -18,6 +18,7 @@ import java.util.Map.Entry;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.KNXBindingConstants;
+import org.openhab.binding.knx.internal.client.DispatchStatistics;
 import org.openhab.binding.knx.internal.factory.KNXHandlerFactory;
 import org.openhab.binding.knx.internal.handler.KNXBridgeBaseThingHandler;
 import org.openhab.core.io.console.Console;
@@ -39,7 +40,10 @@ import org.osgi.service.component.annotations.Reference;
 public class KNXCommandExtension extends AbstractConsoleCommandExtension implements ConsoleCommandCompleter {
 
     private static final String CMD_LIST_UNKNOWN_GA = "list-unknown-ga";
-    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_LIST_UNKNOWN_GA), false);
+    private static final String CMD_SHOW_STATISTICS = "show-statistics";
+    private static final String ARG_RESET = "reset";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
+            List.of(CMD_LIST_UNKNOWN_GA, CMD_SHOW_STATISTICS), false);
 
     private final KNXHandlerFactory knxHandlerFactory;
 
@@ -61,13 +65,32 @@ public class KNXCommandExtension extends AbstractConsoleCommandExtension impleme
             }
             return;
         }
+        if (args.length >= 1 && CMD_SHOW_STATISTICS.equalsIgnoreCase(args[0])
+                && (args.length == 1 || (args.length == 2 && ARG_RESET.equalsIgnoreCase(args[1])))) {
+            for (KNXBridgeBaseThingHandler bridgeHandler : knxHandlerFactory.getBridges()) {
+                DispatchStatistics statistics = bridgeHandler.getCommandExtensionData().dispatchStatistics();
+                console.println("KNX bridge \"" + bridgeHandler.getThing().getLabel() + "\":");
+                console.println(String.format("  telegrams: %d (%.1f/s), not configured in openHAB: %d",
+                        statistics.getTelegrams(), statistics.getTelegramsPerSecond(),
+                        statistics.getUnhandledTelegrams()));
+                console.println(String.format("  listener notifications: %d, dispatch latency avg %d µs, max %d µs",
+                        statistics.getNotifications(), statistics.getAverageLatencyMicros(),
+                        statistics.getMaxLatencyMicros()));
+                if (args.length == 2) {
+                    statistics.reset();
+                }
+            }
+            return;
+        }
         printUsage(console);
     }
 
     @Override
     public List<String> getUsages() {
-        return List
-                .of(buildCommandUsage(CMD_LIST_UNKNOWN_GA, "list group addresses which are not configured in openHAB"));
+        return List.of(
+                buildCommandUsage(CMD_LIST_UNKNOWN_GA, "list group addresses which are not configured in openHAB"),
+                buildCommandUsage(CMD_SHOW_STATISTICS + " [" + ARG_RESET + "]",
+                        "show telegram rate and dispatch latency, optionally reset the statistics"));
     }
 
     @Override
@@ -20,7 +20,10 @@ import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -82,6 +85,26 @@ public class ValueDecoder {
             .compile("(?:\\((?<x>\\d+(?:[,.]\\d+)?) (?<y>\\d+(?:[,.]\\d+)?)\\))?\\s*(?:(?<Y>\\d+(?:[,.]\\d+)?)\\s%)?");
     public static final Pattern TSD_SEPARATOR = Pattern.compile("^[0-9]+(?<sep>[,\\.])[0-9][0-9][0-9].*");
 
+    /**
+     * A DPT whose values are decoded directly from the telegram data, without creating a Calimero translator and
+     * parsing its string representation.
+     *
+     * @param length the length of the data
+     * @param numericValue decodes the numeric value, null for DPT 1
+     */
+    private record DirectDpt(String id, String subType, int length, Set<Class<? extends Type>> allowedTypes,
+            @Nullable String unit, @Nullable ToDoubleFunction<byte[]> numericValue) {
+    }
+
+    private static final DirectDpt NOT_DIRECT = new DirectDpt("", "", 0, Set.of(), null, null);
+    // DPT 5 subtypes without scaling of the value
+    private static final Set<String> DPT5_UNSCALED = Set.of("004", "005", "006", "010");
+    // DPT 7 subtypes without scaling of the value
+    private static final Set<String> DPT7_UNSCALED = Set.of("001", "002", "005", "006", "007", "010", "011", "012",
+            "013", "600");
+    // DPT id -> direct decoding, or NOT_DIRECT
+    private static final Map<String, DirectDpt> DIRECT_DPTS = new ConcurrentHashMap<>();
+
     private static boolean check235001(byte[] data) throws KNXException {
         if (data.length != 6) {
             throw new KNXFormatException("DPT235 broken frame");
@@ -113,6 +136,106 @@ public class ValueDecoder {
      * @return the data converted to an openHAB Type (or null if conversion failed)
      */
     public static @Nullable Type decode(String dptId, byte[] data, Class<? extends Type> preferredType) {
+        DirectDpt directDpt = DIRECT_DPTS.computeIfAbsent(dptId, ValueDecoder::createDirectDpt);
+        if (directDpt != NOT_DIRECT && data.length == directDpt.length()) {
+            return decodeDirect(directDpt, data, preferredType);
+        }
+        return decodeWithTranslator(dptId, data, preferredType);
+    }
+
+    /**
+     * decode the value of common DPTs directly from the data, with the same result as decoding via the translator
+     */
+    private static @Nullable Type decodeDirect(DirectDpt directDpt, byte[] data, Class<? extends Type> preferredType) {
+        ToDoubleFunction<byte[]> numericValue = directDpt.numericValue();
+        if (numericValue == null) {
+            return handleDpt1(directDpt.subType(), (data[0] & 0x01) != 0, preferredType);
+        }
+        double value = numericValue.applyAsDouble(data);
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            // invalid values are reported by the translator
+            return decodeWithTranslator(directDpt.id(), data, preferredType);
+        }
+        return handleNumericValue(directDpt.id(), value, null, directDpt.allowedTypes(), directDpt.unit(),
+                preferredType);
+    }
+
+    private static DirectDpt createDirectDpt(String dptId) {
+        Matcher m = DPTUtil.DPT_PATTERN.matcher(dptId);
+        if (DPTUtil.NORMALIZED_DPT.containsKey(dptId) || !m.matches() || m.group("sub") == null) {
+            return NOT_DIRECT;
+        }
+        String mainType = m.group("main");
+        String subType = m.group("sub");
+        int length;
+        @Nullable
+        ToDoubleFunction<byte[]> numericValue;
+        switch (mainType) {
+            case "1":
+                length = 1;
+                numericValue = null;
+                break;
+            case "5":
+                if (!DPT5_UNSCALED.contains(subType)) {
+                    return NOT_DIRECT;
+                }
+                length = 1;
+                numericValue = data -> data[0] & 0xff;
+                break;
+            case "7":
+                if (!DPT7_UNSCALED.contains(subType)) {
+                    return NOT_DIRECT;
+                }
+                length = 2;
+                numericValue = data -> ((data[0] & 0xff) << 8) | (data[1] & 0xff);
+                break;
+            case "9":
+                length = 2;
+                numericValue = ValueDecoder::decode2ByteFloat;
+                break;
+            case "13":
+                length = 4;
+                numericValue = ValueDecoder::decode4ByteSigned;
+                break;
+            case "14":
+                length = 4;
+                numericValue = data -> Float.intBitsToFloat(decode4ByteSigned(data));
+                break;
+            default:
+                return NOT_DIRECT;
+        }
+        try {
+            // only DPTs known to Calimero, others are rejected by the translator
+            TranslatorTypes.createTranslator(0, dptId);
+        } catch (KNXException e) {
+            return NOT_DIRECT;
+        }
+        return new DirectDpt(dptId, subType, length, DPTUtil.getAllowedTypes(dptId), DPTUnits.getUnitForDpt(dptId),
+                numericValue);
+    }
+
+    private static double decode2ByteFloat(byte[] data) {
+        // MEEEEMMM MMMMMMMM, value = 0.01 * M * 2^E with a 12 bit two's complement mantissa
+        int raw = ((data[0] & 0xff) << 8) | (data[1] & 0xff);
+        if (raw == 0x7fff) {
+            return Double.NaN;
+        }
+        int mantissa = raw & 0x07ff;
+        if ((raw & 0x8000) != 0) {
+            mantissa |= ~0x07ff;
+        }
+        int exponent = (raw >> 11) & 0x0f;
+        return 0.01 * mantissa * (1 << exponent);
+    }
+
+    private static int decode4ByteSigned(byte[] data) {
+        return ((data[0] & 0xff) << 24) | ((data[1] & 0xff) << 16) | ((data[2] & 0xff) << 8) | (data[3] & 0xff);
+    }
+
+    /**
+     * convert the raw value received via a Calimero translator, used for all DPTs without direct decoding
+     */
+    static @Nullable Type decodeWithTranslator(String dptId, byte[] data, Class<? extends Type> preferredType) {
         try {
             String value = "";
             String translatorDptId = dptId;
@@ -167,7 +290,7 @@ public class ValueDecoder {
 
             switch (mainType) {
                 case "1":
-                    return handleDpt1(subType, translator, preferredType);
+                    return handleDpt1(subType, ((DPTXlatorBoolean) translator).getValueBoolean(), preferredType);
                 case "2":
                     DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
                     int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
@@ -239,34 +362,33 @@ public class ValueDecoder {
         return null;
     }
 
-    private static Type handleDpt1(String subType, DPTXlator translator, Class<? extends Type> preferredType) {
-        DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
+    private static Type handleDpt1(String subType, boolean value, Class<? extends Type> preferredType) {
         return switch (subType) {
-            case "008" -> translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
+            case "008" -> value ? UpDownType.DOWN : UpDownType.UP;
             case "009", "019" -> {
                 // default is OpenClosedType (Contact), but it may be mapped to OnOffType as well
                 if (OnOffType.class.equals(preferredType)) {
-                    yield OnOffType.from(translatorBoolean.getValueBoolean());
+                    yield OnOffType.from(value);
                 }
 
                 // This is wrong for DPT 1.009. It should be true -> CLOSE, false -> OPEN, but unfortunately
                 // can't be fixed without breaking a lot of working installations.
                 // The documentation has been updated to reflect that. / @J-N-K
-                yield translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                yield value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
 
                 // This is wrong for DPT 1.009. It should be true -> CLOSE, false -> OPEN, but unfortunately
                 // can't be fixed without breaking a lot of working installations.
                 // The documentation has been updated to reflect that. / @J-N-K
             }
-            case "010" -> translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
-            case "022" -> DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
+            case "010" -> value ? StopMoveType.MOVE : StopMoveType.STOP;
+            case "022" -> DecimalType.valueOf(value ? "1" : "0");
             default -> {
                 // default is OnOffType (Switch), but it may be mapped to OpenClosedType as well
                 if (OpenClosedType.class.equals(preferredType)) {
-                    yield translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    yield value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
                 }
 
-                yield OnOffType.from(translatorBoolean.getValueBoolean());
+                yield OnOffType.from(value);
             }
         };
     }
@@ -487,20 +609,25 @@ public class ValueDecoder {
 
     private static @Nullable Type handleNumericDpt(String id, DPTXlator translator, Class<? extends Type> preferredType)
             throws KNXFormatException {
-        Set<Class<? extends Type>> allowedTypes = DPTUtil.getAllowedTypes(id);
+        // prevent loss of precision, do not represent 64bit decimal using double
+        Long exactValue = translator instanceof DPTXlator64BitSigned translatorSigned
+                ? translatorSigned.getValueSigned()
+                : null;
+        return handleNumericValue(id, translator.getNumericValue(), exactValue, DPTUtil.getAllowedTypes(id),
+                DPTUnits.getUnitForDpt(id), preferredType);
+    }
 
-        double value = translator.getNumericValue();
+    private static @Nullable Type handleNumericValue(String id, double value, @Nullable Long exactValue,
+            Set<Class<? extends Type>> allowedTypes, @Nullable String unit, Class<? extends Type> preferredType) {
         if (allowedTypes.contains(PercentType.class)
                 && (HSBType.class.equals(preferredType) || PercentType.class.equals(preferredType))) {
             return new PercentType(BigDecimal.valueOf(Math.round(value)));
         }
 
         if (allowedTypes.contains(QuantityType.class) && !disableUoM) {
-            String unit = DPTUnits.getUnitForDpt(id);
             if (unit != null) {
-                if (translator instanceof DPTXlator64BitSigned translatorSigned) {
-                    // prevent loss of precision, do not represent 64bit decimal using double
-                    return new QuantityType<>(translatorSigned.getValueSigned() + " " + unit);
+                if (exactValue != null) {
+                    return new QuantityType<>(exactValue + " " + unit);
                 }
                 return new QuantityType<>(value + " " + unit);
             } else {
@@ -509,9 +636,8 @@ public class ValueDecoder {
         }
 
         if (allowedTypes.contains(DecimalType.class)) {
-            if (translator instanceof DPTXlator64BitSigned translatorSigned) {
-                // prevent loss of precision, do not represent 64bit decimal using double
-                return new DecimalType(translatorSigned.getValueSigned());
+            if (exactValue != null) {
+                return new DecimalType(exactValue);
             }
             return new DecimalType(value);
         }
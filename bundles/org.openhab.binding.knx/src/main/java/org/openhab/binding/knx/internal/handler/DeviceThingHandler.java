@@ -244,8 +244,8 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
     }
 
     @Override
-    public boolean listensTo(GroupAddress destination) {
-        return groupAddresses.contains(destination);
+    public Set<GroupAddress> getGroupAddresses() {
+        return groupAddresses;
     }
 
     /** Handling commands triggered from openHAB */
@@ -28,6 +28,7 @@ import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.internal.client.DispatchStatistics;
 import org.openhab.binding.knx.internal.client.KNXClient;
 import org.openhab.binding.knx.internal.client.StatusUpdateCallback;
 import org.openhab.core.OpenHAB;
@@ -86,7 +87,7 @@ public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implem
      * Helper class to carry information which can be used by the
      * command line extension (openHAB console).
      */
-    public record CommandExtensionData(SortedMap<String, Long> unknownGA) {
+    public record CommandExtensionData(SortedMap<String, Long> unknownGA, DispatchStatistics dispatchStatistics) {
     }
 
     private final ScheduledExecutorService knxScheduler = ThreadPoolManager.getScheduledPool("knx");
@@ -107,7 +108,7 @@ public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implem
         openhabSecurity = Security.newSecurity();
         secureRouting = new SecureRoutingConfig();
         secureTunnel = new SecureTunnelConfig();
-        commandExtensionData = new CommandExtensionData(new TreeMap<>());
+        commandExtensionData = new CommandExtensionData(new TreeMap<>(), new DispatchStatistics());
     }
 
     protected abstract KNXClient getClient();
@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.openhab.binding.knx.internal.handler.KNXBridgeBaseThingHandler.CommandExtensionData;
+import org.openhab.core.thing.ThingStatus;
+import org.openhab.core.thing.ThingStatusDetail;
+import org.openhab.core.thing.ThingUID;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.link.KNXNetworkLink;
+import tuwien.auto.calimero.process.ProcessCommunicator;
+import tuwien.auto.calimero.process.ProcessCommunicatorImpl;
+import tuwien.auto.calimero.secure.Security;
+
+/**
+ * Tests the routing of received telegrams to the {@link GroupAddressListener}s of the {@link AbstractKNXClient}.
+ *
+ * @author Simon Kaufmann - Initial contribution
+ */
+@NonNullByDefault
+class AbstractKNXClientTest {
+    private static final GroupAddress GA_1 = new GroupAddress(1, 2, 1);
+    private static final GroupAddress GA_2 = new GroupAddress(1, 2, 2);
+    private static final GroupAddress GA_3 = new GroupAddress(1, 2, 3);
+    private static final long TIMEOUT_MS = 5000;
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+    private final DummyKNXNetworkLink link = new DummyKNXNetworkLink();
+    private final DispatchStatistics statistics = new DispatchStatistics();
+    private @NonNullByDefault({}) TestKNXClient client;
+    private @NonNullByDefault({}) ProcessCommunicator sender;
+
+    /**
+     * Connects to the looped back {@link DummyKNXNetworkLink}.
+     */
+    private static class TestKNXClient extends AbstractKNXClient {
+        private final KNXNetworkLink link;
+
+        TestKNXClient(KNXNetworkLink link, ScheduledExecutorService scheduler, DispatchStatistics statistics) {
+            super(0, new ThingUID("knx", "ip", "test"), 1, 50, 0, scheduler,
+                    new CommandExtensionData(new TreeMap<>(), statistics), Security.newSecurity(),
+                    new StatusUpdateCallback() {
+                        @Override
+                        public void updateStatus(ThingStatus status) {
+                        }
+
+                        @Override
+                        public void updateStatus(ThingStatus status, ThingStatusDetail statusDetail,
+                                String description) {
+                        }
+                    });
+            this.link = link;
+        }
+
+        @Override
+        protected KNXNetworkLink establishConnection() {
+            return link;
+        }
+    }
+
+    /**
+     * Records the values of the received group writes.
+     */
+    private static class StubListener implements GroupAddressListener {
+        private volatile Set<GroupAddress> groupAddresses;
+        private final List<String> writes = new CopyOnWriteArrayList<>();
+
+        StubListener(GroupAddress... groupAddresses) {
+            this.groupAddresses = Set.of(groupAddresses);
+        }
+
+        @Override
+        public Set<GroupAddress> getGroupAddresses() {
+            return groupAddresses;
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+            writes.add(destination + "=" + (asdu[asdu.length - 1] & 0xff));
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws KNXException {
+        client = new TestKNXClient(link, scheduler, statistics);
+        client.initialize();
+        assertTrue(client.isConnected());
+        sender = new ProcessCommunicatorImpl(link);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.close();
+        client.dispose();
+        scheduler.shutdownNow();
+    }
+
+    private void write(GroupAddress groupAddress, int value) throws KNXException, InterruptedException {
+        sender.write(new CommandDP(groupAddress, "test", 0, "5.010"), String.valueOf(value));
+    }
+
+    private void waitForWrites(StubListener listener, int writes) throws InterruptedException {
+        long end = System.currentTimeMillis() + TIMEOUT_MS;
+        while (listener.writes.size() < writes && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertEquals(writes, listener.writes.size());
+    }
+
+    @Test
+    void telegramsAreRoutedToListenersOfTheirGroupAddress() throws KNXException, InterruptedException {
+        StubListener listener1 = new StubListener(GA_1);
+        StubListener listener12 = new StubListener(GA_1, GA_2);
+        client.registerGroupAddressListener(listener1);
+        client.registerGroupAddressListener(listener12);
+
+        write(GA_1, 1);
+        write(GA_2, 2);
+        write(GA_3, 3);
+        waitForWrites(listener1, 1);
+        waitForWrites(listener12, 2);
+
+        assertEquals(List.of(GA_1 + "=1"), listener1.writes);
+        assertEquals(List.of(GA_1 + "=1", GA_2 + "=2"), listener12.writes);
+        assertEquals(3, statistics.getTelegrams());
+        assertEquals(1, statistics.getUnhandledTelegrams());
+        assertEquals(3, statistics.getNotifications());
+    }
+
+    @Test
+    void registeringAgainReplacesTheGroupAddresses() throws KNXException, InterruptedException {
+        StubListener listener = new StubListener(GA_1);
+        client.registerGroupAddressListener(listener);
+        listener.groupAddresses = Set.of(GA_2);
+        client.registerGroupAddressListener(listener);
+
+        write(GA_1, 1);
+        write(GA_2, 2);
+        waitForWrites(listener, 1);
+
+        assertEquals(List.of(GA_2 + "=2"), listener.writes);
+        assertEquals(1, statistics.getUnhandledTelegrams());
+    }
+
+    @Test
+    void unregisteredListenersAreNotNotified() throws KNXException, InterruptedException {
+        StubListener listener = new StubListener(GA_1);
+        StubListener otherListener = new StubListener(GA_1);
+        client.registerGroupAddressListener(listener);
+        client.registerGroupAddressListener(otherListener);
+        client.unregisterGroupAddressListener(listener);
+
+        write(GA_1, 1);
+        waitForWrites(otherListener, 1);
+
+        assertEquals(List.of(), listener.writes);
+        assertEquals(List.of(GA_1 + "=1"), otherListener.writes);
+
+        client.unregisterGroupAddressListener(otherListener);
+        write(GA_1, 2);
+        assertEquals(2, statistics.getTelegrams());
+        assertEquals(1, statistics.getUnhandledTelegrams());
+    }
+
+    @Test
+    void notificationsOfAListenerKeepTheOrderOfTheTelegrams() throws KNXException, InterruptedException {
+        StubListener listener = new StubListener(GA_1, GA_2);
+        client.registerGroupAddressListener(listener);
+
+        int count = 100;
+        for (int i = 0; i < count; i++) {
+            write(i % 2 == 0 ? GA_1 : GA_2, i);
+        }
+        waitForWrites(listener, count);
+
+        List<String> expected = IntStream.range(0, count).mapToObj(i -> (i % 2 == 0 ? GA_1 : GA_2) + "=" + i)
+                .collect(Collectors.toList());
+        assertEquals(expected, listener.writes);
+    }
+}
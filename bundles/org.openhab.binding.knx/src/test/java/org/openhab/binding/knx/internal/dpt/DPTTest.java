@@ -15,8 +15,10 @@ package org.openhab.binding.knx.internal.dpt;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.text.DecimalFormat;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 import java.util.regex.Matcher;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -30,11 +32,16 @@ import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.IncreaseDecreaseType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
 import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.Type;
 import org.openhab.core.util.ColorUtil;
+import org.openhab.core.util.HexUtils;
 
 import tuwien.auto.calimero.dptxlator.DPTXlator2ByteUnsigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator4ByteFloat;
@@ -619,4 +626,46 @@ class DPTTest {
             Assertions.assertEquals(String.format("(%.4f %.4f) %.1f %%", dx, dy, dY), result);
         }
     }
+
+    private static Stream<String> directDptProvider() {
+        return Stream.of("1.001", "1.008", "1.009", "1.010", "1.019", "1.022", "5.004", "5.005", "5.010", "7.001",
+                "7.002", "7.013", "7.600", "9.001", "9.004", "9.007", "9.024", "13.001", "13.010", "13.100", "14.019",
+                "14.056", "14.068");
+    }
+
+    @ParameterizedTest
+    @MethodSource("directDptProvider")
+    public void testDirectDecodingMatchesTranslator(String dpt) {
+        int length = switch (dpt.substring(0, dpt.indexOf('.'))) {
+            case "1", "5" -> 1;
+            case "7", "9" -> 2;
+            default -> 4;
+        };
+        // all raw values of DPTs up to 2 bytes, e.g. every mantissa and exponent of a 2 byte float
+        boolean exhaustive = length <= 2;
+        int samples = exhaustive ? 1 << (8 * length) : 2000;
+        Random random = new Random(dpt.hashCode());
+        for (int i = 0; i < samples; i++) {
+            byte[] data = new byte[length];
+            if (exhaustive) {
+                for (int j = 0; j < length; j++) {
+                    data[j] = (byte) (i >> (8 * (length - 1 - j)));
+                }
+            } else if (i < 256) {
+                // all values of the first byte, remaining bytes 0
+                data[0] = (byte) i;
+            } else {
+                random.nextBytes(data);
+            }
+            if (dpt.startsWith("1.")) {
+                data[0] &= 0x01;
+            }
+            for (Class<? extends Type> preferredType : List.of(DecimalType.class,
+                    QuantityType.class, PercentType.class, OnOffType.class, OpenClosedType.class)) {
+                assertEquals(ValueDecoder.decodeWithTranslator(dpt, data.clone(), preferredType),
+                        ValueDecoder.decode(dpt, data.clone(), preferredType),
+                        () -> dpt + " " + HexUtils.bytesToHex(data) + " " + preferredType.getSimpleName());
+            }
+        }
+    }
 }
@@ -12,13 +12,23 @@
  */
 package org.openhab.binding.logreader.internal.filereader;
 
-import java.io.File;
-import java.util.concurrent.ExecutorService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.io.input.Tailer;
-import org.apache.commons.io.input.TailerListener;
-import org.apache.commons.io.input.TailerListenerAdapter;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
@@ -27,58 +37,33 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Apache Tailer based log file reader implementation.
+ * File channel based log file reader implementation. New data is read in large blocks and split to lines, starting
+ * from the end of the file. The file is considered rotated when it is replaced by another file or truncated.
  *
  * @author Pauli Anttila - Initial contribution
  */
 @NonNullByDefault
 public class FileTailer extends AbstractLogFileReader implements LogFileReader {
-    private final Logger logger = LoggerFactory.getLogger(FileTailer.class);
-
-    private @Nullable Tailer tailer;
-    private @Nullable ExecutorService executor;
-
-    TailerListener logListener = new TailerListenerAdapter() {
-
-        @Override
-        public void handle(@Nullable String line) {
-            if (line == null) {
-                return;
-            }
-
-            sendLineToListeners(line);
-        }
-
-        @Override
-        public void fileNotFound() {
-            sendFileNotFoundToListeners();
-        }
+    private static final int BUFFER_SIZE = 64 * 1024;
 
-        @Override
-        public void handle(@Nullable Exception e) {
-            if (e == null) {
-                return;
-            }
-
-            sendExceptionToListeners(e);
-        }
+    private final Logger logger = LoggerFactory.getLogger(FileTailer.class);
 
-        @Override
-        public void fileRotated() {
-            sendFileRotationToListeners();
-        }
-    };
+    private @Nullable ScheduledExecutorService executor;
+    private @Nullable ScheduledFuture<?> job;
+    private @Nullable Session session;
 
     @Override
     public void start(String filePath, long refreshRate) throws FileReaderException {
-        Tailer localTailer = new Tailer(new File(filePath), logListener, refreshRate, true, false, true);
-        executor = Executors.newSingleThreadExecutor();
+        ScheduledExecutorService localExecutor = Executors.newSingleThreadScheduledExecutor();
         try {
             logger.debug("Start executor");
-            executor.execute(localTailer);
+            Session localSession = new Session(Paths.get(filePath));
+            job = localExecutor.scheduleWithFixedDelay(localSession::poll, 0, refreshRate, TimeUnit.MILLISECONDS);
+            session = localSession;
+            executor = localExecutor;
             logger.debug("Executor started");
-            this.tailer = localTailer;
         } catch (Exception e) {
+            localExecutor.shutdownNow();
             throw new FileReaderException(e);
         }
     }
@@ -86,12 +71,149 @@ public class FileTailer extends AbstractLogFileReader implements LogFileReader {
     @Override
     public void stop() {
         logger.debug("Shutdown");
-        if (tailer != null) {
-            tailer.stop();
+        ScheduledFuture<?> localJob = job;
+        if (localJob != null) {
+            localJob.cancel(false);
+            job = null;
         }
-        if (executor != null) {
-            executor.shutdown();
+        ScheduledExecutorService localExecutor = executor;
+        if (localExecutor != null) {
+            Session localSession = session;
+            if (localSession != null) {
+                // close the file in the executor thread, after a possibly running read has completed
+                localExecutor.execute(localSession::closeChannel);
+                session = null;
+            }
+            localExecutor.shutdown();
+            executor = null;
         }
         logger.debug("Shutdown complite");
     }
+
+    /**
+     * State of reading the file between a start and a stop, only accessed by the executor thread of that run. A
+     * restart gets a new session, so the closing of the old file cannot interfere with reading the new one.
+     */
+    private class Session {
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream(256);
+        private final Path path;
+        private @Nullable FileChannel channel;
+        private @Nullable Object fileKey;
+        private long position;
+
+        Session(Path path) {
+            this.path = path;
+        }
+
+        private void poll() {
+            try {
+                FileChannel localChannel = channel;
+                if (localChannel == null) {
+                    // start from the end of the file, like on a rotation only new data is read
+                    if (open(true) == null) {
+                        sendFileNotFoundToListeners();
+                    }
+                    return;
+                }
+
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    // finish reading the old file, a new one will be detected as rotation once it is created
+                    readLines(localChannel);
+                    sendFileNotFoundToListeners();
+                    return;
+                }
+
+                Object currentKey = attributes.fileKey();
+                boolean replaced = currentKey != null && !Objects.equals(currentKey, fileKey);
+                if (replaced || attributes.size() < position) {
+                    if (replaced) {
+                        readLines(localChannel);
+                    }
+                    sendFileRotationToListeners();
+                    closeChannel();
+                    localChannel = open(false);
+                    if (localChannel == null) {
+                        sendFileNotFoundToListeners();
+                        return;
+                    }
+                }
+                if (attributes.size() > position || replaced) {
+                    readLines(localChannel);
+                }
+            } catch (IOException | RuntimeException e) {
+                sendExceptionToListeners(e);
+            }
+        }
+
+        private @Nullable FileChannel open(boolean fromEnd) throws IOException {
+            FileChannel localChannel;
+            try {
+                localChannel = FileChannel.open(path, StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+            fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+            position = fromEnd ? localChannel.size() : 0;
+            lineBuffer.reset();
+            channel = localChannel;
+            return localChannel;
+        }
+
+        private void closeChannel() {
+            FileChannel localChannel = channel;
+            channel = null;
+            if (localChannel != null) {
+                try {
+                    localChannel.close();
+                } catch (IOException e) {
+                    logger.debug("Closing log file failed: {}", e.getMessage());
+                }
+            }
+        }
+
+        /**
+         * Read all new data and send each complete line to the listeners. An incomplete last line is kept until the
+         * rest of it has been written.
+         */
+        private void readLines(FileChannel localChannel) throws IOException {
+            int read;
+            while ((read = localChannel.read(buffer, position)) > 0) {
+                position += read;
+                byte[] data = buffer.array();
+                int lineStart = 0;
+                for (int i = 0; i < read; i++) {
+                    if (data[i] == '\n') {
+                        int lineEnd = i;
+                        if (lineBuffer.size() == 0) {
+                            if (lineEnd > lineStart && data[lineEnd - 1] == '\r') {
+                                lineEnd--;
+                            }
+                            sendLineToListeners(
+                                    new String(data, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8));
+                        } else {
+                            lineBuffer.write(data, lineStart, lineEnd - lineStart);
+                            sendBufferedLine();
+                        }
+                        lineStart = i + 1;
+                    }
+                }
+                lineBuffer.write(data, lineStart, read - lineStart);
+                buffer.clear();
+            }
+        }
+
+        private void sendBufferedLine() {
+            byte[] line = lineBuffer.toByteArray();
+            int length = line.length;
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            lineBuffer.reset();
+            sendLineToListeners(new String(line, 0, length, StandardCharsets.UTF_8));
+        }
+    }
 }
@@ -15,6 +15,7 @@ package org.openhab.binding.logreader.internal.handler;
 import static org.openhab.binding.logreader.internal.LogReaderBindingConstants.*;
 
 import java.time.ZonedDateTime;
+import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -55,6 +56,7 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     private @Nullable SearchEngine errorEngine;
     private @Nullable SearchEngine warningEngine;
     private @Nullable SearchEngine customEngine;
+    private @Nullable Pattern anyPattern;
 
     public LogHandler(Thing thing, LogFileReader fileReader) {
         super(thing);
@@ -98,11 +100,17 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
         clearCounters();
 
         try {
-            warningEngine = new SearchEngine(configuration.warningPatterns, configuration.warningBlacklistingPatterns);
-            errorEngine = new SearchEngine(configuration.errorPatterns, configuration.errorBlacklistingPatterns);
+            SearchEngine localWarningEngine = new SearchEngine(configuration.warningPatterns,
+                    configuration.warningBlacklistingPatterns);
+            SearchEngine localErrorEngine = new SearchEngine(configuration.errorPatterns,
+                    configuration.errorBlacklistingPatterns);
             String customPatterns = configuration.customPatterns;
-            customEngine = new SearchEngine(customPatterns != null ? customPatterns : "",
+            SearchEngine localCustomEngine = new SearchEngine(customPatterns != null ? customPatterns : "",
                     configuration.customBlacklistingPatterns);
+            warningEngine = localWarningEngine;
+            errorEngine = localErrorEngine;
+            customEngine = localCustomEngine;
+            anyPattern = SearchEngine.combineSearchPatterns(localWarningEngine, localErrorEngine, localCustomEngine);
         } catch (PatternSyntaxException e) {
             logger.debug("Illegal search pattern syntax '{}'. ", e.getMessage(), e);
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, e.getMessage());
@@ -188,6 +196,12 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
             updateStatus(ThingStatus.ONLINE);
         }
 
+        // most lines match none of the patterns, skip them with a single search
+        Pattern localAnyPattern = anyPattern;
+        if (localAnyPattern != null && !localAnyPattern.matcher(line).find()) {
+            return;
+        }
+
         if (errorEngine != null && errorEngine.isMatching(line)) {
             updateChannelIfLinked(CHANNEL_ERRORS, new DecimalType(errorEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(line));
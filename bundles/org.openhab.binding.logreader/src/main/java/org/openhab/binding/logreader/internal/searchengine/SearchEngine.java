@@ -31,6 +31,7 @@ public class SearchEngine {
 
     private List<Pattern> matchers;
     private List<Pattern> blacklistingMatchers;
+    private List<Pattern> searchPatterns;
 
     private long matchCount;
 
@@ -42,8 +43,9 @@ public class SearchEngine {
      *
      */
     public SearchEngine(String patterns, @Nullable String blacklistingPatterns) throws PatternSyntaxException {
-        matchers = compilePatterns(patterns);
-        blacklistingMatchers = compilePatterns(blacklistingPatterns);
+        searchPatterns = compilePatterns(patterns);
+        matchers = combinePatterns(searchPatterns);
+        blacklistingMatchers = combinePatterns(compilePatterns(blacklistingPatterns));
     }
 
     /**
@@ -74,6 +76,22 @@ public class SearchEngine {
         setMatchCount(0);
     }
 
+    /**
+     * Create a pattern which finds data matching to any search pattern of the given engines, so data which is not
+     * matching to any of them can be skipped with a single search. Blacklisting patterns are not included.
+     *
+     * @param engines search engines.
+     * @return combined pattern, or null if the search patterns cannot be combined.
+     */
+    public static @Nullable Pattern combineSearchPatterns(SearchEngine... engines) {
+        List<Pattern> patterns = new ArrayList<>();
+        for (SearchEngine engine : engines) {
+            patterns.addAll(engine.searchPatterns);
+        }
+        List<Pattern> combined = combinePatterns(patterns);
+        return combined.size() == 1 ? combined.get(0) : null;
+    }
+
     /**
      * Split pattern string and precompile search patterns.
      *
@@ -93,6 +111,36 @@ public class SearchEngine {
         return patternsList;
     }
 
+    /**
+     * Combine patterns to a single alternation, so data is searched once instead of once per pattern. Patterns with
+     * capturing groups are kept as they are, as their back references would refer to other groups when combined.
+     *
+     * @param patterns precompiled patterns.
+     * @return list containing the combined pattern, or the given patterns if they cannot be combined.
+     */
+    private static List<Pattern> combinePatterns(List<Pattern> patterns) {
+        if (patterns.size() < 2) {
+            return patterns;
+        }
+        StringBuilder alternation = new StringBuilder();
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher("").groupCount() > 0) {
+                return patterns;
+            }
+            if (!alternation.isEmpty()) {
+                alternation.append('|');
+            }
+            // non-capturing group keeps inline flags like (?i) local to the pattern
+            alternation.append("(?:").append(pattern.pattern()).append(')');
+        }
+        try {
+            return List.of(Pattern.compile(alternation.toString()));
+        } catch (PatternSyntaxException e) {
+            // e.g. an unterminated \Q quote would also quote the closing parenthesis of its group
+            return patterns;
+        }
+    }
+
     private boolean notBlacklisted(String data) {
         return !isMatching(blacklistingMatchers, data);
     }
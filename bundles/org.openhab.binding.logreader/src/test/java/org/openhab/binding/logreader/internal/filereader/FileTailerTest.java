@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+
+/**
+ * Tests the {@link FileTailer} with a temporary log file.
+ *
+ * @author Pauli Anttila - Initial contribution
+ */
+@NonNullByDefault
+public class FileTailerTest {
+    private static final long REFRESH_RATE = 10;
+    private static final String ROTATED = "<rotated>";
+    private static final String NOT_FOUND = "<not found>";
+    private static final String SYNC = "<sync>";
+
+    private @TempDir @NonNullByDefault({}) Path directory;
+    private @NonNullByDefault({}) Path logFile;
+    private final FileTailer tailer = new FileTailer();
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        logFile = directory.resolve("openhab.log");
+        Files.writeString(logFile, "existing line\n");
+        tailer.registerListener(new FileReaderListener() {
+            @Override
+            public void fileNotFound() {
+                events.add(NOT_FOUND);
+            }
+
+            @Override
+            public void fileRotated() {
+                events.add(ROTATED);
+            }
+
+            @Override
+            public void handle(@Nullable String line) {
+                events.add(String.valueOf(line));
+            }
+
+            @Override
+            public void handle(@Nullable Exception ex) {
+                events.add("<exception " + ex + ">");
+            }
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tailer.stop();
+    }
+
+    private void append(String data) throws IOException {
+        Files.writeString(logFile, data, StandardOpenOption.APPEND);
+    }
+
+    private String nextEvent() throws InterruptedException {
+        String event = events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event, "no event received");
+        return event;
+    }
+
+    private void assertNoEvent() throws InterruptedException {
+        assertNull(events.poll(10 * REFRESH_RATE, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Starts the tailer and waits until it has opened the file, as data written before is skipped.
+     */
+    private void startTailing() throws FileReaderException, IOException, InterruptedException {
+        tailer.start(logFile.toString(), REFRESH_RATE);
+        for (int i = 0; i < 100; i++) {
+            append(SYNC + "\n");
+            if (SYNC.equals(events.poll(5 * REFRESH_RATE, TimeUnit.MILLISECONDS))) {
+                // a sync line written right before the file was opened may still arrive
+                Thread.sleep(10 * REFRESH_RATE);
+                events.clear();
+                return;
+            }
+        }
+        fail("tailer did not start reading " + logFile);
+    }
+
+    @Test
+    public void appendedLinesAreRead() throws Exception {
+        startTailing();
+
+        append("first\nsecond\r\n");
+
+        assertEquals("first", nextEvent());
+        assertEquals("second", nextEvent());
+        assertNoEvent();
+    }
+
+    @Test
+    public void partialLineIsReadOnceComplete() throws Exception {
+        startTailing();
+
+        append("par");
+        assertNoEvent();
+        append("tial\n");
+
+        assertEquals("partial", nextEvent());
+    }
+
+    @Test
+    public void linesAcrossTheBufferBoundaryAreRead() throws Exception {
+        startTailing();
+
+        // the second line starts shortly before the end of the first 64 KB block, the third one exceeds a block
+        String first = "a".repeat(64 * 1024 - 5);
+        String second = "boundary line";
+        String third = "c".repeat(100 * 1024);
+        append(first + "\n" + second + "\n" + third + "\n");
+
+        assertEquals(first, nextEvent());
+        assertEquals(second, nextEvent());
+        assertEquals(third, nextEvent());
+    }
+
+    @Test
+    public void truncatedFileIsReadFromTheStart() throws Exception {
+        startTailing();
+        append("before truncation\n");
+        assertEquals("before truncation", nextEvent());
+
+        Files.writeString(logFile, "new\n");
+
+        assertEquals(ROTATED, nextEvent());
+        assertEquals("new", nextEvent());
+    }
+
+    @Test
+    public void replacedFileIsReadAfterTheRestOfTheOldOne() throws Exception {
+        assumeTrue(Files.readAttributes(logFile, BasicFileAttributes.class).fileKey() != null,
+                "file keys are not supported");
+        startTailing();
+
+        // the replacement is larger than the old file, so only its file key shows the rotation
+        Path replacement = directory.resolve("openhab.log.new");
+        Files.writeString(replacement, "x".repeat(1024) + "\nafter rotation\n");
+        append("before rotation\n");
+        Files.move(replacement, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        assertEquals("before rotation", nextEvent());
+        assertEquals(ROTATED, nextEvent());
+        assertEquals("x".repeat(1024), nextEvent());
+        assertEquals("after rotation", nextEvent());
+    }
+
+    @Test
+    public void removedFileIsReported() throws Exception {
+        startTailing();
+
+        Files.delete(logFile);
+
+        assertEquals(NOT_FOUND, nextEvent());
+    }
+
+    @Test
+    public void restartedTailerReadsOnlyNewLines() throws Exception {
+        startTailing();
+        tailer.stop();
+
+        append("while stopped\n");
+        assertNoEvent();
+
+        startTailing();
+        append("after restart\n");
+
+        assertEquals("after restart", nextEvent());
+        assertNoEvent();
+    }
+
+    @Test
+    public void utf8LinesAreDecoded() throws Exception {
+        startTailing();
+
+        Files.write(logFile, "äöü €\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        assertEquals("äöü €", nextEvent());
+    }
+}
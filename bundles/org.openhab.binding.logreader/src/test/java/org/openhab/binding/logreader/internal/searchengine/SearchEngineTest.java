@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link SearchEngine}.
+ *
+ * @author Pauli Anttila - Initial contribution
+ */
+@NonNullByDefault
+public class SearchEngineTest {
+
+    @Test
+    public void searchPatternsAreCombined() {
+        SearchEngine errors = new SearchEngine("ERROR|FATAL", null);
+        SearchEngine warnings = new SearchEngine("WARN", null);
+
+        Pattern combined = SearchEngine.combineSearchPatterns(errors, warnings);
+
+        assertNotNull(combined);
+        assertTrue(combined.matcher("x FATAL x").find());
+        assertTrue(combined.matcher("x WARN x").find());
+        assertFalse(combined.matcher("x INFO x").find());
+    }
+
+    @Test
+    public void patternsWithCapturingGroupsAreNotCombined() {
+        // the back reference would refer to another group in a combined pattern
+        SearchEngine engine = new SearchEngine("(a)\\1|b", null);
+
+        assertNull(SearchEngine.combineSearchPatterns(engine));
+        assertTrue(engine.isMatching("xaax"));
+        assertTrue(engine.isMatching("xbx"));
+        assertFalse(engine.isMatching("xax"));
+    }
+
+    @Test
+    public void patternsWithUnterminatedQuotesAreNotCombined() {
+        // the quote would also swallow the closing parenthesis of the group it is combined in
+        SearchEngine engine = new SearchEngine("a\\Q.|c", null);
+
+        assertNull(SearchEngine.combineSearchPatterns(engine));
+        assertTrue(engine.isMatching("a."));
+        assertFalse(engine.isMatching("ab"));
+        assertTrue(engine.isMatching("c"));
+    }
+
+    @Test
+    public void blacklistedDataIsNotMatching() {
+        SearchEngine engine = new SearchEngine("ERROR|WARN", "ignored|skipped");
+
+        assertTrue(engine.isMatching("ERROR in binding"));
+        assertFalse(engine.isMatching("ERROR ignored"));
+        assertFalse(engine.isMatching("WARN skipped"));
+        assertFalse(engine.isMatching("INFO"));
+        assertEquals(1, engine.getMatchCount());
+    }
+}
@@ -0,0 +1,395 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal.handler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.thing.ThingUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls the regular read requests of all pollers of an endpoint with as few transactions as possible.
+ *
+ * Requests with the same unit id, function code and refresh interval are merged when they are adjacent, overlapping
+ * or at most <code>maxGap</code> registers (or bits) apart, as long as the merged request stays within the maximum
+ * read count of the protocol. The response of a merged request is split back to the registered callbacks, each of
+ * which receives a result for its own request, as if the request had been polled separately.
+ *
+ * @author Sami Salonen - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollPlanner {
+
+    /**
+     * Read request of a poller, with the callbacks receiving the results
+     */
+    static class Member {
+        final ModbusReadRequestBlueprint request;
+        final long refreshMillis;
+        final ModbusReadCallback resultCallback;
+        final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        Member(ModbusReadRequestBlueprint request, long refreshMillis, ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.refreshMillis = refreshMillis;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+    }
+
+    /**
+     * Request polled on behalf of one or more members
+     */
+    static class PlannedPoll {
+        final ModbusReadRequestBlueprint request;
+        final List<Member> members;
+
+        PlannedPoll(ModbusReadRequestBlueprint request, List<Member> members) {
+            this.request = request;
+            this.members = members;
+        }
+    }
+
+    /**
+     * Poll cycle of all planned polls sharing the same refresh interval
+     */
+    private static class Cycle {
+        final long startNanos = System.nanoTime();
+        final AtomicInteger remaining;
+
+        Cycle(int transactions) {
+            remaining = new AtomicInteger(transactions);
+        }
+    }
+
+    private static final long REPLAN_DELAY_MILLIS = 200;
+    // a cycle still waiting for responses after this time does not prevent the next cycle anymore
+    private static final long STALE_CYCLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusPollPlanner.class);
+
+    private final ThingUID endpointUID;
+    private final ModbusCommunicationInterface comms;
+    private final ScheduledExecutorService scheduler;
+    private final int maxGap;
+
+    private final Map<ModbusReadCallback, Member> members = new IdentityHashMap<>();
+    private final List<ScheduledFuture<?>> pollJobs = new ArrayList<>();
+    // refresh interval -> start of the last cycle, to keep the polling phase when polls are planned again
+    private final Map<Long, Long> lastCycleStartMillis = new HashMap<>();
+    private @Nullable ScheduledFuture<?> replanJob;
+    private boolean disposed;
+
+    /**
+     * @param endpointUID UID of the endpoint thing, for logging
+     * @param comms communication interface of the endpoint
+     * @param scheduler scheduler of the endpoint thing handler
+     * @param maxGap maximum number of unused registers (or bits) between two requests which are merged
+     */
+    public ModbusPollPlanner(ThingUID endpointUID, ModbusCommunicationInterface comms,
+            ScheduledExecutorService scheduler, int maxGap) {
+        this.endpointUID = endpointUID;
+        this.comms = comms;
+        this.scheduler = scheduler;
+        this.maxGap = Math.max(0, maxGap);
+    }
+
+    /**
+     * Register a regular poll. The polls are planned again shortly after the registrations have changed.
+     *
+     * @param request request to poll
+     * @param refreshMillis poll interval
+     * @param resultCallback callback receiving the results, identifies the registration
+     * @param failureCallback callback receiving the failures
+     */
+    public synchronized void register(ModbusReadRequestBlueprint request, long refreshMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        members.put(resultCallback, new Member(request, refreshMillis, resultCallback, failureCallback));
+        scheduleReplan();
+    }
+
+    /**
+     * Unregister a regular poll
+     *
+     * @param resultCallback callback the poll was registered with
+     */
+    public synchronized void unregister(ModbusReadCallback resultCallback) {
+        if (members.remove(resultCallback) != null) {
+            scheduleReplan();
+        }
+    }
+
+    /**
+     * Stop polling
+     */
+    public synchronized void dispose() {
+        disposed = true;
+        ScheduledFuture<?> localReplanJob = replanJob;
+        if (localReplanJob != null) {
+            localReplanJob.cancel(false);
+            replanJob = null;
+        }
+        cancelPollJobs();
+        members.clear();
+    }
+
+    private void scheduleReplan() {
+        if (disposed) {
+            return;
+        }
+        ScheduledFuture<?> localReplanJob = replanJob;
+        if (localReplanJob == null || localReplanJob.isDone()) {
+            replanJob = scheduler.schedule(this::replan, REPLAN_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void replan() {
+        replanJob = null;
+        if (disposed) {
+            return;
+        }
+        cancelPollJobs();
+        List<PlannedPoll> plan = plan(members.values(), maxGap);
+        logger.debug("Endpoint {}: polling {} pollers with {} transactions", endpointUID, members.size(), plan.size());
+
+        Map<Long, List<PlannedPoll>> pollsByRefresh = new LinkedHashMap<>();
+        for (PlannedPoll poll : plan) {
+            pollsByRefresh.computeIfAbsent(poll.members.get(0).refreshMillis, refresh -> new ArrayList<>()).add(poll);
+        }
+        lastCycleStartMillis.keySet().retainAll(pollsByRefresh.keySet());
+        long now = System.currentTimeMillis();
+        pollsByRefresh.forEach((refreshMillis, polls) -> {
+            Long lastStart = lastCycleStartMillis.get(refreshMillis);
+            long initialDelay = lastStart == null ? 0 : Math.max(0, lastStart + refreshMillis - now);
+            Runnable cycleRunner = new CycleRunner(refreshMillis, polls);
+            pollJobs.add(scheduler.scheduleWithFixedDelay(cycleRunner, initialDelay, refreshMillis,
+                    TimeUnit.MILLISECONDS));
+        });
+    }
+
+    private void cancelPollJobs() {
+        pollJobs.forEach(job -> job.cancel(false));
+        pollJobs.clear();
+    }
+
+    private class CycleRunner implements Runnable {
+        private final long refreshMillis;
+        private final List<PlannedPoll> polls;
+        private volatile @Nullable Cycle runningCycle;
+
+        CycleRunner(long refreshMillis, List<PlannedPoll> polls) {
+            this.refreshMillis = refreshMillis;
+            this.polls = polls;
+        }
+
+        @Override
+        public void run() {
+            Cycle previous = runningCycle;
+            if (previous != null && previous.remaining.get() > 0
+                    && System.nanoTime() - previous.startNanos < STALE_CYCLE_NANOS) {
+                logger.debug("Endpoint {}: previous poll cycle (refresh {} ms) still running, skipping cycle",
+                        endpointUID, refreshMillis);
+                return;
+            }
+            synchronized (ModbusPollPlanner.this) {
+                if (disposed) {
+                    return;
+                }
+                lastCycleStartMillis.put(refreshMillis, System.currentTimeMillis());
+            }
+            Cycle cycle = new Cycle(polls.size());
+            runningCycle = cycle;
+            for (PlannedPoll poll : polls) {
+                comms.submitOneTimePoll(poll.request, result -> {
+                    distributeResult(poll, result);
+                    transactionDone(cycle);
+                }, failure -> {
+                    distributeFailure(poll, failure);
+                    transactionDone(cycle);
+                });
+            }
+        }
+
+        private void transactionDone(Cycle cycle) {
+            if (cycle.remaining.decrementAndGet() == 0) {
+                long cycleMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - cycle.startNanos);
+                logger.debug("Endpoint {}: poll cycle (refresh {} ms) of {} transactions took {} ms", endpointUID,
+                        refreshMillis, polls.size(), cycleMillis);
+            }
+        }
+    }
+
+    private void distributeResult(PlannedPoll poll, AsyncModbusReadResult result) {
+        for (Member member : poll.members) {
+            AsyncModbusReadResult memberResult;
+            try {
+                memberResult = poll.members.size() == 1 ? result : slice(poll.request, result, member.request);
+            } catch (IllegalArgumentException e) {
+                notify(member, new AsyncModbusFailure<>(member.request, e));
+                continue;
+            }
+            try {
+                member.resultCallback.handle(memberResult);
+            } catch (RuntimeException e) {
+                logger.warn("Endpoint {}: error when handling poll result of {}", endpointUID, member.request, e);
+            }
+        }
+    }
+
+    private void distributeFailure(PlannedPoll poll, AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+        for (Member member : poll.members) {
+            notify(member, poll.members.size() == 1 ? failure
+                    : new AsyncModbusFailure<>(member.request, failure.getCause()));
+        }
+    }
+
+    private void notify(Member member, AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+        try {
+            member.failureCallback.handle(failure);
+        } catch (RuntimeException e) {
+            logger.warn("Endpoint {}: error when handling poll failure of {}", endpointUID, member.request, e);
+        }
+    }
+
+    /**
+     * Merge requests of the members into as few requests as possible
+     *
+     * @param members members to plan
+     * @param maxGap maximum number of unused registers (or bits) between two requests which are merged
+     * @return planned polls, in the order of unit id, function code, refresh interval and start address
+     */
+    static List<PlannedPoll> plan(Iterable<Member> members, int maxGap) {
+        List<Member> sorted = new ArrayList<>();
+        members.forEach(sorted::add);
+        sorted.sort(Comparator.<Member> comparingInt(member -> member.request.getUnitID())
+                .thenComparing(member -> member.request.getFunctionCode())
+                .thenComparingLong(member -> member.refreshMillis)
+                .thenComparingInt(member -> member.request.getReference())
+                .thenComparingInt(member -> member.request.getDataLength()));
+
+        List<PlannedPoll> plan = new ArrayList<>();
+        List<Member> group = new ArrayList<>();
+        int groupStart = 0;
+        int groupEnd = 0;
+        for (Member member : sorted) {
+            int start = member.request.getReference();
+            int end = start + member.request.getDataLength();
+            if (!group.isEmpty() && isCompatible(group.get(0), member) && start <= groupEnd + maxGap
+                    && Math.max(groupEnd, end) - groupStart <= maxReadCount(member.request.getFunctionCode())) {
+                group.add(member);
+                groupEnd = Math.max(groupEnd, end);
+                continue;
+            }
+            if (!group.isEmpty()) {
+                plan.add(toPlannedPoll(group, groupStart, groupEnd));
+            }
+            group = new ArrayList<>();
+            group.add(member);
+            groupStart = start;
+            groupEnd = end;
+        }
+        if (!group.isEmpty()) {
+            plan.add(toPlannedPoll(group, groupStart, groupEnd));
+        }
+        return plan;
+    }
+
+    private static boolean isCompatible(Member first, Member other) {
+        return first.request.getUnitID() == other.request.getUnitID()
+                && first.request.getFunctionCode() == other.request.getFunctionCode()
+                && first.refreshMillis == other.refreshMillis;
+    }
+
+    private static int maxReadCount(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            default:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        }
+    }
+
+    private static PlannedPoll toPlannedPoll(List<Member> group, int start, int end) {
+        ModbusReadRequestBlueprint first = group.get(0).request;
+        if (group.size() == 1) {
+            return new PlannedPoll(first, List.copyOf(group));
+        }
+        int maxTries = group.stream().mapToInt(member -> member.request.getMaxTries()).max().orElse(1);
+        return new PlannedPoll(new ModbusReadRequestBlueprint(first.getUnitID(), first.getFunctionCode(), start,
+                end - start, maxTries), List.copyOf(group));
+    }
+
+    /**
+     * Extract the data of a member request from the result of a merged request
+     *
+     * @throws IllegalArgumentException if the result does not contain the data of the member request
+     */
+    @SuppressWarnings("unchecked")
+    static AsyncModbusReadResult slice(ModbusReadRequestBlueprint merged, AsyncModbusReadResult result,
+            ModbusReadRequestBlueprint request) {
+        int offset = request.getReference() - merged.getReference();
+        int length = request.getDataLength();
+        ModbusRegisterArray registers = ((Optional<@Nullable ModbusRegisterArray>) result.getRegisters()).orElse(null);
+        if (registers != null) {
+            byte[] bytes = registers.getBytes();
+            if ((offset + length) * 2 > bytes.length) {
+                throw new IllegalArgumentException(String.format(
+                        "Response of merged request %s contains %d registers, expecting at least %d", merged,
+                        bytes.length / 2, offset + length));
+            }
+            return new AsyncModbusReadResult(request,
+                    new ModbusRegisterArray(Arrays.copyOfRange(bytes, offset * 2, (offset + length) * 2)));
+        }
+        BitArray bits = ((Optional<@Nullable BitArray>) result.getBits()).orElse(null);
+        if (bits != null) {
+            if (offset + length > bits.size()) {
+                throw new IllegalArgumentException(String.format(
+                        "Response of merged request %s contains %d bits, expecting at least %d", merged, bits.size(),
+                        offset + length));
+            }
+            BitArray memberBits = new BitArray(length);
+            for (int i = 0; i < length; i++) {
+                memberBits.setBit(i, bits.getBit(offset + i));
+            }
+            return new AsyncModbusReadResult(request, memberBits);
+        }
+        throw new IllegalArgumentException(String.format("Response of merged request %s contains no data", merged));
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.modbus.internal.handler.ModbusPollPlanner.Member;
+import org.openhab.binding.modbus.internal.handler.ModbusPollPlanner.PlannedPoll;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * @author Sami Salonen - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollPlannerTest {
+
+    @SuppressWarnings("unchecked")
+    private static Member member(ModbusReadFunctionCode functionCode, int start, int length, long refreshMillis) {
+        return new Member(new ModbusReadRequestBlueprint(1, functionCode, start, length, 3), refreshMillis,
+                mock(ModbusReadCallback.class), mock(ModbusFailureCallback.class));
+    }
+
+    private static Member registers(int start, int length) {
+        return member(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length, 1000);
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingRequestsAreMerged() {
+        List<PlannedPoll> plan = ModbusPollPlanner.plan(List.of(registers(10, 5), registers(0, 10), registers(12, 8)),
+                0);
+
+        assertEquals(1, plan.size());
+        assertEquals(0, plan.get(0).request.getReference());
+        assertEquals(20, plan.get(0).request.getDataLength());
+        assertEquals(3, plan.get(0).members.size());
+    }
+
+    @Test
+    public void testGaps() {
+        List<Member> members = List.of(registers(0, 10), registers(15, 5));
+
+        assertEquals(2, ModbusPollPlanner.plan(members, 4).size());
+
+        List<PlannedPoll> plan = ModbusPollPlanner.plan(members, 5);
+        assertEquals(1, plan.size());
+        assertEquals(20, plan.get(0).request.getDataLength());
+    }
+
+    @Test
+    public void testIncompatibleRequestsAreNotMerged() {
+        List<PlannedPoll> plan = ModbusPollPlanner.plan(List.of(registers(0, 10), registers(10, 10),
+                member(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 20, 10, 1000),
+                member(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 20, 10, 500)), 0);
+
+        assertEquals(3, plan.size());
+    }
+
+    @Test
+    public void testMaximumReadCountIsRespected() {
+        List<PlannedPoll> plan = ModbusPollPlanner.plan(List.of(registers(0, 100), registers(100, 26)), 0);
+
+        assertEquals(2, plan.size());
+        // single requests are polled as such
+        assertEquals(100, plan.get(0).request.getDataLength());
+        assertEquals(26, plan.get(1).request.getDataLength());
+    }
+
+    @Test
+    public void testSliceRegisters() {
+        ModbusReadRequestBlueprint merged = new ModbusReadRequestBlueprint(1,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 3, 3);
+        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(1,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 11, 2, 3);
+
+        AsyncModbusReadResult result = ModbusPollPlanner.slice(merged,
+                new AsyncModbusReadResult(merged, new ModbusRegisterArray(1, 2, 3)), request);
+
+        assertSame(request, result.getRequest());
+        assertEquals(new ModbusRegisterArray(2, 3), result.getRegisters().get());
+    }
+
+    @Test
+    public void testSliceBits() {
+        ModbusReadRequestBlueprint merged = new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_COILS, 0, 8,
+                3);
+        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_COILS, 5,
+                2, 3);
+        BitArray bits = new BitArray(8);
+        bits.setBit(5, true);
+
+        AsyncModbusReadResult result = ModbusPollPlanner.slice(merged, new AsyncModbusReadResult(merged, bits),
+                request);
+
+        BitArray memberBits = result.getBits().get();
+        assertEquals(2, memberBits.size());
+        assertTrue(memberBits.getBit(0));
+        assertFalse(memberBits.getBit(1));
+    }
+
+    @Test
+    public void testSliceOfShortResponseFails() {
+        ModbusReadRequestBlueprint merged = new ModbusReadRequestBlueprint(1,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 3, 3);
+        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(1,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 12, 2, 3);
+
+        assertThrows(IllegalArgumentException.class, () -> ModbusPollPlanner.slice(merged,
+                new AsyncModbusReadResult(merged, new ModbusRegisterArray(1, 2, 3)), request));
+    }
+}
@@ -12,7 +12,6 @@
  */
 package org.openhab.binding.mqtt.generic;
 
-import java.nio.charset.StandardCharsets;
 import java.util.IllegalFormatException;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -22,6 +21,8 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.tools.DecodedPayload;
+import org.openhab.binding.mqtt.generic.tools.SimpleJsonPath;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
@@ -61,6 +62,8 @@ public class ChannelState implements MqttMessageSubscriber {
     private @Nullable MqttBrokerConnection connection;
     protected final ChannelTransformation incomingTransformation;
     protected final ChannelTransformation outgoingTransformation;
+    // evaluated on the shared parsed payload instead of the incoming transformation, if possible
+    private @Nullable SimpleJsonPath incomingJsonPath;
     private @Nullable ChannelStateUpdateListener channelStateUpdateListener;
     protected boolean hasSubscribed = false;
     private @Nullable ScheduledFuture<?> scheduledFuture;
@@ -81,6 +84,11 @@ public class ChannelState implements MqttMessageSubscriber {
         this(config, channelUID, cachedValue, channelStateUpdateListener,
                 new ChannelTransformation(config.transformationPattern),
                 new ChannelTransformation(config.transformationPatternOut));
+        // The result of a JSONPATH transformation may be formatted differently, e.g. numbers like "1.50" are
+        // transformed to "1.5", so it is only used if the string itself is not used.
+        if (!config.trigger && !(cachedValue instanceof TextValue)) {
+            this.incomingJsonPath = SimpleJsonPath.fromTransformation(config.transformationPattern);
+        }
     }
 
     /**
@@ -159,9 +167,13 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
+        DecodedPayload decodedPayload = DecodedPayload.of(payload);
+        String strValue = decodedPayload.asString();
         if (incomingTransformation.isPresent()) {
-            Optional<String> transformedValue = incomingTransformation.apply(strValue);
+            SimpleJsonPath incomingJsonPath = this.incomingJsonPath;
+            String jsonValue = incomingJsonPath != null ? incomingJsonPath.read(decodedPayload.asJson()) : null;
+            Optional<String> transformedValue = jsonValue != null ? Optional.of(jsonValue)
+                    : incomingTransformation.apply(strValue);
             if (transformedValue.isEmpty()) {
                 logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue,
                         incomingTransformation);
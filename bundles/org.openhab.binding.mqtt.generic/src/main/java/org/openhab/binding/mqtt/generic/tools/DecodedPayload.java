@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * The decoded payload of an MQTT message, shared by all channels subscribed to the topic of the message.
+ *
+ * The broker connection passes the same payload array to all subscribers of a topic, one after the other on the same
+ * thread. The last decoded payload of each thread is therefore kept and returned again for the same array, so the
+ * payload is converted to a string and parsed as JSON only once, no matter how many channels consume it.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public class DecodedPayload {
+    private static final ThreadLocal<@Nullable DecodedPayload> LAST_DECODED = new ThreadLocal<>();
+
+    private final byte[] payload;
+    private final String string;
+    private @Nullable JsonElement json;
+    private boolean jsonParsed = false;
+
+    private DecodedPayload(byte[] payload) {
+        this.payload = payload;
+        this.string = new String(payload, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the decoded payload.
+     *
+     * @param payload the payload of the message, must be UTF8 encoded text
+     */
+    public static DecodedPayload of(byte[] payload) {
+        DecodedPayload decoded = LAST_DECODED.get();
+        if (decoded == null || decoded.payload != payload) {
+            decoded = new DecodedPayload(payload);
+            LAST_DECODED.set(decoded);
+        }
+        return decoded;
+    }
+
+    /**
+     * Returns the payload as string.
+     */
+    public String asString() {
+        return string;
+    }
+
+    /**
+     * Returns the payload parsed as JSON object or array.
+     *
+     * @return the root element, or null if the payload is not a JSON object or array
+     */
+    public @Nullable JsonElement asJson() {
+        if (!jsonParsed) {
+            jsonParsed = true;
+            String trimmed = string.trim();
+            if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+                try {
+                    json = JsonParser.parseString(trimmed);
+                } catch (JsonParseException e) {
+                    // not JSON
+                }
+            }
+        }
+        return json;
+    }
+}
@@ -13,11 +13,13 @@
 package org.openhab.binding.mqtt.generic.tools;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
@@ -28,16 +30,31 @@ import org.eclipse.jdt.annotation.Nullable;
  * Collects objects over time until a specified delay passed by.
  * Then call the user back with a list of accumulated objects and start over again.
  *
+ * Objects are collected in a lock-free queue. A single timer is armed by the first object of a batch. When it expires
+ * and further objects have been received in the meantime, it is re-armed for the rest of the delay after the last
+ * object, instead of rescheduling the timer for every object. Optionally, a batch is delivered early when it reaches a
+ * maximum size, or when its first object has been waiting for a maximum delay. Arming, re-arming and disarming the
+ * timer are serialized, and a timer which has been replaced or disarmed in the meantime does nothing.
+ *
  * @author David Graeff - Initial contribution
  *
  * @param <T> Any object
  */
 @NonNullByDefault
 public class DelayedBatchProcessing<T> implements Consumer<T> {
-    private final int delay;
+    private final long delayNanos;
+    private final long maxDelayNanos;
+    private final int maxBatchSize;
     private final Consumer<List<T>> consumer;
-    private final List<T> queue = Collections.synchronizedList(new ArrayList<>());
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
     private final ScheduledExecutorService executor;
+    private final Object timerLock = new Object();
+    private volatile boolean armed;
+    // identifies the current timer, guarded by timerLock
+    private long timerGeneration;
+    private volatile long firstReceived;
+    private volatile long lastReceived;
     protected final AtomicReference<@Nullable ScheduledFuture<?>> futureRef = new AtomicReference<>();
 
     /**
@@ -48,24 +65,57 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * @param executor A scheduled executor service
      */
     public DelayedBatchProcessing(int delay, Consumer<List<T>> consumer, ScheduledExecutorService executor) {
-        this.delay = delay;
+        this(delay, 0, Integer.MAX_VALUE, consumer, executor);
+    }
+
+    /**
+     * Creates a {@link DelayedBatchProcessing}, which delivers large batches and batches of continuously received
+     * objects early.
+     *
+     * @param delay A delay in milliseconds
+     * @param maxDelay The maximum delay of the first object of a batch in milliseconds, 0 for no limit
+     * @param maxBatchSize The maximum number of objects of a batch
+     * @param consumer A consumer of the list of collected objects
+     * @param executor A scheduled executor service
+     */
+    public DelayedBatchProcessing(int delay, int maxDelay, int maxBatchSize, Consumer<List<T>> consumer,
+            ScheduledExecutorService executor) {
+        this.delayNanos = TimeUnit.MILLISECONDS.toNanos(delay);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelay);
+        this.maxBatchSize = maxBatchSize;
         this.consumer = consumer;
         this.executor = executor;
         if (delay <= 0) {
             throw new IllegalArgumentException("Delay need to be greater than 0!");
         }
+        if (maxDelay < 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Maximum delay and batch size must not be negative!");
+        }
     }
 
     /**
      * Add new object to the batch process list. Every time a new object is received,
-     * the delay timer is rescheduled.
+     * the delay is extended.
      *
      * @param t An object
      */
     @Override
     public void accept(T t) {
+        long now = System.nanoTime();
+        lastReceived = now;
         queue.add(t);
-        cancel(futureRef.getAndSet(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS)));
+        if (queueSize.incrementAndGet() == maxBatchSize) {
+            executor.execute(this::run);
+        }
+        if (!armed) {
+            synchronized (timerLock) {
+                if (!armed) {
+                    armed = true;
+                    firstReceived = now;
+                    schedule(delayNanos);
+                }
+            }
+        }
     }
 
     /**
@@ -74,43 +124,79 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * @return A list of accumulated objects
      */
     public List<T> join() {
-        cancel(futureRef.getAndSet(null));
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
-        }
-        return lqueue;
+        disarm();
+        return drain();
     }
 
     /**
      * Return true if there is a delayed processing going on.
      */
     public boolean isArmed() {
-        ScheduledFuture<?> scheduledFuture = this.futureRef.get();
-        return scheduledFuture != null && !scheduledFuture.isDone();
+        return armed;
     }
 
     /**
      * Deliver queued items now to the target consumer.
      */
     public void forceProcessNow() {
-        cancel(futureRef.getAndSet(null));
+        disarm();
         run();
     }
 
-    private void run() {
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
+    // called with timerLock held
+    private void schedule(long nanos) {
+        long generation = ++timerGeneration;
+        futureRef.set(executor.schedule(() -> expired(generation), nanos, TimeUnit.NANOSECONDS));
+    }
+
+    private void expired(long generation) {
+        synchronized (timerLock) {
+            if (!armed || generation != timerGeneration) {
+                // disarmed or replaced by another timer in the meantime
+                return;
+            }
+            long now = System.nanoTime();
+            long remaining = lastReceived + delayNanos - now;
+            if (maxDelayNanos > 0) {
+                remaining = Math.min(remaining, firstReceived + maxDelayNanos - now);
+            }
+            if (remaining > 0) {
+                schedule(remaining);
+                return;
+            }
+            // objects received from now on arm the timer again
+            armed = false;
+            futureRef.set(null);
+        }
+        run();
+    }
+
+    private void disarm() {
+        synchronized (timerLock) {
+            armed = false;
+            timerGeneration++;
+            cancel(futureRef.getAndSet(null));
         }
+    }
 
+    // batches are delivered one after the other
+    private synchronized void run() {
+        List<T> lqueue = drain();
         if (!lqueue.isEmpty()) {
             consumer.accept(lqueue);
         }
     }
 
+    private List<T> drain() {
+        List<T> lqueue = new ArrayList<>();
+        T t;
+        while ((t = queue.poll()) != null) {
+            lqueue.add(t);
+        }
+        queueSize.addAndGet(-lqueue.size());
+        return lqueue;
+    }
+
     private static void cancel(@Nullable ScheduledFuture<?> future) {
         if (future != null) {
             future.cancel(false);
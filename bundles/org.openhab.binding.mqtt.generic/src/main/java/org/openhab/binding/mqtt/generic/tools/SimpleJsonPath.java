@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * A JSONPath expression which selects a single value by member names and array indices only, like
+ * <code>$.sensor.temperature</code> or <code>$.values[0]['value']</code>.
+ *
+ * Such expressions, which are by far the most common ones for MQTT devices, are evaluated on the payload parsed by
+ * {@link DecodedPayload}, instead of parsing the payload again by the JSONPATH transformation for every channel.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public class SimpleJsonPath {
+    private static final Pattern TRANSFORMATION_PATTERN = Pattern
+            .compile("JSONPATH\\s*(?::(?<function1>.*)|\\((?<function2>.*)\\))");
+    private static final Pattern SEGMENT_PATTERN = Pattern
+            .compile("\\.(?<name>[A-Za-z_][A-Za-z0-9_-]*)|\\[(?<index>\\d+)]|\\['(?<quoted>[^'\\\\]*)']");
+
+    // member names (String) and array indices (Integer)
+    private final List<Object> segments;
+
+    private SimpleJsonPath(List<Object> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Creates the path of a transformation, if it consists of a single JSONPATH transformation selecting a single
+     * value by member names and array indices only.
+     *
+     * @param transformationPattern the transformation pattern of the channel
+     * @return the path, or null if the transformation is not such a JSONPATH transformation
+     */
+    public static @Nullable SimpleJsonPath fromTransformation(List<String> transformationPattern) {
+        if (transformationPattern.size() != 1 || transformationPattern.get(0).contains("∩")) {
+            return null;
+        }
+        Matcher matcher = TRANSFORMATION_PATTERN.matcher(transformationPattern.get(0).trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String function1 = matcher.group("function1");
+        return parse((function1 != null ? function1 : matcher.group("function2")).trim());
+    }
+
+    /**
+     * Parses a JSONPath expression.
+     *
+     * @param expression the expression
+     * @return the path, or null if the expression does not select a single value by member names and array indices
+     */
+    public static @Nullable SimpleJsonPath parse(String expression) {
+        if (!expression.startsWith("$")) {
+            return null;
+        }
+        List<Object> segments = new ArrayList<>();
+        Matcher matcher = SEGMENT_PATTERN.matcher(expression);
+        int position = 1;
+        while (position < expression.length()) {
+            if (!matcher.find(position) || matcher.start() != position) {
+                return null;
+            }
+            String index = matcher.group("index");
+            if (index != null) {
+                try {
+                    segments.add(Integer.valueOf(index));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            } else {
+                String name = matcher.group("name");
+                segments.add(name != null ? name : matcher.group("quoted"));
+            }
+            position = matcher.end();
+        }
+        return segments.isEmpty() ? null : new SimpleJsonPath(segments);
+    }
+
+    /**
+     * Selects the value from a JSON document.
+     *
+     * @param root the root element of the document, may be null
+     * @return the selected value as string, or null if the value does not exist or is not a string, number or
+     *         boolean
+     */
+    public @Nullable String read(@Nullable JsonElement root) {
+        JsonElement element = root;
+        for (Object segment : segments) {
+            if (segment instanceof Integer index && element instanceof JsonArray array) {
+                element = index < array.size() ? array.get(index) : null;
+            } else if (segment instanceof String name && element instanceof JsonObject object) {
+                element = object.get(name);
+            } else {
+                return null;
+            }
+        }
+        return element != null && element.isJsonPrimitive() ? element.getAsString() : null;
+    }
+}
@@ -221,6 +221,25 @@ public class ChannelStateTests {
         verify(channelStateUpdateListenerMock, times(3)).updateChannelState(eq(channelUIDMock), any());
     }
 
+    @Test
+    public void receiveJsonPathTest() {
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command")
+                .withTransformationPattern(List.of("JSONPATH:$.sensors[1].temperature")).build();
+        NumberValue value = new NumberValue(null, null, null, null);
+        ChannelState c = spy(new ChannelState(config, channelUIDMock, value, channelStateUpdateListenerMock));
+        c.start(connectionMock, mock(ScheduledExecutorService.class), 100);
+
+        // evaluated without the JSONPATH transformation service
+        c.processMessage("state", "{\"sensors\":[{\"temperature\":15},{\"temperature\":21.5}]}".getBytes());
+        assertThat(value.getChannelState().toString(), is("21.5"));
+
+        // not selected by the path, handed over to the transformation service, which is not available
+        c.processMessage("state", "{\"sensors\":[{\"temperature\":15}]}".getBytes());
+        assertThat(value.getChannelState().toString(), is("21.5"));
+
+        verify(channelStateUpdateListenerMock, times(1)).updateChannelState(eq(channelUIDMock), any());
+    }
+
     @Test
     public void receiveDecimalFractionalTest() {
         NumberValue value = new NumberValue(null, null, new BigDecimal(10.5), null);
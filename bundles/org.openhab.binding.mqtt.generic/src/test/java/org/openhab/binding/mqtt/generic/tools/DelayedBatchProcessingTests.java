@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link DelayedBatchProcessing} class.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public class DelayedBatchProcessingTests {
+    private static final int MESSAGES = 20000;
+
+    private static class CountingExecutor extends ScheduledThreadPoolExecutor {
+        final AtomicInteger scheduled = new AtomicInteger();
+
+        CountingExecutor() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            scheduled.incrementAndGet();
+            return super.schedule(command, delay, unit);
+        }
+    }
+
+    private final CountingExecutor executor = new CountingExecutor();
+    private final BlockingQueue<List<Integer>> batches = new LinkedBlockingQueue<>();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void floodIsDeliveredInOneBatch() throws InterruptedException {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(200, batches::add, executor);
+
+        for (int i = 0; i < MESSAGES; i++) {
+            processing.accept(i);
+        }
+        assertTrue(processing.isArmed());
+
+        List<Integer> batch = batches.poll(2, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertThat(batch.size(), is(MESSAGES));
+        assertThat(batch.get(MESSAGES - 1), is(MESSAGES - 1));
+        assertFalse(processing.isArmed());
+        // the timer is armed once and re-armed at most a few times, not for every message
+        assertTrue(executor.scheduled.get() < 10, "scheduled " + executor.scheduled.get() + " times");
+    }
+
+    @Test
+    public void largeBatchesAreDeliveredEarly() throws InterruptedException {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(10000, 0, 100, batches::add,
+                executor);
+
+        for (int i = 0; i < 100; i++) {
+            processing.accept(i);
+        }
+        List<Integer> batch = batches.poll(2, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertThat(batch.size(), is(100));
+
+        for (int i = 0; i < 50; i++) {
+            processing.accept(i);
+        }
+        assertNull(batches.poll(100, TimeUnit.MILLISECONDS));
+        assertThat(processing.join().size(), is(50));
+    }
+
+    @Test
+    public void continuousMessagesAreDeliveredAfterMaxDelay() throws InterruptedException {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(100, 300, Integer.MAX_VALUE,
+                batches::add, executor);
+
+        long start = System.nanoTime();
+        int i = 0;
+        @Nullable
+        List<Integer> batch = null;
+        while (batch == null && TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000) {
+            processing.accept(i++);
+            batch = batches.poll(20, TimeUnit.MILLISECONDS);
+        }
+        assertNotNull(batch);
+        assertThat(batch.get(0), is(0));
+        processing.join();
+    }
+
+    @Test
+    public void joinReturnsObjectsWithoutDelivering() throws InterruptedException {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(100, batches::add, executor);
+
+        processing.accept(1);
+        processing.accept(2);
+
+        assertThat(processing.join(), is(List.of(1, 2)));
+        assertFalse(processing.isArmed());
+        assertNull(batches.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void objectsAreDeliveredWhileForcedConcurrently() throws InterruptedException {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(10, batches::add, executor);
+        AtomicBoolean done = new AtomicBoolean();
+        Thread forcing = new Thread(() -> {
+            while (!done.get()) {
+                processing.forceProcessNow();
+            }
+        });
+        forcing.start();
+        for (int i = 0; i < MESSAGES; i++) {
+            processing.accept(i);
+        }
+        done.set(true);
+        forcing.join();
+
+        // every object is delivered, either forced or by a timer which is still scheduled
+        int delivered = 0;
+        @Nullable
+        List<Integer> batch;
+        while (delivered < MESSAGES && (batch = batches.poll(2, TimeUnit.SECONDS)) != null) {
+            delivered += batch.size();
+        }
+        assertThat(delivered, is(MESSAGES));
+    }
+}
@@ -130,7 +130,9 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         this.channelTypeRegistry = channelTypeRegistry;
         this.jinjava = jinjava;
         this.attributeReceiveTimeout = attributeReceiveTimeout;
-        this.delayedProcessing = new DelayedBatchProcessing<>(attributeReceiveTimeout, this, scheduler);
+        // a broker which keeps announcing components does not postpone adding them beyond the subscribe timeout
+        this.delayedProcessing = new DelayedBatchProcessing<>(attributeReceiveTimeout, subscribeTimeout,
+                Integer.MAX_VALUE, this, scheduler);
 
         newStyleChannels = "true".equals(thing.getProperties().get("newStyleChannels"));
 
@@ -98,7 +98,9 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
         this.deviceTimeout = deviceTimeout;
         this.subscribeTimeout = subscribeTimeout;
         this.attributeReceiveTimeout = attributeReceiveTimeout;
-        this.delayedProcessing = new DelayedBatchProcessing<>(subscribeTimeout, this, scheduler);
+        // a device which keeps publishing attributes does not postpone updating the thing beyond the device timeout
+        this.delayedProcessing = new DelayedBatchProcessing<>(subscribeTimeout, deviceTimeout, Integer.MAX_VALUE, this,
+                scheduler);
         this.device = new Device(this.thing.getUID(), this, new DeviceAttributes());
     }
 
@@ -14,7 +14,6 @@ package org.openhab.binding.network.internal;
 
 import static org.openhab.binding.network.internal.PresenceDetectionType.*;
 
-import java.io.IOException;
 import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.SocketException;
@@ -25,16 +24,13 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -89,20 +85,20 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     ExpiringCacheAsync<PresenceDetectionValue> cache;
 
     private final PresenceDetectionListener updateListener;
+    private final PresenceProber prober;
     private ScheduledExecutorService scheduledExecutorService;
 
     private Set<String> networkInterfaceNames = Set.of();
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService detectionExecutorService;
-    protected @Nullable ExecutorService waitForResultExecutorService;
     private String dhcpState = "off";
     int detectionChecks;
     private String lastReachableNetworkInterfaceName = "";
 
-    public PresenceDetection(final PresenceDetectionListener updateListener,
+    public PresenceDetection(final PresenceDetectionListener updateListener, PresenceProber prober,
             ScheduledExecutorService scheduledExecutorService, Duration cacheDeviceStateTime)
             throws IllegalArgumentException {
         this.updateListener = updateListener;
+        this.prober = prober;
         this.scheduledExecutorService = scheduledExecutorService;
         cache = new ExpiringCacheAsync<>(cacheDeviceStateTime);
     }
@@ -285,37 +281,19 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(this::performPresenceDetection).thenAccept(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
-    private void withDestinationAddress(Consumer<InetAddress> consumer) {
+    private CompletableFuture<?> withDestinationAddress(Function<InetAddress, CompletableFuture<?>> detection) {
         InetAddress destinationAddress = destination.getValue();
         if (destinationAddress == null) {
             logger.trace("The destinationAddress for {} is null", hostname);
-        } else {
-            consumer.accept(destinationAddress);
-        }
-    }
-
-    private void stopDetection() {
-        ExecutorService detectionExecutorService = this.detectionExecutorService;
-        if (detectionExecutorService != null) {
-            logger.debug("Shutting down detectionExecutorService");
-            detectionExecutorService.shutdownNow();
-            this.detectionExecutorService = null;
-        }
-        ExecutorService waitForResultExecutorService = this.waitForResultExecutorService;
-        if (waitForResultExecutorService != null) {
-            logger.debug("Shutting down waitForResultExecutorService");
-            waitForResultExecutorService.shutdownNow();
-            this.waitForResultExecutorService = null;
+            return CompletableFuture.completedFuture(null);
         }
+        return detection.apply(destinationAddress);
     }
 
     /**
      * Perform a presence detection with ICMP-, ARP ping and TCP connection attempts simultaneously.
-     * A fixed thread pool will be created with as many threads as necessary to perform all tests at once.
+     * The checks are performed by the {@link PresenceProber} shared by all things of the binding, which connects to TCP
+     * ports without blocking threads and runs pings on a bounded number of threads.
      *
      * Please be aware of the following restrictions:
      * <ul>
@@ -351,61 +329,42 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             return CompletableFuture.completedFuture(pdv);
         }
 
-        stopDetection();
-
-        ExecutorService detectionExecutorService = getThreadsFor(detectionChecks);
-        this.detectionExecutorService = detectionExecutorService;
-        ExecutorService waitForResultExecutorService = getThreadsFor(1);
-        this.waitForResultExecutorService = waitForResultExecutorService;
-
-        List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
+        List<CompletableFuture<?>> completableFutures = new ArrayList<>();
 
         for (Integer tcpPort : tcpPorts) {
-            addAsyncDetection(completableFutures, () -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + tcpPort);
-                performServicePing(pdv, tcpPort);
-            }, detectionExecutorService);
+            completableFutures.add(performServicePing(pdv, tcpPort));
         }
 
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
+        // ARP ping for IPv4 addresses. Use a single probe for the Windows tool and
+        // a probe for each network interface for other tools
         if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            addAsyncDetection(completableFutures, () -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
-                // arp-ping.exe tool capable of handling multiple interfaces by itself
-                performArpPing(pdv, "");
-            }, detectionExecutorService);
+            // arp-ping.exe tool capable of handling multiple interfaces by itself
+            completableFutures.add(performArpPing(pdv, ""));
         } else if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                addAsyncDetection(completableFutures, () -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performArpPing(pdv, interfaceName);
-                }, detectionExecutorService);
+                completableFutures.add(performArpPing(pdv, interfaceName));
             }
         }
 
         // ICMP ping
         if (pingMethod != null) {
-            addAsyncDetection(completableFutures, () -> {
-                Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                if (pingMethod == IpPingMethodEnum.JAVA_PING) {
-                    performJavaPing(pdv);
-                } else {
-                    performSystemPing(pdv);
-                }
-            }, detectionExecutorService);
+            if (pingMethod == IpPingMethodEnum.JAVA_PING) {
+                completableFutures.add(performJavaPing(pdv));
+            } else {
+                completableFutures.add(performSystemPing(pdv));
+            }
         }
 
-        return CompletableFuture.supplyAsync(() -> {
-            Thread.currentThread().setName("presenceDetectionResult_" + hostname);
-            logger.debug("Waiting for {} detection futures for {} to complete", completableFutures.size(), hostname);
-            completableFutures.forEach(completableFuture -> {
-                try {
-                    completableFuture.join();
-                } catch (CancellationException | CompletionException e) {
-                    logger.debug("Detection future failed to complete", e);
-                }
-            });
+        logger.debug("Waiting for {} detection futures for {} to complete", completableFutures.size(), hostname);
+        CompletableFuture<?>[] detections = completableFutures.stream()
+                .map(future -> future.orTimeout(timeout.plusSeconds(3).toMillis(), TimeUnit.MILLISECONDS)
+                        .exceptionally(e -> {
+                            logger.debug("Detection future failed to complete", e);
+                            return null;
+                        }))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(detections).thenApply(v -> {
             logger.debug("All {} detection futures for {} have completed", completableFutures.size(), hostname);
 
             if (!pdv.isReachable()) {
@@ -416,18 +375,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             logger.debug("Sending listener final result: {}", pdv);
             updateListener.finalDetectionResult(pdv);
 
-            detectionExecutorService.shutdownNow();
-            this.detectionExecutorService = null;
             detectionChecks = 0;
 
             return pdv;
-        }, waitForResultExecutorService);
-    }
-
-    private void addAsyncDetection(List<CompletableFuture<Void>> completableFutures, Runnable detectionRunnable,
-            ExecutorService executorService) {
-        completableFutures.add(CompletableFuture.runAsync(detectionRunnable, executorService)
-                .orTimeout(timeout.plusSeconds(3).toMillis(), TimeUnit.MILLISECONDS));
+        });
     }
 
     /**
@@ -471,20 +422,15 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         updateListener.partialDetectionResult(pdv);
     }
 
-    protected void performServicePing(PresenceDetectionValue pdv, int tcpPort) {
+    protected CompletableFuture<?> performServicePing(PresenceDetectionValue pdv, int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
 
-        withDestinationAddress(destinationAddress -> {
-            try {
-                PingResult pingResult = networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeout);
-                if (pingResult.isSuccess()) {
-                    updateReachable(pdv, TCP_CONNECTION, getLatency(pingResult), tcpPort);
-                }
-            } catch (IOException e) {
-                // This should not happen and might be a user configuration issue, we log a warning message therefore.
-                logger.warn("Could not create a socket connection", e);
-            }
-        });
+        return withDestinationAddress(destinationAddress -> prober.tcpPing(destinationAddress, tcpPort, timeout)
+                .thenAccept(pingResult -> {
+                    if (pingResult.isSuccess()) {
+                        updateReachable(pdv, TCP_CONNECTION, getLatency(pingResult), tcpPort);
+                    }
+                }));
     }
 
     /**
@@ -496,18 +442,22 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @param interfaceName the interface name. You can request a list of interface names
      *            from {@link NetworkUtils#getInterfaceNames()} for example.
      */
-    protected void performArpPing(PresenceDetectionValue pdv, String interfaceName) {
+    protected CompletableFuture<?> performArpPing(PresenceDetectionValue pdv, String interfaceName) {
         logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
 
-        withDestinationAddress(destinationAddress -> {
-            try {
+        ArpPingUtilEnum arpPingMethod = this.arpPingMethod;
+        String arpPingUtilPath = this.arpPingUtilPath;
+        boolean iosDevice = this.iosDevice;
+        return withDestinationAddress(destinationAddress -> {
+            String address = destinationAddress.getHostAddress();
+            String key = "ARP " + arpPingMethod + " " + interfaceName + " " + address + (iosDevice ? " iOS" : "");
+            return prober.probe(key, timeout, () -> {
                 if (iosDevice) {
                     networkUtils.wakeUpIOS(destinationAddress);
                     Thread.sleep(50);
                 }
-
-                PingResult pingResult = networkUtils.nativeArpPing(arpPingMethod, arpPingUtilPath, interfaceName,
-                        destinationAddress.getHostAddress(), timeout);
+                return networkUtils.nativeArpPing(arpPingMethod, arpPingUtilPath, interfaceName, address, timeout);
+            }).thenAccept(pingResult -> {
                 if (pingResult != null) {
                     if (pingResult.isSuccess()) {
                         updateReachable(pdv, ARP_PING, getLatency(pingResult));
@@ -517,11 +467,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
                         lastReachableNetworkInterfaceName = "";
                     }
                 }
-            } catch (IOException e) {
-                logger.trace("Failed to execute an ARP ping for {}", hostname, e);
-            } catch (InterruptedException ignored) {
-                // This can be ignored, the thread will end anyway
-            }
+            });
         });
     }
 
@@ -532,32 +478,33 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      *
      * @see InetAddress#isReachable(int)
      */
-    protected void performJavaPing(PresenceDetectionValue pdv) {
+    protected CompletableFuture<?> performJavaPing(PresenceDetectionValue pdv) {
         logger.trace("Perform Java ping presence detection for {}", hostname);
 
-        withDestinationAddress(destinationAddress -> {
-            PingResult pingResult = networkUtils.javaPing(timeout, destinationAddress);
-            if (pingResult.isSuccess()) {
-                updateReachable(pdv, ICMP_PING, getLatency(pingResult));
-            }
-        });
+        return withDestinationAddress(destinationAddress -> prober
+                .probe("JAVA_PING " + destinationAddress.getHostAddress(), timeout,
+                        () -> networkUtils.javaPing(timeout, destinationAddress))
+                .thenAccept(pingResult -> {
+                    if (pingResult != null && pingResult.isSuccess()) {
+                        updateReachable(pdv, ICMP_PING, getLatency(pingResult));
+                    }
+                }));
     }
 
-    protected void performSystemPing(PresenceDetectionValue pdv) {
+    protected CompletableFuture<?> performSystemPing(PresenceDetectionValue pdv) {
         logger.trace("Perform native ping presence detection for {}", hostname);
 
-        withDestinationAddress(destinationAddress -> {
-            try {
-                PingResult pingResult = networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(),
-                        timeout);
-                if (pingResult != null && pingResult.isSuccess()) {
-                    updateReachable(pdv, ICMP_PING, getLatency(pingResult));
-                }
-            } catch (IOException e) {
-                logger.trace("Failed to execute a native ping for {}", hostname, e);
-            } catch (InterruptedException e) {
-                // This can be ignored, the thread will end anyway
-            }
+        IpPingMethodEnum pingMethod = this.pingMethod;
+        return withDestinationAddress(destinationAddress -> {
+            String address = destinationAddress.getHostAddress();
+            return prober
+                    .probe(pingMethod + " " + address, timeout,
+                            () -> networkUtils.nativePing(pingMethod, address, timeout))
+                    .thenAccept(pingResult -> {
+                        if (pingResult != null && pingResult.isSuccess()) {
+                            updateReachable(pdv, ICMP_PING, getLatency(pingResult));
+                        }
+                    });
         });
     }
 
@@ -575,7 +522,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     }
 
     /**
-     * Start/Restart a fixed scheduled runner to update the devices reach-ability state.
+     * Start/Restart a fixed scheduled runner to update the devices reach-ability state. The first update is delayed
+     * by an offset within the refresh interval, so that the updates of all things are spread over the interval.
      */
     public void startAutomaticRefresh() {
         ScheduledFuture<?> future = refreshJob;
@@ -589,7 +537,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             } catch (InterruptedException | ExecutionException e) {
                 logger.debug("Failed to refresh {} presence detection", hostname, e);
             }
-        }, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }, prober.nextStartDelay(refreshInterval).toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -0,0 +1,412 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PresenceProber} performs the presence probes of all {@link PresenceDetection} instances of the binding.
+ * <ul>
+ * <li>TCP connection attempts are non-blocking and share a single {@link Selector} thread, which only runs while
+ * connection attempts are pending. Their results are completed on this thread, so they never wait for blocking probes.
+ * <li>Probes which block, like system pings and ARP pings running an external tool, are executed on one bounded
+ * thread pool, so the number of concurrently running threads and processes does not grow with the number of things.
+ * <li>Equal probes with the same timeout requested while such a probe is still running, e.g. by several things for
+ * the same host, share the result of the running probe instead of starting another one.
+ * <li>The start of the automatic refresh of each thing is shifted by an offset within the refresh interval, so that
+ * the probes of many things are spread over the interval instead of running at the same time.
+ * </ul>
+ * The prober is owned by the component creating it, which has to {@link #shutdown()} it when it is deactivated.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceProber {
+
+    /**
+     * A probe which blocks until its result is available.
+     */
+    @FunctionalInterface
+    public interface BlockingProbe {
+        /**
+         * @return the result or <code>null</code> if the probe could not be performed
+         */
+        @Nullable
+        PingResult run() throws IOException, InterruptedException;
+    }
+
+    private record ProbeKey(Object target, Duration timeout) {
+    }
+
+    private static class ConnectProbe {
+        final InetSocketAddress address;
+        final SocketChannel channel;
+        final CompletableFuture<PingResult> future;
+        final long startNanos;
+        final long deadlineNanos;
+
+        ConnectProbe(InetSocketAddress address, SocketChannel channel, CompletableFuture<PingResult> future,
+                long startNanos, Duration timeout) {
+            this.address = address;
+            this.channel = channel;
+            this.future = future;
+            this.startNanos = startNanos;
+            this.deadlineNanos = startNanos + timeout.toNanos();
+        }
+    }
+
+    private static final int MAX_PROBE_THREADS = 32;
+    // fractional part of the golden ratio, multiples of it are distributed evenly over [0, 1)
+    private static final double GOLDEN_RATIO_FRACTION = 0.6180339887498949;
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceProber.class);
+
+    private final Map<ProbeKey, CompletableFuture<@Nullable PingResult>> runningProbes = new ConcurrentHashMap<>();
+    private final Map<ProbeKey, CompletableFuture<PingResult>> runningConnects = new ConcurrentHashMap<>();
+    private final Queue<ConnectProbe> newConnects = new ConcurrentLinkedQueue<>();
+    // only accessed by the selector thread
+    private final Set<ConnectProbe> pendingConnects = new HashSet<>();
+    private final ExecutorService probeExecutor;
+    private final NamedThreadFactory selectorThreadFactory = new NamedThreadFactory("network-prober", true);
+    private @Nullable Selector selector;
+    private @Nullable Thread selectorThread;
+    private volatile boolean shutdown;
+
+    private final AtomicLong scheduledCount = new AtomicLong();
+    private final AtomicLong probeCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    public PresenceProber() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_PROBE_THREADS, MAX_PROBE_THREADS, 60,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory("network-presence", true));
+        executor.allowCoreThreadTimeOut(true);
+        this.probeExecutor = executor;
+    }
+
+    /**
+     * Returns the delay before the first refresh of a thing, so that the refreshes of all things are spread evenly
+     * over the refresh interval.
+     *
+     * @param refreshInterval the refresh interval of the thing
+     * @return the delay, which is shorter than the refresh interval
+     */
+    public Duration nextStartDelay(Duration refreshInterval) {
+        double fraction = (scheduledCount.getAndIncrement() * GOLDEN_RATIO_FRACTION) % 1.0;
+        return Duration.ofMillis((long) (refreshInterval.toMillis() * fraction));
+    }
+
+    /**
+     * Runs a blocking probe on the shared probe threads. If an equal probe with the same timeout is still running, its
+     * result is returned instead.
+     *
+     * @param key identifies equal probes, e.g. by type, tool, interface and host
+     * @param timeout the timeout the probe uses
+     * @param probe the probe
+     * @return the result of the probe, <code>null</code> if it could not be performed
+     */
+    public CompletableFuture<@Nullable PingResult> probe(String key, Duration timeout, BlockingProbe probe) {
+        ProbeKey probeKey = new ProbeKey(key, timeout);
+        CompletableFuture<@Nullable PingResult> future = new CompletableFuture<>();
+        CompletableFuture<@Nullable PingResult> running = runningProbes.putIfAbsent(probeKey, future);
+        if (running != null) {
+            coalescedCount.incrementAndGet();
+            logger.trace("Probe {} is already running, sharing its result", key);
+            return running;
+        }
+        probeCount.incrementAndGet();
+        try {
+            probeExecutor.execute(() -> runProbe(probeKey, probe, future));
+        } catch (RejectedExecutionException e) {
+            logger.trace("Probe {} rejected, the prober has been shut down", key);
+            runningProbes.remove(probeKey, future);
+            future.complete(null);
+        }
+        return future;
+    }
+
+    private void runProbe(ProbeKey key, BlockingProbe probe, CompletableFuture<@Nullable PingResult> future) {
+        @Nullable
+        PingResult result = null;
+        try {
+            result = probe.run();
+        } catch (IOException e) {
+            logger.trace("Probe {} failed", key.target(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.debug("Probe {} failed", key.target(), e);
+        } finally {
+            runningProbes.remove(key, future);
+            future.complete(result);
+        }
+    }
+
+    /**
+     * Tries to establish a TCP connection to the given port without blocking a thread. If a connection attempt to the
+     * same address and port with the same timeout is still running, its result is returned instead.
+     *
+     * @param address the address of the host
+     * @param port the TCP port
+     * @param timeout the time after which the connection attempt is aborted
+     * @return the result, successful if the connection has been established
+     */
+    public CompletableFuture<PingResult> tcpPing(InetAddress address, int port, Duration timeout) {
+        if (shutdown) {
+            return CompletableFuture.completedFuture(new PingResult(false, Duration.ZERO));
+        }
+        InetSocketAddress socketAddress = new InetSocketAddress(address, port);
+        ProbeKey probeKey = new ProbeKey(socketAddress, timeout);
+        CompletableFuture<PingResult> future = new CompletableFuture<>();
+        CompletableFuture<PingResult> running = runningConnects.putIfAbsent(probeKey, future);
+        if (running != null) {
+            coalescedCount.incrementAndGet();
+            logger.trace("Connection attempt to {} is already running, sharing its result", socketAddress);
+            return running;
+        }
+        probeCount.incrementAndGet();
+        future.whenComplete((result, e) -> runningConnects.remove(probeKey, future));
+
+        long startNanos = System.nanoTime();
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (channel.connect(socketAddress)) {
+                channel.close();
+                future.complete(new PingResult(true, Duration.ofNanos(System.nanoTime() - startNanos)));
+                return future;
+            }
+            ConnectProbe probe = new ConnectProbe(socketAddress, channel, future, startNanos, timeout);
+            newConnects.add(probe);
+            try {
+                ensureSelectorRunning();
+            } catch (IOException e) {
+                newConnects.remove(probe);
+                throw e;
+            }
+        } catch (IOException e) {
+            logger.trace("Could not connect to {}", socketAddress, e);
+            closeQuietly(channel);
+            future.complete(new PingResult(false, Duration.ofNanos(System.nanoTime() - startNanos)));
+        }
+        return future;
+    }
+
+    /**
+     * Returns the number of probes started so far.
+     */
+    public long getProbeCount() {
+        return probeCount.get();
+    }
+
+    /**
+     * Returns the number of requested probes, which shared the result of a running probe.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Stops the probe threads and fails all pending connection attempts. Probes requested afterwards fail immediately.
+     */
+    public void shutdown() {
+        probeExecutor.shutdownNow();
+        synchronized (this) {
+            shutdown = true;
+            Selector selector = this.selector;
+            if (selector == null) {
+                return;
+            }
+            if (selectorThread == null) {
+                closeSelector(selector);
+            } else {
+                // the selector thread fails the pending connection attempts and closes the selector
+                selector.wakeup();
+            }
+        }
+    }
+
+    private synchronized void ensureSelectorRunning() throws IOException {
+        if (shutdown) {
+            throw new IOException("The presence prober has been shut down");
+        }
+        Selector selector = this.selector;
+        if (selector == null) {
+            selector = Selector.open();
+            this.selector = selector;
+        }
+        if (selectorThread == null) {
+            Selector threadSelector = selector;
+            Thread thread = selectorThreadFactory.newThread(() -> runSelector(threadSelector));
+            selectorThread = thread;
+            thread.start();
+        } else {
+            selector.wakeup();
+        }
+    }
+
+    private synchronized boolean stopSelectorIfIdle() {
+        if (pendingConnects.isEmpty() && newConnects.isEmpty()) {
+            selectorThread = null;
+            Selector selector = this.selector;
+            if (shutdown && selector != null) {
+                closeSelector(selector);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void runSelector(Selector selector) {
+        try {
+            while (!stopSelectorIfIdle()) {
+                if (shutdown) {
+                    failAll();
+                    continue;
+                }
+                registerNewConnects(selector);
+                if (pendingConnects.isEmpty()) {
+                    continue;
+                }
+                long nextDeadline = Long.MAX_VALUE;
+                for (ConnectProbe probe : pendingConnects) {
+                    nextDeadline = Math.min(nextDeadline, probe.deadlineNanos);
+                }
+                long waitMillis = TimeUnit.NANOSECONDS.toMillis(nextDeadline - System.nanoTime());
+                selector.select(Math.max(1, waitMillis));
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.attachment() instanceof ConnectProbe probe) {
+                        finishConnect(probe);
+                    }
+                }
+                expireConnects();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Presence prober stopped unexpectedly: {}", e.getMessage());
+            synchronized (this) {
+                selectorThread = null;
+                failAll();
+                closeSelector(selector);
+            }
+        }
+    }
+
+    private synchronized void closeSelector(Selector selector) {
+        if (this.selector == selector) {
+            this.selector = null;
+        }
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+            // the selector is not used any longer
+        }
+    }
+
+    private void registerNewConnects(Selector selector) {
+        ConnectProbe probe;
+        while ((probe = newConnects.poll()) != null) {
+            try {
+                probe.channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                pendingConnects.add(probe);
+            } catch (IOException e) {
+                logger.trace("Could not connect to {}", probe.address, e);
+                complete(probe, false);
+            }
+        }
+    }
+
+    private void finishConnect(ConnectProbe probe) {
+        boolean success;
+        try {
+            success = probe.channel.finishConnect();
+            if (!success) {
+                // not connected yet, keep waiting
+                return;
+            }
+        } catch (IOException e) {
+            logger.trace("Could not connect to {}", probe.address, e);
+            success = false;
+        }
+        pendingConnects.remove(probe);
+        complete(probe, success);
+    }
+
+    private void expireConnects() {
+        long now = System.nanoTime();
+        Iterator<ConnectProbe> iterator = pendingConnects.iterator();
+        while (iterator.hasNext()) {
+            ConnectProbe probe = iterator.next();
+            if (now - probe.deadlineNanos >= 0) {
+                logger.trace("Connection attempt to {} timed out", probe.address);
+                iterator.remove();
+                complete(probe, false);
+            }
+        }
+    }
+
+    private void failAll() {
+        pendingConnects.forEach(probe -> complete(probe, false));
+        pendingConnects.clear();
+        ConnectProbe probe;
+        while ((probe = newConnects.poll()) != null) {
+            complete(probe, false);
+        }
+    }
+
+    private void complete(ConnectProbe probe, boolean success) {
+        closeQuietly(probe.channel);
+        // completed on the selector thread, as the probe threads may all be busy with blocking probes
+        probe.future.complete(new PingResult(success, Duration.ofNanos(System.nanoTime() - probe.startNanos)));
+    }
+
+    private void closeQuietly(@Nullable SocketChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.trace("Failed to close socket channel", e);
+            }
+        }
+    }
+}
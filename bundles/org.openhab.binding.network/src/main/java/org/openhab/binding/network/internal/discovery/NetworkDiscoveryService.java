@@ -32,6 +32,7 @@ import org.openhab.binding.network.internal.NetworkBindingConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.PresenceProber;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
@@ -69,6 +70,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     private @Nullable ExecutorService executorService = null;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
+    private @NonNullByDefault({}) PresenceProber prober;
 
     public NetworkDiscoveryService() {
         super(SUPPORTED_THING_TYPES_UIDS,
@@ -81,6 +83,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     @Activate
     public void activate(@Nullable Map<String, Object> config) {
         super.activate(config);
+        prober = new PresenceProber();
         modified(config);
     }
 
@@ -100,6 +103,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         if (executorService != null) {
             executorService.shutdown();
         }
+        prober.shutdown();
         super.deactivate();
     }
 
@@ -139,7 +143,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         scannedIPcount.set(0);
 
         for (String ip : networkIPs) {
-            final PresenceDetection pd = new PresenceDetection(this, scheduler, Duration.ofSeconds(2));
+            final PresenceDetection pd = new PresenceDetection(this, prober, scheduler, Duration.ofSeconds(2));
             pd.setHostname(ip);
             pd.setIOSDevice(true);
             pd.setUseDhcpSniffing(false);
@@ -15,18 +15,13 @@ package org.openhab.binding.network.internal.utils;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.net.ConnectException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.Inet4Address;
 import java.net.InetAddress;
-import java.net.InetSocketAddress;
 import java.net.NetworkInterface;
-import java.net.NoRouteToHostException;
 import java.net.PortUnreachableException;
-import java.net.Socket;
 import java.net.SocketException;
-import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
 import java.time.Duration;
 import java.time.Instant;
@@ -204,27 +199,6 @@ public class NetworkUtils {
         return networkIPs;
     }
 
-    /**
-     * Try to establish a TCP connection to the given port.
-     *
-     * @param host the IP or hostname
-     * @param port the TCP port. Must be not 0.
-     * @param timeout the timeout before the call aborts
-     * @return the {@link PingResult} of connecting to the given port
-     * @throws IOException if an error occurs during the connection
-     */
-    public PingResult servicePing(String host, int port, Duration timeout) throws IOException {
-        Instant execStartTime = Instant.now();
-        boolean success = false;
-        try (Socket socket = new Socket()) {
-            socket.connect(new InetSocketAddress(host, port), (int) timeout.toMillis());
-            success = true;
-        } catch (ConnectException | SocketTimeoutException | NoRouteToHostException e) {
-            logger.trace("Could not connect to {}:{}", host, port, e);
-        }
-        return new PingResult(success, Duration.between(execStartTime, Instant.now()));
-    }
-
     /**
      * Return the working method for the native system ping. If no native ping
      * works JavaPing is returned.
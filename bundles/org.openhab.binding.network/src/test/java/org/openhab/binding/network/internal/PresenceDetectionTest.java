@@ -21,8 +21,9 @@ import static org.mockito.Mockito.*;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -52,11 +53,10 @@ public class PresenceDetectionTest {
     private @NonNullByDefault({}) PresenceDetection subject;
 
     private @Mock @NonNullByDefault({}) Consumer<PresenceDetectionValue> callback;
-    private @Mock @NonNullByDefault({}) ExecutorService detectionExecutorService;
-    private @Mock @NonNullByDefault({}) ExecutorService waitForResultExecutorService;
     private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduledExecutorService;
     private @Mock @NonNullByDefault({}) PresenceDetectionListener listener;
     private @Mock @NonNullByDefault({}) NetworkUtils networkUtils;
+    private @Mock @NonNullByDefault({}) PresenceProber prober;
 
     @BeforeEach
     public void setUp() {
@@ -65,7 +65,7 @@ public class PresenceDetectionTest {
         doReturn(ArpPingUtilEnum.IPUTILS_ARPING).when(networkUtils).determineNativeArpPingMethod(anyString());
         doReturn(IpPingMethodEnum.WINDOWS_PING).when(networkUtils).determinePingMethod();
 
-        subject = spy(new PresenceDetection(listener, scheduledExecutorService, Duration.ofSeconds(2)));
+        subject = spy(new PresenceDetection(listener, prober, scheduledExecutorService, Duration.ofSeconds(2)));
         subject.networkUtils = networkUtils;
 
         // Set a useful configuration. The default presenceDetection is a no-op.
@@ -80,61 +80,42 @@ public class PresenceDetectionTest {
         assertThat(subject.pingMethod, is(IpPingMethodEnum.WINDOWS_PING));
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
-    @Test
-    public void threadCountTest() {
-        assertNull(subject.detectionExecutorService);
-
-        doNothing().when(subject).performArpPing(any(), any());
-        doNothing().when(subject).performJavaPing(any());
-        doNothing().when(subject).performSystemPing(any());
-        doNothing().when(subject).performServicePing(any(), anyInt());
+    private void mockProbes(CompletableFuture<PingResult> tcpPingResult) {
+        doReturn(tcpPingResult).when(prober).tcpPing(any(), anyInt(), any());
+        when(prober.probe(anyString(), any(), any())).thenAnswer(invocation -> CompletableFuture
+                .completedFuture(invocation.<PresenceProber.BlockingProbe> getArgument(2).run()));
+    }
 
-        doReturn(waitForResultExecutorService).when(subject).getThreadsFor(1);
+    @Test
+    public void detectionChecksTest() {
+        doReturn(CompletableFuture.completedFuture(null)).when(subject).performArpPing(any(), any());
+        doReturn(CompletableFuture.completedFuture(null)).when(subject).performJavaPing(any());
+        doReturn(CompletableFuture.completedFuture(null)).when(subject).performSystemPing(any());
+        CompletableFuture<?> servicePing = new CompletableFuture<>();
+        doReturn(servicePing).when(subject).performServicePing(any(), anyInt());
 
         subject.getValue(callback -> {
         });
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.detectionExecutorService);
+        verify(listener, never()).finalDetectionResult(any());
 
-        // "Wait" for the presence detection to finish
-        ArgumentCaptor<Runnable> runnableCapture = ArgumentCaptor.forClass(Runnable.class);
-        verify(waitForResultExecutorService, times(1)).execute(runnableCapture.capture());
-        runnableCapture.getValue().run();
+        servicePing.complete(null);
 
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.detectionExecutorService);
+        verify(listener).finalDetectionResult(any());
     }
 
     @Test
-    public void partialAndFinalCallbackTests() throws InterruptedException, IOException {
+    public void partialAndFinalCallbackTests() throws Exception {
         PingResult pingResult = new PingResult(true, Duration.ofMillis(10));
         doReturn(pingResult).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), any());
         doReturn(pingResult).when(networkUtils).nativeArpPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(),
                 anyString(), any(), any());
-        doReturn(pingResult).when(networkUtils).servicePing(anyString(), anyInt(), any());
-
-        doReturn(detectionExecutorService).when(subject).getThreadsFor(3);
-        doReturn(waitForResultExecutorService).when(subject).getThreadsFor(1);
+        mockProbes(CompletableFuture.completedFuture(pingResult));
 
-        subject.performPresenceDetection();
-
-        assertThat(subject.detectionChecks, is(3));
-
-        // Perform the different presence detection threads now
-        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(detectionExecutorService, times(3)).execute(capture.capture());
-        for (Runnable r : capture.getAllValues()) {
-            r.run();
-        }
-
-        // "Wait" for the presence detection to finish
-        ArgumentCaptor<Runnable> runnableCapture = ArgumentCaptor.forClass(Runnable.class);
-        verify(waitForResultExecutorService, times(1)).execute(runnableCapture.capture());
-        runnableCapture.getValue().run();
+        PresenceDetectionValue value = subject.performPresenceDetection().get(1, TimeUnit.SECONDS);
 
         assertThat(subject.detectionChecks, is(0));
 
@@ -142,12 +123,15 @@ public class PresenceDetectionTest {
         verify(subject).performSystemPing(any());
         verify(subject).performArpPing(any(), any());
         verify(subject).performServicePing(any(), anyInt());
+        verify(prober).tcpPing(any(), eq(1010), any());
+        verify(prober, times(2)).probe(anyString(), eq(Duration.ofMillis(300)), any());
 
         verify(listener, times(3)).partialDetectionResult(any());
         ArgumentCaptor<PresenceDetectionValue> pdvCapture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
         verify(listener, times(1)).finalDetectionResult(pdvCapture.capture());
 
         assertThat(pdvCapture.getValue().getSuccessfulDetectionTypes(), is("ARP_PING, ICMP_PING, TCP_CONNECTION"));
+        assertThat(value, is(pdvCapture.getValue()));
     }
 
     @Test
@@ -156,31 +140,19 @@ public class PresenceDetectionTest {
         doReturn(pingResult).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), any());
         doReturn(pingResult).when(networkUtils).nativeArpPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(),
                 anyString(), any(), any());
-        doReturn(pingResult).when(networkUtils).servicePing(anyString(), anyInt(), any());
-
-        doReturn(detectionExecutorService).when(subject).getThreadsFor(3);
-        doReturn(waitForResultExecutorService).when(subject).getThreadsFor(1);
+        CompletableFuture<PingResult> tcpPingResult = new CompletableFuture<>();
+        mockProbes(tcpPingResult);
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection();
-        assertNotNull(subject.detectionExecutorService);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
-        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(detectionExecutorService, times(3)).execute(capture.capture());
-        for (Runnable r : capture.getAllValues()) {
-            r.run();
-        }
-
-        // "Wait" for the presence detection to finish
-        capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(waitForResultExecutorService, times(1)).execute(capture.capture());
-        capture.getValue().run();
+        // Finish the last running presence detection check
+        tcpPingResult.complete(pingResult);
 
         // Although there are multiple partial results and a final result,
         // the getValue() consumers get the fastest response possible, and only once.
@@ -191,6 +163,8 @@ public class PresenceDetectionTest {
         verify(callback, times(2)).accept(any());
 
         // Invalidate value, we should not get a new callback immediately again
+        tcpPingResult = new CompletableFuture<>();
+        mockProbes(tcpPingResult);
         subject.cache.invalidateValue();
         subject.getValue(callback);
         verify(callback, times(2)).accept(any());
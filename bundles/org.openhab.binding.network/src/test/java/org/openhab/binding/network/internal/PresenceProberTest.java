@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.network.internal.utils.PingResult;
+
+/**
+ * Tests cases for {@link PresenceProber}.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceProberTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(1);
+
+    private final PresenceProber prober = new PresenceProber();
+
+    @AfterEach
+    public void tearDown() {
+        prober.shutdown();
+    }
+
+    @Test
+    public void tcpPingToOpenPortSucceeds() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            PingResult result = prober
+                    .tcpPing(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), Duration.ofSeconds(2))
+                    .get(5, TimeUnit.SECONDS);
+            assertTrue(result.isSuccess());
+        }
+    }
+
+    @Test
+    public void tcpPingToClosedPortFails() throws Exception {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+        PingResult result = prober.tcpPing(InetAddress.getLoopbackAddress(), port, Duration.ofSeconds(2)).get(5,
+                TimeUnit.SECONDS);
+        assertFalse(result.isSuccess());
+    }
+
+    @Test
+    public void equalRunningProbesAreCoalesced() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        PresenceProber.BlockingProbe probe = () -> {
+            runs.incrementAndGet();
+            release.await();
+            return new PingResult(true, Duration.ofMillis(1));
+        };
+
+        CompletableFuture<@Nullable PingResult> first = prober.probe("ICMP 192.168.0.1", TIMEOUT, probe);
+        CompletableFuture<@Nullable PingResult> second = prober.probe("ICMP 192.168.0.1", TIMEOUT, probe);
+        CompletableFuture<@Nullable PingResult> other = prober.probe("ICMP 192.168.0.2", TIMEOUT, probe);
+        CompletableFuture<@Nullable PingResult> otherTimeout = prober.probe("ICMP 192.168.0.1",
+                TIMEOUT.multipliedBy(2), probe);
+        release.countDown();
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(otherTimeout, is(not(sameInstance(first))));
+        assertNotNull(first.get(5, TimeUnit.SECONDS));
+        assertNotNull(other.get(5, TimeUnit.SECONDS));
+        assertNotNull(otherTimeout.get(5, TimeUnit.SECONDS));
+        assertThat(runs.get(), is(3));
+        assertThat(prober.getCoalescedCount(), is(1L));
+
+        // a finished probe is performed again
+        prober.probe("ICMP 192.168.0.1", TIMEOUT, probe).get(5, TimeUnit.SECONDS);
+        assertThat(runs.get(), is(4));
+    }
+
+    @Test
+    public void failingProbeReturnsNull() throws Exception {
+        assertNull(prober.probe("ARP eth0 192.168.0.1", TIMEOUT, () -> {
+            throw new IOException("arping not found");
+        }).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void probesFailAfterShutdown() throws Exception {
+        prober.shutdown();
+
+        assertNull(prober.probe("ICMP 192.168.0.1", TIMEOUT, () -> new PingResult(true, Duration.ofMillis(1))).get(5,
+                TimeUnit.SECONDS));
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            PingResult result = prober.tcpPing(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), TIMEOUT)
+                    .get(5, TimeUnit.SECONDS);
+            assertFalse(result.isSuccess());
+        }
+    }
+
+    @Test
+    public void startDelaysAreSpreadOverRefreshInterval() {
+        Duration refreshInterval = Duration.ofSeconds(60);
+        List<Long> delays = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Duration delay = prober.nextStartDelay(refreshInterval);
+            assertThat(delay.compareTo(refreshInterval), is(lessThan(0)));
+            delays.add(delay.toMillis());
+        }
+        delays.sort(null);
+        // with 10 things, no two refreshes are closer than a few seconds
+        for (int i = 1; i < delays.size(); i++) {
+            assertTrue(delays.get(i) - delays.get(i - 1) > 3000, "delays too close: " + delays);
+        }
+    }
+}
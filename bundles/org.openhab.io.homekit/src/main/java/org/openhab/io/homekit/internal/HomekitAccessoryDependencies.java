@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit.internal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.items.GroupFunction;
+import org.openhab.core.items.GroupItem;
+import org.openhab.core.items.Item;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.Metadata;
+import org.openhab.core.items.MetadataKey;
+import org.openhab.core.items.MetadataRegistry;
+import org.openhab.io.homekit.internal.accessories.HomekitAccessoryFactory;
+
+/**
+ * Keeps track of the items each root accessory has been created from, i.e. the root item and all (nested) members of
+ * accessory groups, together with their HomeKit metadata.
+ *
+ * It allows to find the accessories affected by a changed item without searching the registries, and to detect by
+ * value whether an accessory would be created from the same item definitions and metadata again. Item states are not
+ * part of the accessory definition, so state updates never require rebuilding an accessory.
+ *
+ * @author Andy Lintner - Initial contribution
+ */
+@NonNullByDefault
+class HomekitAccessoryDependencies {
+    /**
+     * Result of comparing the items of an accessory with the items it has been created from.
+     */
+    enum Change {
+        /** the same item and metadata instances, the existing accessory can be kept */
+        NONE,
+        /** items or metadata have been replaced by equal ones, the accessory has to be bound to the new items */
+        ITEMS_REPLACED,
+        /** item definitions or metadata differ, or items have been added or removed */
+        DEFINITION
+    }
+
+    /**
+     * The values of an item and its HomeKit metadata, which define the services and characteristics of an accessory.
+     * For the root item, the HomeKit metadata of its parent groups is included as well, as it decides whether the
+     * item is a root accessory at all.
+     */
+    record Definition(String type, @Nullable String label, @Nullable String category, Set<String> tags,
+            List<String> groupNames, @Nullable String baseItemType, @Nullable String function,
+            @Nullable String metadataValue, Map<String, Object> metadataConfiguration,
+            Map<String, String> parentMetadataValues) {
+    }
+
+    /**
+     * The instances of an item and its metadata an accessory has been created from, plus their values.
+     */
+    record Dependency(Item item, @Nullable Metadata metadata, Definition definition) {
+    }
+
+    // item name -> names of the root accessories using the item
+    private final Map<String, Set<String>> accessoriesByItem = new HashMap<>();
+    // root accessory name -> items used by the accessory
+    private final Map<String, Map<String, Dependency>> itemsByAccessory = new HashMap<>();
+
+    /**
+     * Collects the items an accessory created from the given root item depends on.
+     *
+     * @param rootItem the root item of the accessory
+     * @param itemRegistry item registry
+     * @param metadataRegistry metadata registry
+     * @return the dependencies by item name
+     */
+    static Map<String, Dependency> collect(Item rootItem, ItemRegistry itemRegistry,
+            MetadataRegistry metadataRegistry) {
+        Map<String, String> parentMetadataValues = new HashMap<>();
+        for (String groupName : rootItem.getGroupNames()) {
+            Metadata metadata = getMetadata(groupName, metadataRegistry);
+            if (metadata != null && itemRegistry.get(groupName) instanceof GroupItem) {
+                parentMetadataValues.put(groupName, metadata.getValue());
+            }
+        }
+        Map<String, Dependency> dependencies = new HashMap<>();
+        collect(rootItem, metadataRegistry, parentMetadataValues, dependencies);
+        return dependencies;
+    }
+
+    private static void collect(Item item, MetadataRegistry metadataRegistry, Map<String, String> parentMetadataValues,
+            Map<String, Dependency> dependencies) {
+        if (dependencies.containsKey(item.getName())) {
+            // circular groups are reported when creating the accessory
+            return;
+        }
+        Metadata metadata = getMetadata(item.getName(), metadataRegistry);
+        dependencies.put(item.getName(),
+                new Dependency(item, metadata, createDefinition(item, metadata, parentMetadataValues)));
+        if (item instanceof GroupItem groupItem) {
+            groupItem.getMembers().forEach(member -> collect(member, metadataRegistry, Map.of(), dependencies));
+        }
+    }
+
+    private static @Nullable Metadata getMetadata(String itemName, MetadataRegistry metadataRegistry) {
+        return metadataRegistry.get(new MetadataKey(HomekitAccessoryFactory.METADATA_KEY, itemName));
+    }
+
+    private static Definition createDefinition(Item item, @Nullable Metadata metadata,
+            Map<String, String> parentMetadataValues) {
+        String baseItemType = null;
+        String function = null;
+        if (item instanceof GroupItem groupItem) {
+            Item baseItem = groupItem.getBaseItem();
+            baseItemType = baseItem != null ? baseItem.getType() : null;
+            GroupFunction groupFunction = groupItem.getFunction();
+            if (groupFunction != null) {
+                function = groupFunction.getClass().getName() + Arrays.toString(groupFunction.getParameters());
+            }
+        }
+        String metadataValue = null;
+        Map<String, Object> metadataConfiguration = Map.of();
+        if (metadata != null) {
+            metadataValue = metadata.getValue();
+            metadataConfiguration = new HashMap<>(metadata.getConfiguration());
+        }
+        return new Definition(item.getType(), item.getLabel(), item.getCategory(), Set.copyOf(item.getTags()),
+                List.copyOf(item.getGroupNames()), baseItemType, function, metadataValue, metadataConfiguration,
+                Map.copyOf(parentMetadataValues));
+    }
+
+    /**
+     * Registers the dependencies of a root accessory, replacing prior ones.
+     *
+     * @param accessoryName the name of the root accessory
+     * @param dependencies as returned by {@link #collect(Item, ItemRegistry, MetadataRegistry)}
+     */
+    void put(String accessoryName, Map<String, Dependency> dependencies) {
+        remove(accessoryName);
+        dependencies.keySet().forEach(
+                itemName -> accessoriesByItem.computeIfAbsent(itemName, name -> new HashSet<>()).add(accessoryName));
+        itemsByAccessory.put(accessoryName, new HashMap<>(dependencies));
+    }
+
+    /**
+     * Removes the dependencies of a root accessory.
+     *
+     * @param accessoryName the name of the root accessory
+     */
+    void remove(String accessoryName) {
+        Map<String, Dependency> items = itemsByAccessory.remove(accessoryName);
+        if (items == null) {
+            return;
+        }
+        for (String itemName : items.keySet()) {
+            Set<String> accessories = accessoriesByItem.get(itemName);
+            if (accessories != null) {
+                accessories.remove(accessoryName);
+                if (accessories.isEmpty()) {
+                    accessoriesByItem.remove(itemName);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the names of the root accessories, which have been created using the given item.
+     *
+     * @param itemName the name of the item
+     * @return the names of the root accessories
+     */
+    Set<String> getAccessories(String itemName) {
+        Set<String> accessories = accessoriesByItem.get(itemName);
+        return accessories == null ? Set.of() : Collections.unmodifiableSet(accessories);
+    }
+
+    /**
+     * Compares the items a root accessory has been created from with the current ones.
+     *
+     * @param accessoryName the name of the root accessory
+     * @param dependencies as returned by {@link #collect(Item, ItemRegistry, MetadataRegistry)}
+     * @return how the items of the accessory have changed since it has been created
+     */
+    Change compare(String accessoryName, Map<String, Dependency> dependencies) {
+        Map<String, Dependency> items = itemsByAccessory.get(accessoryName);
+        if (items == null || items.size() != dependencies.size()) {
+            return Change.DEFINITION;
+        }
+        Change change = Change.NONE;
+        for (Map.Entry<String, Dependency> entry : dependencies.entrySet()) {
+            Dependency current = entry.getValue();
+            Dependency previous = items.get(entry.getKey());
+            if (previous == null || !current.definition().equals(previous.definition())) {
+                return Change.DEFINITION;
+            }
+            if (current.item() != previous.item() || current.metadata() != previous.metadata()) {
+                change = Change.ITEMS_REPLACED;
+            }
+        }
+        return change;
+    }
+
+    void clear() {
+        accessoriesByItem.clear();
+        itemsByAccessory.clear();
+    }
+}
@@ -40,6 +40,8 @@ import org.openhab.core.items.Metadata;
 import org.openhab.core.items.MetadataKey;
 import org.openhab.core.items.MetadataRegistry;
 import org.openhab.core.storage.Storage;
+import org.openhab.io.homekit.internal.HomekitAccessoryDependencies.Change;
+import org.openhab.io.homekit.internal.HomekitAccessoryDependencies.Dependency;
 import org.openhab.io.homekit.internal.accessories.AbstractHomekitAccessoryImpl;
 import org.openhab.io.homekit.internal.accessories.DummyHomekitAccessory;
 import org.openhab.io.homekit.internal.accessories.HomekitAccessoryFactory;
@@ -63,6 +65,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     private static final String KNOWN_ACCESSORIES = "known_accessories";
     private final ItemRegistry itemRegistry;
     private final HomekitAccessoryRegistry accessoryRegistry = new HomekitAccessoryRegistry();
+    private final HomekitAccessoryDependencies dependencies = new HomekitAccessoryDependencies();
     private final MetadataRegistry metadataRegistry;
     private final Storage<Object> storage;
     private final RegistryChangeListener<Metadata> metadataChangeListener;
@@ -140,6 +143,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         itemRegistry.addRegistryChangeListener(this);
         metadataRegistry.addRegistryChangeListener(metadataChangeListener);
         initialiseRevision();
+        final long startTime = System.nanoTime();
         boolean changed = false;
         for (var i : itemRegistry.getItems()) {
             String oldValue = knownAccessories.get(i.getName());
@@ -149,6 +153,8 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                 changed = true;
             }
         }
+        logger.debug("Created HomeKit accessories for instance {} in {} ms.", instance,
+                Duration.ofNanos(System.nanoTime() - startTime).toMillis());
         // order of this conditional is important - checkMissingAccessories has side effects that need to always happen
         if (checkMissingAccessories() || changed) {
             makeNewConfigurationRevision();
@@ -218,8 +224,19 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         logger.trace("Mark dirty item {}", item.getName());
         pendingUpdates.add(item.getName());
         /*
-         * If findMyAccessoryGroups fails because the accessory group has already been deleted, then we can count on a
-         * later update telling us that the accessory group was removed.
+         * Mark all accessories created using this item, including those which use it as member of nested groups.
+         */
+        pendingUpdates.addAll(dependencies.getAccessories(item.getName()));
+        /*
+         * Mark the accessories of the groups the item is a member of now, as it may just have been added to them.
+         */
+        for (String groupName : item.getGroupNames()) {
+            pendingUpdates.addAll(dependencies.getAccessories(groupName));
+        }
+        /*
+         * Also mark the accessory groups found by their metadata, which are not indexed if their accessory could not be
+         * created yet, e.g. as they had no members. If findMyAccessoryGroups fails because the accessory group has
+         * already been deleted, then we can count on a later update telling us that the accessory group was removed.
          */
         for (Item accessoryGroup : HomekitAccessoryFactory.getAccessoryGroups(item, itemRegistry, metadataRegistry)) {
             pendingUpdates.add(accessoryGroup.getName());
@@ -288,16 +305,48 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         }
 
         try {
+            final long startTime = System.nanoTime();
             boolean changed = false;
+            int unchanged = 0;
             for (final String name : pendingUpdates) {
                 String oldValue = knownAccessories.get(name);
-                accessoryRegistry.remove(name);
-                logger.trace(" Add items {}", name);
-                getItemOptional(name).ifPresent(this::createRootAccessories);
+                final @Nullable Item item = getItemOptional(name).orElse(null);
+                if (item == null) {
+                    removeRootAccessory(name);
+                } else {
+                    final Map<String, Dependency> itemDependencies = HomekitAccessoryDependencies.collect(item,
+                            itemRegistry, metadataRegistry);
+                    final @Nullable HomekitAccessory existingAccessory = accessoryRegistry.getAllAccessories()
+                            .get(name);
+                    // compare the definitions of the items first, as creating an accessory is expensive
+                    Change change = Change.DEFINITION;
+                    if (oldValue != null && existingAccessory instanceof AbstractHomekitAccessoryImpl) {
+                        change = dependencies.compare(name, itemDependencies);
+                    }
+                    if (change == Change.NONE) {
+                        // created from the same items and metadata, so keep the existing accessory
+                        logger.trace(" Keep unchanged accessory {}", name);
+                        unchanged++;
+                        continue;
+                    }
+                    final @Nullable AbstractHomekitAccessoryImpl accessory = createRootAccessory(item);
+                    if (accessory != null) {
+                        // equal items and metadata result in the same services and characteristics
+                        final String json = change == Change.ITEMS_REPLACED && oldValue != null ? oldValue
+                                : accessory.toJson();
+                        accessoryRegistry.remove(name);
+                        logger.trace(" Add items {}", name);
+                        addRootAccessory(name, accessory, json, itemDependencies);
+                    } else {
+                        removeRootAccessory(name);
+                    }
+                }
                 if (accessoryChanged(name, oldValue)) {
                     changed = true;
                 }
             }
+            logger.debug("Applied {} HomeKit updates ({} accessories unchanged) in {} ms.", pendingUpdates.size(),
+                    unchanged, Duration.ofNanos(System.nanoTime() - startTime).toMillis());
             pendingUpdates.clear();
             if (checkMissingAccessories() || changed) {
                 makeNewConfigurationRevision();
@@ -333,6 +382,11 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         accessoryRegistry.clear();
     }
 
+    private void removeRootAccessory(String name) {
+        accessoryRegistry.remove(name);
+        dependencies.remove(name);
+    }
+
     public synchronized void setBridge(HomekitRoot bridge) {
         accessoryRegistry.setBridge(bridge);
     }
@@ -434,22 +488,43 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
      * @param item openHAB item
      */
     private void createRootAccessories(Item item) {
+        final @Nullable AbstractHomekitAccessoryImpl accessory = createRootAccessory(item);
+        if (accessory != null) {
+            addRootAccessory(item.getName(), accessory, accessory.toJson(),
+                    HomekitAccessoryDependencies.collect(item, itemRegistry, metadataRegistry));
+        }
+    }
+
+    private void addRootAccessory(String name, AbstractHomekitAccessoryImpl accessory, String json,
+            Map<String, Dependency> itemDependencies) {
+        knownAccessories.put(name, json);
+        accessoryRegistry.addRootAccessory(name, accessory);
+        dependencies.put(name, itemDependencies);
+    }
+
+    /**
+     * creates the root accessory for given openhab item without adding it to the registry.
+     *
+     * @param item openHAB item
+     * @return the accessory, or null if the item is not a root accessory of this bridge
+     */
+    private @Nullable AbstractHomekitAccessoryImpl createRootAccessory(Item item) {
         final List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> accessoryTypes = HomekitAccessoryFactory
                 .getAccessoryTypes(item, metadataRegistry);
         if (accessoryTypes.isEmpty()) {
-            return;
+            return null;
         }
 
         final List<GroupItem> groups = HomekitAccessoryFactory.getAccessoryGroups(item, itemRegistry, metadataRegistry);
         // Don't create accessories that are sub-accessories of other accessories
         if (groups.stream().anyMatch(g -> !HomekitAccessoryFactory.getAccessoryTypes(g, metadataRegistry).isEmpty())) {
-            return;
+            return null;
         }
 
         final @Nullable Map<String, Object> itemConfiguration = HomekitAccessoryFactory.getItemConfiguration(item,
                 metadataRegistry);
         if (!itemIsForThisBridge(item, itemConfiguration)) {
-            return;
+            return null;
         }
 
         final HomekitAccessoryType primaryAccessoryType = getPrimaryAccessoryType(item, accessoryTypes,
@@ -464,7 +539,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
             if (accessory.isLinkedServiceOnly()) {
                 logger.warn("Item '{}' is a '{}' which must be nested another another accessory.", taggedItem.getName(),
                         primaryAccessoryType);
-                return;
+                return null;
             }
 
             accessoryTypes.stream().filter(aType -> !primaryAccessoryType.equals(aType.getKey()))
@@ -480,10 +555,10 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                             logger.warn("Cannot create additional accessory {}", additionalTaggedItem);
                         }
                     });
-            knownAccessories.put(taggedItem.getName(), accessory.toJson());
-            accessoryRegistry.addRootAccessory(taggedItem.getName(), accessory);
+            return accessory;
         } catch (HomekitException e) {
             logger.warn("Cannot create accessory {}: {}", taggedItem, e.getMessage());
+            return null;
         }
     }
 
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.GenericItem;
+import org.openhab.core.items.GroupItem;
+import org.openhab.core.items.Item;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.Metadata;
+import org.openhab.core.items.MetadataKey;
+import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.library.items.SwitchItem;
+import org.openhab.io.homekit.internal.HomekitAccessoryDependencies.Change;
+import org.openhab.io.homekit.internal.HomekitAccessoryDependencies.Dependency;
+import org.openhab.io.homekit.internal.accessories.HomekitAccessoryFactory;
+
+/**
+ * Tests the {@link HomekitAccessoryDependencies}.
+ *
+ * @author Andy Lintner - Initial contribution
+ */
+@NonNullByDefault
+public class HomekitAccessoryDependenciesTest {
+    private final ItemRegistry itemRegistry = mock(ItemRegistry.class);
+    private final MetadataRegistry metadataRegistry = mock(MetadataRegistry.class);
+    private final Map<String, Item> items = new HashMap<>();
+    private final Map<String, Metadata> metadata = new HashMap<>();
+    private final HomekitAccessoryDependencies dependencies = new HomekitAccessoryDependencies();
+
+    private final GroupItem light = new GroupItem("Light");
+    private final SwitchItem lightPower = new SwitchItem("Light_Power");
+    private final GroupItem lightDetails = new GroupItem("Light_Details");
+    private final SwitchItem lightFault = new SwitchItem("Light_Fault");
+
+    @BeforeEach
+    public void setUp() {
+        when(itemRegistry.get(any())).thenAnswer(invocation -> items.get(invocation.getArgument(0)));
+        when(metadataRegistry.get(any()))
+                .thenAnswer(invocation -> metadata.get(((MetadataKey) invocation.getArgument(0)).getItemName()));
+
+        // Light { Light_Power, Light_Details { Light_Fault } }
+        addMember(light, lightPower);
+        addMember(light, lightDetails);
+        addMember(lightDetails, lightFault);
+        putMetadata(light, "Lighting");
+        putMetadata(lightPower, "OnState");
+        putMetadata(lightFault, "FaultStatus");
+    }
+
+    private void addMember(GroupItem group, GenericItem member) {
+        group.addMember(member);
+        member.addGroupName(group.getName());
+        items.put(group.getName(), group);
+        items.put(member.getName(), member);
+    }
+
+    private void putMetadata(Item item, String value) {
+        metadata.put(item.getName(),
+                new Metadata(new MetadataKey(HomekitAccessoryFactory.METADATA_KEY, item.getName()), value, Map.of()));
+    }
+
+    private Map<String, Dependency> collect(Item rootItem) {
+        return HomekitAccessoryDependencies.collect(rootItem, itemRegistry, metadataRegistry);
+    }
+
+    @Test
+    public void itemsInvalidateTheAccessoriesCreatedFromThem() {
+        dependencies.put(light.getName(), collect(light));
+
+        assertEquals(Set.of("Light"), dependencies.getAccessories("Light"));
+        assertEquals(Set.of("Light"), dependencies.getAccessories("Light_Power"));
+        assertEquals(Set.of("Light"), dependencies.getAccessories("Light_Fault"));
+        assertEquals(Set.of(), dependencies.getAccessories("Other"));
+    }
+
+    @Test
+    public void groupsInvalidateTheAccessoriesOfTheirMembers() {
+        dependencies.put(light.getName(), collect(light));
+
+        // a change of a nested group invalidates the root accessory, not only the group itself
+        assertEquals(Set.of("Light"), dependencies.getAccessories("Light_Details"));
+        // an item added to a group later is found through the group
+        SwitchItem lightTampered = new SwitchItem("Light_Tampered");
+        addMember(lightDetails, lightTampered);
+        assertEquals(Set.of(), dependencies.getAccessories("Light_Tampered"));
+        for (String groupName : lightTampered.getGroupNames()) {
+            assertEquals(Set.of("Light"), dependencies.getAccessories(groupName));
+        }
+    }
+
+    @Test
+    public void removedAccessoriesAreNotInvalidated() {
+        SwitchItem other = new SwitchItem("Other");
+        putMetadata(other, "Switchable");
+        dependencies.put(light.getName(), collect(light));
+        dependencies.put(other.getName(), collect(other));
+
+        dependencies.remove(light.getName());
+
+        assertEquals(Set.of(), dependencies.getAccessories("Light_Power"));
+        assertEquals(Set.of("Other"), dependencies.getAccessories("Other"));
+    }
+
+    @Test
+    public void unchangedItemsKeepTheAccessory() {
+        dependencies.put(light.getName(), collect(light));
+
+        assertEquals(Change.NONE, dependencies.compare(light.getName(), collect(light)));
+    }
+
+    @Test
+    public void equalItemsReplaceTheItemsOfTheAccessory() {
+        dependencies.put(light.getName(), collect(light));
+        SwitchItem replacedPower = new SwitchItem("Light_Power");
+        light.replaceMember(lightPower, replacedPower);
+        replacedPower.addGroupName(light.getName());
+        putMetadata(replacedPower, "OnState");
+
+        assertEquals(Change.ITEMS_REPLACED, dependencies.compare(light.getName(), collect(light)));
+    }
+
+    @Test
+    public void changedDefinitionsRebuildTheAccessory() {
+        dependencies.put(light.getName(), collect(light));
+
+        lightFault.setLabel("Fault");
+        assertEquals(Change.DEFINITION, dependencies.compare(light.getName(), collect(light)));
+    }
+
+    @Test
+    public void changedMetadataRebuildsTheAccessory() {
+        dependencies.put(light.getName(), collect(light));
+
+        putMetadata(lightFault, "StatusFault");
+        assertEquals(Change.DEFINITION, dependencies.compare(light.getName(), collect(light)));
+    }
+
+    @Test
+    public void addedMembersRebuildTheAccessory() {
+        dependencies.put(light.getName(), collect(light));
+
+        addMember(lightDetails, new SwitchItem("Light_Tampered"));
+        assertEquals(Change.DEFINITION, dependencies.compare(light.getName(), collect(light)));
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal.rest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+
+/**
+ * Caches the serialized JSON of a map of hue entries, like all lights or all groups, which are polled frequently by
+ * hue clients.
+ *
+ * Each entry is serialized on its own and only serialized again, if its fingerprint changed. The fingerprint consists
+ * of everything the serialized form depends on, e.g. the entry instance, the item and its state. If no fingerprint
+ * changed and no entry has been added or removed, the prior response body is returned as is without joining the
+ * entries again. Every body gets a new entity tag, so clients sending <code>If-None-Match</code> receive a
+ * "304 Not Modified" while nothing changed.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+class JsonSnapshot<T> {
+    private static class Fragment {
+        final @Nullable Object[] fingerprint;
+        final String json;
+
+        Fragment(@Nullable Object[] fingerprint, String json) {
+            this.fingerprint = fingerprint;
+            this.json = json;
+        }
+    }
+
+    private static class Body {
+        final byte[] json;
+        final EntityTag entityTag;
+
+        Body(byte[] json, EntityTag entityTag) {
+            this.json = json;
+            this.entityTag = entityTag;
+        }
+    }
+
+    // distinguishes the entity tags of different service runs
+    private final String tagPrefix = Long.toHexString(System.currentTimeMillis()) + "-";
+    private final Function<T, @Nullable Object[]> fingerprint;
+    private final Map<String, Fragment> fragments = new HashMap<>();
+    private @Nullable Body body;
+    private long version;
+
+    /**
+     * @param fingerprint returns the values the serialized form of an entry depends on
+     */
+    JsonSnapshot(Function<T, @Nullable Object[]> fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Returns a response with the serialized entries. The response is "304 Not Modified" if the request contains the
+     * entity tag of the current serialized form.
+     *
+     * @param gson the gson instance with the serializers of the entries
+     * @param entries the entries by their id
+     * @param request the request, to evaluate its preconditions
+     */
+    synchronized Response response(Gson gson, Map<String, T> entries, Request request) {
+        Body body = update(gson, entries);
+        ResponseBuilder notModified = request.evaluatePreconditions(body.entityTag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(body.json).tag(body.entityTag).build();
+    }
+
+    private Body update(Gson gson, Map<String, T> entries) {
+        boolean changed = false;
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            @Nullable
+            Object[] currentFingerprint = fingerprint.apply(entry.getValue());
+            Fragment fragment = fragments.get(entry.getKey());
+            if (fragment == null || !Arrays.equals(fragment.fingerprint, currentFingerprint)) {
+                fragment = new Fragment(currentFingerprint, gson.toJson(entry.getValue()));
+                fragments.put(entry.getKey(), fragment);
+                changed = true;
+            }
+        }
+        if (fragments.size() != entries.size()) {
+            fragments.keySet().retainAll(entries.keySet());
+            changed = true;
+        }
+
+        Body body = this.body;
+        if (body != null && !changed) {
+            return body;
+        }
+        StringBuilder builder = new StringBuilder("{");
+        for (String id : entries.keySet()) {
+            Fragment fragment = fragments.get(id);
+            if (fragment != null) {
+                if (builder.length() > 1) {
+                    builder.append(',');
+                }
+                builder.append(gson.toJson(id)).append(':').append(fragment.json);
+            }
+        }
+        body = new Body(builder.append('}').toString().getBytes(StandardCharsets.UTF_8),
+                new EntityTag(tagPrefix + Long.toHexString(++version)));
+        this.body = body;
+        return body;
+    }
+}
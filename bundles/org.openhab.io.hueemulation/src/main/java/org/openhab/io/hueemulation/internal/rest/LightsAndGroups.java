@@ -27,6 +27,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
@@ -118,6 +119,16 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Reference(policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.OPTIONAL)
     protected volatile @Nullable EventPublisher eventPublisher;
 
+    /**
+     * Hue clients poll all lights and groups every few seconds, so the serialized lists are kept and only entries
+     * which changed since the last request are serialized again.
+     */
+    private final JsonSnapshot<HueLightEntry> lightsSnapshot = new JsonSnapshot<>(light -> new @Nullable Object[] {
+            light, light.item, light.item.getState(), light.item.getLabel(), light.lastCommand, light.lastHueChange });
+    private final JsonSnapshot<HueGroupEntry> groupsSnapshot = new JsonSnapshot<>(group -> new @Nullable Object[] {
+            group, group.groupItem, group.groupItem != null ? List.copyOf(group.groupItem.getMembers()) : group.lights,
+            group.action, group.name, group.type, group.roomclass });
+
     /**
      * Registers to the {@link ItemRegistry} and enumerates currently existing items.
      */
@@ -247,12 +258,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/lights")
     @Operation(summary = "Return all lights", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        return lightsSnapshot.response(cs.gson, cs.ds.lights, request);
     }
 
     @GET
@@ -438,12 +449,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/groups")
     @Operation(summary = "Return all groups", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllGroupsApi(@Context UriInfo uri,
+    public Response getAllGroupsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups)).build();
+        return groupsSnapshot.response(cs.gson, cs.ds.groups, request);
     }
 
     @GET
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventSubscriber;
+import org.openhab.core.items.events.ItemCommandEvent;
+import org.openhab.core.items.events.ItemStateEvent;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link BindingEventMetrics} publishes per binding metrics derived from the item events, without any support of
+ * the bindings: the number of state updates and the time from a command until the binding updates the state of the
+ * commanded item.
+ *
+ * The binding is taken from the source of the state update events, which the framework sets to the linked channel.
+ *
+ * @author Robert Bach - Initial contribution
+ */
+@Component(service = EventSubscriber.class)
+@NonNullByDefault
+public class BindingEventMetrics implements EventSubscriber {
+    private static final String THING_SOURCE_PREFIX = "org.openhab.core.thing$";
+    private static final String DELEGATION_SEPARATOR = "=>";
+    // state updates later than this are not considered a response to a command
+    private static final long MAX_RESPONSE_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final MetricsPublisher metricsPublisher;
+    // item name -> time the last command has been sent
+    private final Map<String, Long> pendingCommands = new ConcurrentHashMap<>();
+    // binding id -> tags
+    private final Map<String, Map<String, String>> bindingTags = new ConcurrentHashMap<>();
+
+    @Activate
+    public BindingEventMetrics(final @Reference MetricsPublisher metricsPublisher) {
+        this.metricsPublisher = metricsPublisher;
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return Set.of(ItemCommandEvent.TYPE, ItemStateEvent.TYPE);
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (!metricsPublisher.isEnabled()) {
+            if (!pendingCommands.isEmpty()) {
+                pendingCommands.clear();
+            }
+            return;
+        }
+        if (event instanceof ItemCommandEvent commandEvent) {
+            pendingCommands.put(commandEvent.getItemName(), System.nanoTime());
+        } else if (event instanceof ItemStateEvent stateEvent) {
+            String bindingId = getBindingId(event.getSource());
+            if (bindingId == null) {
+                return;
+            }
+            Map<String, String> tags = bindingTags.computeIfAbsent(bindingId,
+                    id -> Map.of(MetricsPublisher.TAG_BINDING, id));
+            metricsPublisher.increment(MetricsPublisher.BINDING_STATE_UPDATES, tags);
+            Long commandTime = pendingCommands.remove(stateEvent.getItemName());
+            if (commandTime != null) {
+                long duration = System.nanoTime() - commandTime;
+                if (duration <= MAX_RESPONSE_NANOS) {
+                    metricsPublisher.recordDuration(MetricsPublisher.BINDING_COMMAND, tags, duration);
+                }
+            }
+        }
+    }
+
+    private static @Nullable String getBindingId(@Nullable String source) {
+        if (source == null || !source.startsWith(THING_SOURCE_PREFIX)) {
+            return null;
+        }
+        int end = source.indexOf(DELEGATION_SEPARATOR);
+        String channelUID = source.substring(THING_SOURCE_PREFIX.length(), end < 0 ? source.length() : end);
+        int separator = channelUID.indexOf(':');
+        return separator > 0 ? channelUID.substring(0, separator) : null;
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * {@link MetricsPublisher} is the instrumentation service add-ons can publish their own metrics to, e.g. the latency of
+ * a thing handler or the queue depth of a persistence service. It only uses plain Java types, so add-ons do not depend
+ * on Micrometer. The metrics are exported like the core metrics.
+ *
+ * Publishing is opt-in, all methods return without any effect while the instrumentation is disabled in the metrics
+ * service configuration. Callers should check {@link #isEnabled()} before doing any work to measure a value.
+ *
+ * @author Robert Bach - Initial contribution
+ */
+@NonNullByDefault
+public interface MetricsPublisher {
+    /**
+     * Number and duration of commands sent to a binding, until the state of the commanded item is updated by the
+     * binding.
+     */
+    String BINDING_COMMAND = "openhab.binding.command";
+    /** Number of state updates sent by a binding. */
+    String BINDING_STATE_UPDATES = "openhab.binding.state.updates";
+    /** Number and duration of values stored by a persistence service. */
+    String PERSISTENCE_STORE = "openhab.persistence.store";
+    /** Number and duration of queries answered by a persistence service. */
+    String PERSISTENCE_QUERY = "openhab.persistence.query";
+    /** Number of values waiting to be stored by a persistence service. */
+    String PERSISTENCE_QUEUE = "openhab.persistence.queue";
+    /** Number and duration of calls to a transformation service. */
+    String TRANSFORMATION = "openhab.transformation";
+
+    /** Tag with the id of the binding. */
+    String TAG_BINDING = "binding";
+    /** Tag with the id of the persistence or transformation service. */
+    String TAG_SERVICE = "service";
+
+    /**
+     * Returns whether the published metrics are recorded.
+     */
+    boolean isEnabled();
+
+    /**
+     * Increments a counter.
+     *
+     * @param name the name of the counter
+     * @param tags the tags of the counter
+     */
+    void increment(String name, Map<String, String> tags);
+
+    /**
+     * Records the duration of an operation. The recorded durations are published as histogram.
+     *
+     * @param name the name of the timer
+     * @param tags the tags of the timer
+     * @param durationNanos the duration of the operation in nanoseconds
+     */
+    void recordDuration(String name, Map<String, String> tags, long durationNanos);
+
+    /**
+     * Registers a gauge, which publishes the current value of the supplier, e.g. the size of a queue. The gauge is
+     * kept until it is unregistered, even while the instrumentation is disabled.
+     *
+     * @param name the name of the gauge
+     * @param tags the tags of the gauge
+     * @param value supplies the current value
+     */
+    void registerGauge(String name, Map<String, String> tags, Supplier<Number> value);
+
+    /**
+     * Unregisters a gauge.
+     *
+     * @param name the name of the gauge
+     * @param tags the tags of the gauge
+     */
+    void unregisterGauge(String name, Map<String, String> tags);
+}
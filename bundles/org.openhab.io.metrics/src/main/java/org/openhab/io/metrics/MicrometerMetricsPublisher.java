@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.Configuration;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * The {@link MicrometerMetricsPublisher} publishes the metrics of add-ons to the core metrics registry.
+ *
+ * The meters are looked up by name and tags in local maps, so recording a value does not create a meter id each time.
+ * All meters are removed from the registry when the instrumentation is disabled.
+ *
+ * Add-ons which already depend on Micrometer, like the persistence services, register a {@link MeterBinder} service
+ * instead. Its meters are bound to the registry while the instrumentation is enabled, and removed again when the
+ * service is unregistered.
+ *
+ * @author Robert Bach - Initial contribution
+ */
+@Component(configurationPid = "org.openhab.metrics", service = MetricsPublisher.class)
+@NonNullByDefault
+public class MicrometerMetricsPublisher implements MetricsPublisher {
+    private final Logger logger = LoggerFactory.getLogger(MicrometerMetricsPublisher.class);
+
+    private final CompositeMeterRegistry meterRegistry;
+    private final Map<MeterKey, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Supplier<Number>> gaugeSuppliers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Gauge> gauges = new ConcurrentHashMap<>();
+    private final Set<MeterBinder> meterBinders = new HashSet<>();
+    private final Map<MeterBinder, List<Meter>> boundMeters = new HashMap<>();
+    private volatile boolean enabled = false;
+
+    @Activate
+    public MicrometerMetricsPublisher(final @Reference MeterRegistryProvider meterRegistryProvider,
+            Map<@Nullable String, @Nullable Object> configuration) {
+        this.meterRegistry = meterRegistryProvider.getOHMeterRegistry();
+        modified(configuration);
+    }
+
+    @Modified
+    protected synchronized void modified(Map<@Nullable String, @Nullable Object> configuration) {
+        boolean enabled = new Configuration(configuration).as(MetricsConfiguration.class).instrumentationEnabled;
+        if (enabled == this.enabled) {
+            return;
+        }
+        logger.debug("Instrumentation of add-ons {}", enabled ? "enabled" : "disabled");
+        this.enabled = enabled;
+        if (enabled) {
+            gaugeSuppliers.forEach(this::addGauge);
+            meterBinders.forEach(this::bindMeters);
+        } else {
+            removeMeters();
+        }
+    }
+
+    @Deactivate
+    protected synchronized void deactivate() {
+        enabled = false;
+        removeMeters();
+        gaugeSuppliers.clear();
+        meterBinders.clear();
+    }
+
+    @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
+    protected synchronized void addMeterBinder(MeterBinder meterBinder) {
+        meterBinders.add(meterBinder);
+        if (enabled) {
+            bindMeters(meterBinder);
+        }
+    }
+
+    protected synchronized void removeMeterBinder(MeterBinder meterBinder) {
+        meterBinders.remove(meterBinder);
+        unbindMeters(meterBinder);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void increment(String name, Map<String, String> tags) {
+        if (enabled) {
+            counters.computeIfAbsent(new MeterKey(name, tags),
+                    key -> Counter.builder(name).tags(toTags(tags)).register(meterRegistry)).increment();
+        }
+    }
+
+    @Override
+    public void recordDuration(String name, Map<String, String> tags, long durationNanos) {
+        if (enabled) {
+            timers.computeIfAbsent(new MeterKey(name, tags),
+                    key -> Timer.builder(name).tags(toTags(tags)).publishPercentileHistogram().register(meterRegistry))
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void registerGauge(String name, Map<String, String> tags, Supplier<Number> value) {
+        MeterKey key = new MeterKey(name, tags);
+        unregisterGauge(name, tags);
+        gaugeSuppliers.put(key, value);
+        if (enabled) {
+            addGauge(key, value);
+        }
+    }
+
+    @Override
+    public synchronized void unregisterGauge(String name, Map<String, String> tags) {
+        MeterKey key = new MeterKey(name, tags);
+        gaugeSuppliers.remove(key);
+        Gauge gauge = gauges.remove(key);
+        if (gauge != null) {
+            meterRegistry.remove(gauge);
+        }
+    }
+
+    private void addGauge(MeterKey key, Supplier<Number> value) {
+        gauges.put(key, Gauge.builder(key.name, value, supplier -> supplier.get().doubleValue())
+                .tags(toTags(key.tags)).strongReference(true).register(meterRegistry));
+    }
+
+    private void bindMeters(MeterBinder meterBinder) {
+        // a binder cannot remove its meters, so they are identified as the meters added while binding
+        Set<Meter.Id> existing = meterRegistry.getMeters().stream().map(Meter::getId).collect(Collectors.toSet());
+        try {
+            meterBinder.bindTo(meterRegistry);
+        } catch (RuntimeException e) {
+            logger.warn("Binding the metrics of {} failed: {}", meterBinder.getClass().getName(), e.getMessage());
+        }
+        boundMeters.put(meterBinder, meterRegistry.getMeters().stream().filter(m -> !existing.contains(m.getId()))
+                .collect(Collectors.toList()));
+    }
+
+    private void unbindMeters(MeterBinder meterBinder) {
+        List<Meter> meters = boundMeters.remove(meterBinder);
+        if (meters != null) {
+            meters.forEach(meterRegistry::remove);
+        }
+    }
+
+    private void removeMeters() {
+        counters.values().forEach(meterRegistry::remove);
+        counters.clear();
+        timers.values().forEach(meterRegistry::remove);
+        timers.clear();
+        gauges.values().forEach(meterRegistry::remove);
+        gauges.clear();
+        boundMeters.values().forEach(meters -> meters.forEach(meterRegistry::remove));
+        boundMeters.clear();
+    }
+
+    private static Iterable<Tag> toTags(Map<String, String> tags) {
+        Tags result = Tags.empty();
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            result = result.and(tag.getKey(), tag.getValue());
+        }
+        return result;
+    }
+
+    private static class MeterKey {
+        private final String name;
+        private final Map<String, String> tags;
+
+        MeterKey(String name, Map<String, String> tags) {
+            this.name = name;
+            this.tags = Map.copyOf(tags);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MeterKey)) {
+                return false;
+            }
+            MeterKey other = (MeterKey) o;
+            return name.equals(other.name) && tags.equals(other.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, tags);
+        }
+    }
+}
@@ -154,6 +154,21 @@ public class CloudClient {
     protected final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
 
+    /*
+     * Limits the rate of item updates sent to the openHAB Cloud, null if updates are sent immediately
+     */
+    private final @Nullable ItemUpdateQueue itemUpdateQueue;
+
+    /*
+     * Whether compressible responses are gzip compressed for clients accepting it
+     */
+    private final boolean compressResponses;
+
+    /*
+     * Cache of immutable resources requested through the openHAB Cloud, null if disabled
+     */
+    private final @Nullable ProxyResponseCache responseCache;
+
     @SuppressWarnings("null")
     private final AtomicReference<Optional<ScheduledFuture<?>>> reconnectFuture = new AtomicReference<>(
             Optional.empty());
@@ -165,9 +180,14 @@ public class CloudClient {
      * @param secret openHAB's Secret to connect to the openHAB Cloud
      * @param remoteAccessEnabled Allow the openHAB Cloud to be used as a remote proxy
      * @param exposedItems Items that are made available to apps connected to the openHAB Cloud
+     * @param itemUpdateInterval Minimum time between two updates of an exposed item in milliseconds, 0 to send all
+     *            updates immediately
+     * @param compressResponses Compress responses to remote requests, if the client accepts it
+     * @param cacheSize Size of the cache for immutable resources in megabytes, 0 to disable it
      */
     public CloudClient(HttpClient httpClient, String uuid, String secret, String baseURL, String localBaseUrl,
-            boolean remoteAccessEnabled, Set<String> exposedItems) {
+            boolean remoteAccessEnabled, Set<String> exposedItems, int itemUpdateInterval, boolean compressResponses,
+            int cacheSize) {
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
@@ -175,6 +195,11 @@ public class CloudClient {
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
         this.jettyClient = httpClient;
+        this.itemUpdateQueue = itemUpdateInterval > 0
+                ? new ItemUpdateQueue(scheduler, itemUpdateInterval, this::sendItemUpdateInternal)
+                : null;
+        this.compressResponses = compressResponses;
+        this.responseCache = cacheSize > 0 ? new ProxyResponseCache(cacheSize * 1024L * 1024L) : null;
         reconnectBackoff.setMin(RECONNECT_MIN);
         reconnectBackoff.setMax(RECONNECT_MAX);
         reconnectBackoff.setJitter(RECONNECT_JITTER);
@@ -461,12 +486,26 @@ public class CloudClient {
                 request.content(new BytesContentProvider(requestBody.getBytes()));
             }
 
+            boolean compress = compressResponses && acceptsGzip(requestHeadersJson);
+            ProxyResponseCache responseCache = this.responseCache;
+            String cacheKey = responseCache != null && method == HttpMethod.GET && requestBody.isEmpty() ? newPath
+                    : null;
+            if (responseCache != null && cacheKey != null) {
+                ProxyResponseCache.Entry cachedResponse = responseCache.get(cacheKey);
+                if (cachedResponse != null) {
+                    sendCachedResponse(requestId, cachedResponse, compress);
+                    return;
+                }
+            }
+            ProxiedResponse proxiedResponse = new ProxiedResponse(compress, responseCache, cacheKey);
+
             request.onResponseHeaders(response -> {
                 logger.debug("onHeaders {}", requestId);
                 JSONObject responseJson = new JSONObject();
                 try {
                     responseJson.put("id", requestId);
-                    responseJson.put("headers", getJSONHeaders(response.getHeaders()));
+                    responseJson.put("headers",
+                            proxiedResponse.headers(response.getStatus(), getJSONHeaders(response.getHeaders())));
                     responseJson.put("responseStatusCode", response.getStatus());
                     responseJson.put("responseStatusText", "OK");
                     socket.emit("responseHeader", responseJson);
@@ -477,18 +516,11 @@ public class CloudClient {
                 }
             }).onResponseContent((theResponse, content) -> {
                 logger.debug("onResponseContent: {}, content size {}", requestId, String.valueOf(content.remaining()));
-                JSONObject responseJson = new JSONObject();
-                try {
-                    responseJson.put("id", requestId);
-                    responseJson.put("body", BufferUtil.toArray(content));
-                    if (logger.isTraceEnabled()) {
-                        logger.trace("{}", StandardCharsets.UTF_8.decode(content).toString());
-                    }
-                    socket.emit("responseContentBinary", responseJson);
-                    logger.trace("Sent content to request {}", requestId);
-                } catch (JSONException e) {
-                    logger.debug("{}", e.getMessage());
+                byte[] body = proxiedResponse.content(BufferUtil.toArray(content));
+                if (logger.isTraceEnabled()) {
+                    logger.trace("{}", StandardCharsets.UTF_8.decode(content).toString());
                 }
+                sendResponseContent(requestId, body);
             }).onRequestFailure((origRequest, failure) -> {
                 logger.debug("onRequestFailure: {},  {}", requestId, failure.getMessage());
                 JSONObject responseJson = new JSONObject();
@@ -515,14 +547,8 @@ public class CloudClient {
                         logger.debug("Response Failure: {}", result.getResponseFailure().getMessage());
                     }
                 }
-                JSONObject responseJson = new JSONObject();
-                try {
-                    responseJson.put("id", requestId);
-                    socket.emit("responseFinished", responseJson);
-                    logger.debug("Finished responding to request {}", requestId);
-                } catch (JSONException e) {
-                    logger.debug("{}", e.getMessage());
-                }
+                sendResponseContent(requestId, proxiedResponse.finish(result != null && !result.isFailed()));
+                sendResponseFinished(requestId);
             });
 
             // If successfully submitted request to http client, add it to the list of currently
@@ -533,6 +559,55 @@ public class CloudClient {
         }
     }
 
+    private void sendCachedResponse(int requestId, ProxyResponseCache.Entry cachedResponse, boolean compress) {
+        logger.debug("Answering request {} from cache", requestId);
+        ProxiedResponse proxiedResponse = new ProxiedResponse(compress, null, null);
+        JSONObject responseJson = new JSONObject();
+        try {
+            responseJson.put("id", requestId);
+            responseJson.put("headers", proxiedResponse.headers(cachedResponse.status, cachedResponse.headers));
+            responseJson.put("responseStatusCode", cachedResponse.status);
+            responseJson.put("responseStatusText", "OK");
+            socket.emit("responseHeader", responseJson);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+        sendResponseContent(requestId, proxiedResponse.content(cachedResponse.body));
+        sendResponseContent(requestId, proxiedResponse.finish(true));
+        sendResponseFinished(requestId);
+    }
+
+    private void sendResponseContent(int requestId, byte[] body) {
+        if (body.length == 0) {
+            return;
+        }
+        JSONObject responseJson = new JSONObject();
+        try {
+            responseJson.put("id", requestId);
+            responseJson.put("body", body);
+            socket.emit("responseContentBinary", responseJson);
+            logger.trace("Sent content to request {}", requestId);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
+    private void sendResponseFinished(int requestId) {
+        JSONObject responseJson = new JSONObject();
+        try {
+            responseJson.put("id", requestId);
+            socket.emit("responseFinished", responseJson);
+            logger.debug("Finished responding to request {}", requestId);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
+    private boolean acceptsGzip(JSONObject requestHeadersJson) {
+        String acceptEncoding = ProxiedResponse.getHeader(requestHeadersJson, "Accept-Encoding");
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
     private void setRequestHeaders(Request request, JSONObject requestHeadersJson) {
         Iterator<String> headersIterator = requestHeadersJson.keys();
         // Convert JSONObject of headers into Header ArrayList
@@ -758,13 +833,23 @@ public class CloudClient {
     }
 
     /**
-     * Send item update to openHAB Cloud
+     * Send item update to openHAB Cloud. If an update interval is configured, the update is queued and only the latest
+     * update of the item within the interval is sent.
      *
      * @param itemName the name of the item
      * @param itemState updated item state
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
+        ItemUpdateQueue itemUpdateQueue = this.itemUpdateQueue;
+        if (itemUpdateQueue != null) {
+            itemUpdateQueue.add(itemName, itemState);
+        } else {
+            sendItemUpdateInternal(itemName, itemState);
+        }
+    }
+
+    private void sendItemUpdateInternal(String itemName, String itemState) {
         if (isConnected()) {
             logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
             JSONObject itemUpdateMessage = new JSONObject();
@@ -793,6 +878,14 @@ public class CloudClient {
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
         reconnectFuture.get().ifPresent(future -> future.cancel(true));
+        ItemUpdateQueue itemUpdateQueue = this.itemUpdateQueue;
+        if (itemUpdateQueue != null) {
+            itemUpdateQueue.clear();
+        }
+        ProxyResponseCache responseCache = this.responseCache;
+        if (responseCache != null) {
+            responseCache.clear();
+        }
         socket.disconnect();
     }
 
@@ -15,6 +15,7 @@ package org.openhab.io.openhabcloud.internal;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Arrays;
@@ -76,6 +77,11 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_ITEM_UPDATE_INTERVAL = "itemUpdateInterval";
+    private static final int DEFAULT_ITEM_UPDATE_INTERVAL = 1000;
+    private static final String CFG_COMPRESSION = "compression";
+    private static final String CFG_CACHE_SIZE = "cacheSize";
+    private static final int DEFAULT_CACHE_SIZE = 8;
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
     private static final int DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS = 200;
@@ -93,6 +99,9 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
     private boolean remoteAccessEnabled = true;
     private Set<String> exposedItems = null;
+    private int itemUpdateInterval = DEFAULT_ITEM_UPDATE_INTERVAL;
+    private boolean compression = false;
+    private int cacheSize = DEFAULT_CACHE_SIZE;
     private int localPort;
 
     @Activate
@@ -296,6 +305,10 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
             }
         }
 
+        itemUpdateInterval = getIntConfig(config, CFG_ITEM_UPDATE_INTERVAL, DEFAULT_ITEM_UPDATE_INTERVAL);
+        compression = Boolean.parseBoolean(String.valueOf(config.get(CFG_COMPRESSION)));
+        cacheSize = getIntConfig(config, CFG_CACHE_SIZE, DEFAULT_CACHE_SIZE);
+
         logger.debug("UUID = {}, secret = {}", censored(InstanceUUID.get()), censored(getSecret()));
 
         if (cloudClient != null) {
@@ -314,12 +327,24 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
         String localBaseUrl = "http://localhost:" + localPort;
         cloudClient = new CloudClient(httpClient, InstanceUUID.get(), getSecret(), cloudBaseUrl, localBaseUrl,
-                remoteAccessEnabled, exposedItems);
+                remoteAccessEnabled, exposedItems, itemUpdateInterval, compression, cacheSize);
         cloudClient.connect();
         cloudClient.setListener(this);
         NotificationAction.cloudService = this;
     }
 
+    private int getIntConfig(Map<String, ?> config, String name, int defaultValue) {
+        Object value = config.get(name);
+        if (value != null) {
+            try {
+                return Math.max(0, new BigDecimal(value.toString()).intValue());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for {}, using {}", value, name, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     @Override
     public String getActionClassName() {
         return NotificationAction.class.getCanonicalName();
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queues item updates to be sent to the openHAB Cloud, so that the updates of each item are sent at most once per
+ * interval.
+ *
+ * Only the latest state of an item is kept while its update is waiting to be sent, prior states are dropped. All
+ * updates which are due at the same time are sent together. Updates of items which have not been sent within the
+ * interval are sent without delay.
+ *
+ * @author Victor Belov - Initial contribution
+ */
+@NonNullByDefault
+public class ItemUpdateQueue {
+    private final Logger logger = LoggerFactory.getLogger(ItemUpdateQueue.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final long intervalNanos;
+    private final BiConsumer<String, String> sender;
+
+    // item name -> latest state, in the order of the first update
+    private final Map<String, String> pendingUpdates = new LinkedHashMap<>();
+    // item name -> time the last update has been sent
+    private final Map<String, Long> lastSent = new HashMap<>();
+    private @Nullable ScheduledFuture<?> flushJob;
+    // time the scheduled flush is due
+    private long flushDue;
+    // identifies the latest scheduled flush, as a replaced flush may already be running when it is cancelled
+    private long flushGeneration;
+
+    /**
+     * @param scheduler the scheduler sending the updates
+     * @param intervalMillis the minimum time between two updates of an item in milliseconds
+     * @param sender sends the update of an item with its state
+     */
+    public ItemUpdateQueue(ScheduledExecutorService scheduler, long intervalMillis, BiConsumer<String, String> sender) {
+        this.scheduler = scheduler;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.sender = sender;
+    }
+
+    /**
+     * Queues the update of an item, replacing an update of the item which has not been sent yet.
+     *
+     * @param itemName the name of the item
+     * @param itemState the updated state
+     */
+    public synchronized void add(String itemName, String itemState) {
+        if (pendingUpdates.put(itemName, itemState) != null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long delay = remainingInterval(itemName, now);
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob == null) {
+            scheduleFlush(now, delay);
+        } else if (now + delay - flushDue < 0) {
+            // the update is due before the scheduled flush
+            flushJob.cancel(false);
+            scheduleFlush(now, delay);
+        }
+    }
+
+    /**
+     * Drops all queued updates.
+     */
+    public synchronized void clear() {
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        flushGeneration++;
+        pendingUpdates.clear();
+        lastSent.clear();
+    }
+
+    // time until the next update of an item may be sent
+    private long remainingInterval(String itemName, long now) {
+        Long sent = lastSent.get(itemName);
+        return sent == null ? 0 : Math.max(0, sent + intervalNanos - now);
+    }
+
+    private void scheduleFlush(long now, long delayNanos) {
+        flushDue = now + delayNanos;
+        long generation = ++flushGeneration;
+        flushJob = scheduler.schedule(() -> flush(generation), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void flush(long generation) {
+        List<Entry<String, String>> dueUpdates = new ArrayList<>();
+        synchronized (this) {
+            if (generation != flushGeneration) {
+                // replaced by another flush
+                return;
+            }
+            flushJob = null;
+            long now = System.nanoTime();
+            long nextDue = Long.MAX_VALUE;
+            Iterator<Entry<String, String>> iterator = pendingUpdates.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry<String, String> update = iterator.next();
+                long remaining = remainingInterval(update.getKey(), now);
+                if (remaining == 0) {
+                    dueUpdates.add(Map.entry(update.getKey(), update.getValue()));
+                    lastSent.put(update.getKey(), now);
+                    iterator.remove();
+                } else {
+                    nextDue = Math.min(nextDue, remaining);
+                }
+            }
+            // items not sent within the interval are sent without delay anyway
+            lastSent.values().removeIf(sent -> now - sent >= intervalNanos);
+            if (!pendingUpdates.isEmpty()) {
+                scheduleFlush(now, nextDue);
+            }
+        }
+        logger.trace("Sending {} item updates", dueUpdates.size());
+        for (Entry<String, String> update : dueUpdates) {
+            sender.accept(update.getKey(), update.getValue());
+        }
+    }
+}
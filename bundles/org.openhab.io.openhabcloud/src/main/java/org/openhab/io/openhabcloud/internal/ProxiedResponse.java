@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.json.JSONObject;
+
+/**
+ * Transforms a response of the local HTTP server while it is streamed to the openHAB Cloud.
+ *
+ * If enabled and accepted by the client, the body of uncompressed text content is gzip compressed on the fly. Each
+ * chunk is flushed, so the client receives the content as soon as it is available. If the response may be cached, its
+ * body is collected and added to the {@link ProxyResponseCache} when complete.
+ *
+ * @author Victor Belov - Initial contribution
+ */
+@NonNullByDefault
+public class ProxiedResponse {
+    private static final Set<String> COMPRESSIBLE_TYPES = Set.of("application/javascript", "application/json",
+            "application/manifest+json", "application/x-javascript", "application/xml", "image/svg+xml");
+    private static final byte[] EMPTY = new byte[0];
+
+    private final boolean compress;
+    private final @Nullable ProxyResponseCache cache;
+    private final @Nullable String cacheKey;
+
+    private final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    private @Nullable GZIPOutputStream gzip;
+
+    private @Nullable ByteArrayOutputStream cachedBody;
+    private int status;
+    private @Nullable JSONObject cachedHeaders;
+
+    /**
+     * @param compress whether compressible content may be compressed, i.e. compression is enabled and the client
+     *            accepts gzip encoded content
+     * @param cache the cache for immutable resources, null if disabled
+     * @param cacheKey the URI the response is cached with, null if the response must not be cached
+     */
+    public ProxiedResponse(boolean compress, @Nullable ProxyResponseCache cache, @Nullable String cacheKey) {
+        this.compress = compress;
+        this.cache = cache;
+        this.cacheKey = cacheKey;
+    }
+
+    /**
+     * Processes the response headers.
+     *
+     * @param status the status code of the response
+     * @param headers the response headers
+     * @return the headers to be sent to the client
+     */
+    public JSONObject headers(int status, JSONObject headers) {
+        ProxyResponseCache cache = this.cache;
+        if (cache != null && cacheKey != null && ProxyResponseCache.isCacheable(status, headers)
+                && cache.fits(contentLength(headers))) {
+            this.status = status;
+            this.cachedHeaders = new JSONObject(headers.toString());
+            this.cachedBody = new ByteArrayOutputStream();
+        }
+
+        if (!compress || status != 200 || getHeader(headers, "Content-Encoding") != null
+                || !isCompressible(getHeader(headers, "Content-Type"))) {
+            return headers;
+        }
+        try {
+            gzip = new GZIPOutputStream(compressed, true);
+        } catch (IOException e) {
+            // cannot happen, the stream writes to memory
+            throw new UncheckedIOException(e);
+        }
+        JSONObject encodedHeaders = new JSONObject(headers.toString());
+        removeHeader(encodedHeaders, "Content-Length");
+        encodedHeaders.put("Content-Encoding", "gzip");
+        String vary = removeHeader(encodedHeaders, "Vary");
+        encodedHeaders.put("Vary", vary == null ? "Accept-Encoding" : vary + ", Accept-Encoding");
+        return encodedHeaders;
+    }
+
+    /**
+     * Processes a chunk of the response body.
+     *
+     * @param content the chunk received from the local HTTP server
+     * @return the chunk to be sent to the client, may be empty
+     */
+    public byte[] content(byte[] content) {
+        ByteArrayOutputStream cachedBody = this.cachedBody;
+        if (cachedBody != null) {
+            if (cache != null && cache.fits(cachedBody.size() + content.length)) {
+                cachedBody.write(content, 0, content.length);
+            } else {
+                this.cachedBody = null;
+            }
+        }
+
+        GZIPOutputStream gzip = this.gzip;
+        if (gzip == null) {
+            return content;
+        }
+        try {
+            gzip.write(content);
+            gzip.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] result = compressed.toByteArray();
+        compressed.reset();
+        return result;
+    }
+
+    /**
+     * Completes the response.
+     *
+     * @param success whether the complete response has been received
+     * @return the last chunk to be sent to the client, may be empty
+     */
+    public byte[] finish(boolean success) {
+        ProxyResponseCache cache = this.cache;
+        ByteArrayOutputStream cachedBody = this.cachedBody;
+        JSONObject cachedHeaders = this.cachedHeaders;
+        String cacheKey = this.cacheKey;
+        if (success && cache != null && cachedBody != null && cachedHeaders != null && cacheKey != null) {
+            cache.put(cacheKey, new ProxyResponseCache.Entry(status, cachedHeaders, cachedBody.toByteArray()));
+        }
+
+        GZIPOutputStream gzip = this.gzip;
+        if (gzip == null) {
+            return EMPTY;
+        }
+        try {
+            gzip.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.gzip = null;
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Returns the value of a header, ignoring the case of its name.
+     */
+    public static @Nullable String getHeader(JSONObject headers, String name) {
+        for (String key : headers.keySet()) {
+            if (key.equalsIgnoreCase(name)) {
+                return headers.optString(key, null);
+            }
+        }
+        return null;
+    }
+
+    private static @Nullable String removeHeader(JSONObject headers, String name) {
+        Iterator<String> keys = headers.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (key.equalsIgnoreCase(name)) {
+                String value = headers.optString(key, null);
+                keys.remove();
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static long contentLength(JSONObject headers) {
+        String contentLength = getHeader(headers, "Content-Length");
+        if (contentLength != null) {
+            try {
+                return Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException e) {
+                // unknown length
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isCompressible(@Nullable String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String mimeType = contentType.split(";", 2)[0].trim().toLowerCase();
+        return mimeType.startsWith("text/") || COMPRESSIBLE_TYPES.contains(mimeType);
+    }
+}
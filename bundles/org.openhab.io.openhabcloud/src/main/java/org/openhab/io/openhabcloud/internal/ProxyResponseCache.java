@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.json.JSONObject;
+
+/**
+ * Keeps the most recently requested immutable resources, like the hashed script and style files of the UIs, so that
+ * repeated remote requests for them are answered without proxying them through the local HTTP server again.
+ *
+ * Only complete responses to GET requests, which are marked as immutable and not private, are cached. The least
+ * recently used responses are dropped, when the total size of all cached bodies exceeds the limit.
+ *
+ * @author Victor Belov - Initial contribution
+ */
+@NonNullByDefault
+public class ProxyResponseCache {
+
+    /**
+     * A cached response.
+     */
+    public static class Entry {
+        public final int status;
+        public final JSONObject headers;
+        public final byte[] body;
+
+        Entry(int status, JSONObject headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxSize;
+    private long size;
+
+    /**
+     * @param maxSize the maximum total size of all cached bodies in bytes
+     */
+    public ProxyResponseCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Checks whether a response may be cached, based on its headers.
+     *
+     * @param status the status code of the response
+     * @param headers the response headers
+     */
+    public static boolean isCacheable(int status, JSONObject headers) {
+        String cacheControl = ProxiedResponse.getHeader(headers, "Cache-Control");
+        if (status != 200 || cacheControl == null) {
+            return false;
+        }
+        cacheControl = cacheControl.toLowerCase();
+        return cacheControl.contains("immutable") && !cacheControl.contains("private")
+                && !cacheControl.contains("no-store") && ProxiedResponse.getHeader(headers, "Set-Cookie") == null
+                && ProxiedResponse.getHeader(headers, "Content-Encoding") == null;
+    }
+
+    public synchronized @Nullable Entry get(String uri) {
+        return entries.get(uri);
+    }
+
+    /**
+     * Adds a response, if it is small enough to be cached.
+     *
+     * @param uri the requested URI
+     * @param entry the complete response
+     */
+    public synchronized void put(String uri, Entry entry) {
+        if (!fits(entry.body.length)) {
+            return;
+        }
+        Entry replaced = entries.put(uri, entry);
+        if (replaced != null) {
+            size -= replaced.body.length;
+        }
+        size += entry.body.length;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().body.length;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Returns whether a response of the given size may be cached. A single response may use a quarter of the cache.
+     */
+    public boolean fits(long length) {
+        return length <= maxSize / 4;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+}
@@ -49,6 +49,8 @@ public class DynamoDBConfig {
     public static final String DEFAULT_TABLE_NAME = "openhab";
     public static final long DEFAULT_READ_CAPACITY_UNITS = 1;
     public static final long DEFAULT_WRITE_CAPACITY_UNITS = 1;
+    public static final int DEFAULT_WRITE_QUEUE_SIZE = 10000;
+    public static final long DEFAULT_WRITE_FLUSH_INTERVAL = 1000;
     private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDBConfig.class);
 
     private long readCapacityUnits;
@@ -60,6 +62,8 @@ public class DynamoDBConfig {
     private String table;
     private String tablePrefixLegacy;
     private @Nullable Integer expireDays;
+    private int writeQueueSize = DEFAULT_WRITE_QUEUE_SIZE;
+    private long writeFlushInterval = DEFAULT_WRITE_FLUSH_INTERVAL;
 
     /**
      *
@@ -168,25 +172,50 @@ public class DynamoDBConfig {
                 }
             }
 
+            final int writeQueueSize;
+            String writeQueueSizeParam = (String) config.get("writeQueueSize");
+            if (writeQueueSizeParam == null || writeQueueSizeParam.isBlank()) {
+                writeQueueSize = DEFAULT_WRITE_QUEUE_SIZE;
+            } else {
+                writeQueueSize = Integer.parseInt(writeQueueSizeParam);
+            }
+
+            final long writeFlushInterval;
+            String writeFlushIntervalParam = (String) config.get("writeFlushInterval");
+            if (writeFlushIntervalParam == null || writeFlushIntervalParam.isBlank()) {
+                writeFlushInterval = DEFAULT_WRITE_FLUSH_INTERVAL;
+            } else {
+                writeFlushInterval = Long.parseLong(writeFlushIntervalParam);
+            }
+
+            final DynamoDBConfig dbConfig;
             switch (tableRevision) {
                 case NEW:
                     LOGGER.debug("Using new DynamoDB table schema");
-                    return DynamoDBConfig.newSchema(region, credentials, retryMode.map(AwsRetryPolicy::forRetryMode),
-                            table, readCapacityUnits, writeCapacityUnits, expireDays);
+                    dbConfig = DynamoDBConfig.newSchema(region, credentials,
+                            retryMode.map(AwsRetryPolicy::forRetryMode), table, readCapacityUnits, writeCapacityUnits,
+                            expireDays);
+                    break;
                 case LEGACY:
                     LOGGER.warn(
                             "Using legacy DynamoDB table schema. It is recommended to transition to new schema by defining 'table' parameter and not configuring 'tablePrefix'");
-                    return DynamoDBConfig.legacySchema(region, credentials, retryMode.map(AwsRetryPolicy::forRetryMode),
-                            tablePrefixLegacy, readCapacityUnits, writeCapacityUnits);
+                    dbConfig = DynamoDBConfig.legacySchema(region, credentials,
+                            retryMode.map(AwsRetryPolicy::forRetryMode), tablePrefixLegacy, readCapacityUnits,
+                            writeCapacityUnits);
+                    break;
                 case MAYBE_LEGACY:
                     LOGGER.debug(
                             "Unclear whether we should use new legacy DynamoDB table schema. It is recommended to explicitly define new 'table' parameter. The correct table schema will be detected at runtime.");
-                    return DynamoDBConfig.maybeLegacySchema(region, credentials,
+                    dbConfig = DynamoDBConfig.maybeLegacySchema(region, credentials,
                             retryMode.map(AwsRetryPolicy::forRetryMode), table, tablePrefixLegacy, readCapacityUnits,
                             writeCapacityUnits, expireDays);
+                    break;
                 default:
                     throw new IllegalStateException("Unhandled enum. Bug");
             }
+            dbConfig.writeQueueSize = writeQueueSize;
+            dbConfig.writeFlushInterval = writeFlushInterval;
+            return dbConfig;
         } catch (Exception e) {
             LOGGER.error("Error with configuration: {} {}", e.getClass().getSimpleName(), e.getMessage());
             return null;
@@ -263,4 +292,12 @@ public class DynamoDBConfig {
     public @Nullable Integer getExpireDays() {
         return expireDays;
     }
+
+    public int getWriteQueueSize() {
+        return writeQueueSize;
+    }
+
+    public long getWriteFlushInterval() {
+        return writeFlushInterval;
+    }
 }
@@ -17,8 +17,10 @@ import java.net.URI;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -62,6 +64,8 @@ import org.reactivestreams.Subscriber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
 import software.amazon.awssdk.awscore.defaultsmode.DefaultsMode;
@@ -72,7 +76,10 @@ import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
 import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
@@ -92,11 +99,37 @@ import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
  *
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class,
-        QueryablePersistenceService.class }, configurationPid = "org.openhab.dynamodb", //
+@Component(service = { PersistenceService.class, QueryablePersistenceService.class,
+        MeterBinder.class }, configurationPid = "org.openhab.dynamodb", //
         property = Constants.SERVICE_PID + "=org.openhab.dynamodb")
 @ConfigurableService(category = "persistence", label = "DynamoDB Persistence Service", description_uri = DynamoDBPersistenceService.CONFIG_URI)
-public class DynamoDBPersistenceService implements QueryablePersistenceService {
+public class DynamoDBPersistenceService implements QueryablePersistenceService, MeterBinder {
+
+    /**
+     * Item waiting in the write queue, together with the table it is written to
+     */
+    record PendingWrite<T extends DynamoDBItem<?>>(T dto, DynamoDbAsyncTable<T> table) {
+
+        String key() {
+            return table.tableName() + "/" + dto.getName() + "/" + dto.getTime().toInstant().toEpochMilli();
+        }
+
+        WriteBatch toWriteBatch(List<PendingWrite<?>> writes) {
+            Class<T> itemClass = table.tableSchema().itemType().rawClass();
+            WriteBatch.Builder<T> builder = WriteBatch.builder(itemClass).mappedTableResource(table);
+            writes.forEach(write -> builder.addPutItem(itemClass.cast(write.dto())));
+            return builder.build();
+        }
+
+        List<PendingWrite<?>> unprocessed(BatchWriteResult result) {
+            return result.unprocessedPutItemsForTable(table).stream()
+                    .<PendingWrite<?>> map(unprocessed -> new PendingWrite<>(unprocessed, table)).toList();
+        }
+
+        CompletableFuture<Void> putItemAsync(DynamoDBPersistenceService service) {
+            return new TableCreatingPutItem<>(service, dto, table).putItemAsync();
+        }
+    }
 
     private static final int MAX_CONCURRENCY = 100;
 
@@ -119,6 +152,8 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             2);
 
     private @Nullable URI endpointOverride;
+    private @Nullable DynamoDBWriteQueue<PendingWrite<?>> writeQueue;
+    private final PersistenceMetrics metrics = new PersistenceMetrics("dynamodb", this::getQueueSize);
 
     void overrideConfig(AwsRequestOverrideConfiguration.Builder config) {
         config.apiCallAttemptTimeout(TIMEOUT_API_CALL_ATTEMPT).apiCallTimeout(TIMEOUT_API_CALL);
@@ -197,6 +232,8 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             return;
         }
 
+        writeQueue = new DynamoDBWriteQueue<>(localDbConfig.getWriteQueueSize(),
+                localDbConfig.getWriteFlushInterval(), this::writeBatch);
         isProperlyConfigured = true;
         logger.debug("dynamodb persistence service activated");
     }
@@ -316,6 +353,12 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     }
 
     private void disconnect() {
+        DynamoDBWriteQueue<PendingWrite<?>> localWriteQueue = writeQueue;
+        if (localWriteQueue != null) {
+            // write pending items while the client is still open
+            localWriteQueue.close();
+            writeQueue = null;
+        }
         DynamoDbAsyncClient localLowLevelClient = lowLevelClient;
         if (client == null || localLowLevelClient == null) {
             return;
@@ -444,8 +487,9 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
                     logger.trace("Dynamo item {} converted to historic item: {}", localItem, historicItem);
                     return historicItem;
                 }).filter(value -> value != null).collect(Collectors.toList());
-                logger.debug("Query completed in {} ms. Filter was {}",
-                        Duration.between(start, Instant.now()).toMillis(), filterDescription);
+                Duration queryDuration = Duration.between(start, Instant.now());
+                metrics.recordQuery(queryDuration.toNanos());
+                logger.debug("Query completed in {} ms. Filter was {}", queryDuration.toMillis(), filterDescription);
                 return results;
             } catch (InterruptedException e) {
                 logger.warn("Query interrupted. Filter was {}", filterDescription);
@@ -540,8 +584,9 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             DynamoDbAsyncClient localLowlevelClient = lowLevelClient;
             DynamoDBConfig localConfig = dbConfig;
             DynamoDBTableNameResolver localTableNameResolver = tableNameResolver;
+            DynamoDBWriteQueue<PendingWrite<?>> localWriteQueue = writeQueue;
             if (!isProperlyConfigured || localClient == null || localLowlevelClient == null || localConfig == null
-                    || localTableNameResolver == null) {
+                    || localTableNameResolver == null || localWriteQueue == null) {
                 logger.warn("Not ready to store (config error?), not storing item {}.", item.getName());
                 return;
             }
@@ -561,27 +606,85 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             }
             logger.trace("store() called with item {} {} '{}', which was converted to DTO {}",
                     copiedItem.getClass().getSimpleName(), effectiveName, copiedItem.getState(), dto);
-            dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
+            PendingWrite<?> write = dto.accept(new DynamoDBItemVisitor<PendingWrite<?>>() {
 
                 @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(
-                        DynamoDBBigDecimalItem dynamoBigDecimalItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoBigDecimalItem,
-                            getTable(DynamoDBBigDecimalItem.class));
+                public PendingWrite<?> visit(DynamoDBBigDecimalItem dynamoBigDecimalItem) {
+                    return new PendingWrite<>(dynamoBigDecimalItem, getTable(DynamoDBBigDecimalItem.class));
                 }
 
                 @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBStringItem dynamoStringItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoStringItem,
-                            getTable(DynamoDBStringItem.class));
+                public PendingWrite<?> visit(DynamoDBStringItem dynamoStringItem) {
+                    return new PendingWrite<>(dynamoStringItem, getTable(DynamoDBStringItem.class));
                 }
-            }).putItemAsync();
+            });
+            if (!localWriteQueue.add(write)) {
+                logger.debug("Write queue full, not storing item {}.", copiedItem.getName());
+            }
         }, executor).exceptionally(e -> {
             logger.error("Unexcepted error", e);
             return null;
         });
     }
 
+    /**
+     * Writes a batch of queued items with a single BatchWriteItem request.
+     *
+     * If a table does not exist yet, the items are written one by one, creating the table with the first item.
+     *
+     * @param batch the items to write, at most 25
+     * @return the items not processed by DynamoDB
+     */
+    private List<PendingWrite<?>> writeBatch(List<PendingWrite<?>> batch)
+            throws InterruptedException, ExecutionException {
+        DynamoDbEnhancedAsyncClient localClient = client;
+        if (localClient == null) {
+            throw new IllegalStateException("Client not ready");
+        }
+        // a request must not contain two items with the same key, the latest one wins
+        Map<String, PendingWrite<?>> unique = new LinkedHashMap<>();
+        batch.forEach(write -> unique.put(write.key(), write));
+        Map<String, List<PendingWrite<?>>> byTable = unique.values().stream().collect(
+                Collectors.groupingBy(write -> write.table().tableName(), LinkedHashMap::new, Collectors.toList()));
+
+        BatchWriteItemEnhancedRequest.Builder request = BatchWriteItemEnhancedRequest.builder();
+        byTable.values().forEach(writes -> request.addWriteBatch(writes.get(0).toWriteBatch(writes)));
+        Instant start = Instant.now();
+        try {
+            BatchWriteResult result = localClient.batchWriteItem(request.build()).get();
+            List<PendingWrite<?>> unprocessed = new ArrayList<>();
+            byTable.values().forEach(writes -> unprocessed.addAll(writes.get(0).unprocessed(result)));
+            Duration writeDuration = Duration.between(start, Instant.now());
+            metrics.recordStore(writeDuration.toNanos());
+            logger.trace("BatchWriteItem: {} items written in {} ms, {} unprocessed", unique.size(),
+                    writeDuration.toMillis(), unprocessed.size());
+            return unprocessed;
+        } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof ResourceNotFoundException)) {
+                throw e;
+            }
+            logger.trace("BatchWriteItem: table not present. Writing items one by one, creating the table first");
+            for (PendingWrite<?> write : unique.values()) {
+                try {
+                    write.putItemAsync(this).get();
+                } catch (ExecutionException putException) {
+                    // logged already
+                }
+            }
+            return List.of();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        metrics.bindTo(registry);
+    }
+
+    private int getQueueSize() {
+        DynamoDBWriteQueue<PendingWrite<?>> localWriteQueue = writeQueue;
+        return localWriteQueue != null ? localWriteQueue.getQueueSize() : 0;
+    }
+
     private Item getEffectiveItem(Item item) {
         final Item effectiveItem;
         if (item instanceof GroupItem groupItem) {
@@ -659,16 +762,23 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
 
     private void logIfManyQueuedTasks() {
         if (executor instanceof ThreadPoolExecutor localExecutor) {
-            if (localExecutor.getQueue().size() >= 5) {
-                logger.trace("executor queue size: {}, remaining space {}. Active threads {}",
-                        localExecutor.getQueue().size(), localExecutor.getQueue().remainingCapacity(),
-                        localExecutor.getActiveCount());
-            } else if (localExecutor.getQueue().size() >= 50) {
+            if (localExecutor.getQueue().size() >= 50) {
                 logger.warn(
                         "Many ({}) tasks queued in executor! This might be sign of bad design or bug in the addon code.",
                         localExecutor.getQueue().size());
+            } else if (localExecutor.getQueue().size() >= 5) {
+                logger.trace("executor queue size: {}, remaining space {}. Active threads {}",
+                        localExecutor.getQueue().size(), localExecutor.getQueue().remainingCapacity(),
+                        localExecutor.getActiveCount());
             }
         }
+        DynamoDBWriteQueue<PendingWrite<?>> localWriteQueue = writeQueue;
+        if (localWriteQueue != null && logger.isTraceEnabled()) {
+            logger.trace("write queue size: {}, written {} items with {} requests, throttled {}, dropped {}, failed {}",
+                    localWriteQueue.getQueueSize(), localWriteQueue.getWrittenCount(),
+                    localWriteQueue.getRequestCount(), localWriteQueue.getThrottledCount(),
+                    localWriteQueue.getDroppedCount(), localWriteQueue.getFailedCount());
+        }
     }
 
     private String filterToString(FilterCriteria filter) {
@@ -0,0 +1,293 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.RequestLimitExceededException;
+
+/**
+ * Bounded write queue in front of DynamoDB. A single writer thread collects queued items into batches of at most
+ * {@link #MAX_BATCH_SIZE} items, the limit of a BatchWriteItem request. A batch is written once it is full, or once
+ * the flush interval has elapsed since its first item was taken.
+ *
+ * Items reported back as unprocessed by DynamoDB are retried with the next batch. While DynamoDB throttles requests
+ * or leaves items unprocessed, the writer waits between requests, doubling the delay each time up to
+ * {@link #MAX_BACKOFF_MILLIS}. The delay is halved again with each fully processed batch.
+ *
+ * Items waiting to be retried count against the size of the queue. Items arriving while the queue is full are dropped
+ * and counted. If there is no room for items to be retried, the oldest of them are dropped.
+ *
+ * @author Sami Salonen - Initial contribution
+ */
+@NonNullByDefault
+public class DynamoDBWriteQueue<E> {
+
+    /**
+     * Writes a batch of items.
+     */
+    @FunctionalInterface
+    public interface BatchWriter<E> {
+        /**
+         * @param batch the items to write
+         * @return the items that have not been processed and should be retried
+         * @throws Exception when the request failed, throttling is detected from the exception type
+         */
+        List<E> write(List<E> batch) throws Exception;
+    }
+
+    public static final int MAX_BATCH_SIZE = 25;
+    static final long MIN_BACKOFF_MILLIS = 50;
+    static final long MAX_BACKOFF_MILLIS = 20000;
+    private static final long IDLE_POLL_MILLIS = 500;
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(IDLE_POLL_MILLIS);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(DynamoDBWriteQueue.class);
+
+    private final int capacity;
+    private final BlockingQueue<E> queue;
+    // items to retry, only accessed by the writer thread
+    private final Deque<E> retries = new ArrayDeque<>();
+    private volatile int retryCount = 0;
+    private final BatchWriter<E> batchWriter;
+    private final long flushIntervalNanos;
+    private final ExecutorService writer;
+    private volatile boolean running = true;
+    private long backoffMillis = 0;
+
+    private final AtomicBoolean full = new AtomicBoolean(false);
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong throttledCount = new AtomicLong();
+
+    /**
+     * Creates the queue and starts its writer thread.
+     *
+     * @param queueSize maximum number of items waiting to be written, further items are dropped
+     * @param flushInterval maximum time in milliseconds an item waits for further items to fill its batch
+     * @param batchWriter writes a batch to the database
+     */
+    public DynamoDBWriteQueue(int queueSize, long flushInterval, BatchWriter<E> batchWriter) {
+        this.capacity = Math.max(1, queueSize);
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, flushInterval));
+        this.batchWriter = batchWriter;
+        this.writer = Executors.newSingleThreadExecutor(new NamedThreadFactory("dynamodb-writer"));
+        this.writer.execute(this::run);
+    }
+
+    /**
+     * Adds an item to the queue.
+     *
+     * @param item the item to write
+     * @return <code>false</code> if the queue is full and the item has been dropped
+     */
+    public boolean add(E item) {
+        if (running && queue.size() + retryCount < capacity && queue.offer(item)) {
+            if (full.compareAndSet(true, false)) {
+                logger.info("DynamoDB write queue accepts items again, {} items dropped so far", droppedCount.get());
+            }
+            return true;
+        }
+        long dropped = droppedCount.incrementAndGet();
+        if (full.compareAndSet(false, true)) {
+            logger.warn("DynamoDB write queue is full, dropping items ({} dropped so far)", dropped);
+        }
+        return false;
+    }
+
+    /**
+     * Stops accepting items, writes the pending items and stops the writer thread.
+     */
+    public void close() {
+        running = false;
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        int pending = queue.size() + retries.size();
+        if (pending > 0) {
+            logger.warn("{} items could not be written to DynamoDB before shutdown", pending);
+        }
+        if (droppedCount.get() > 0 || failedCount.get() > 0) {
+            logger.warn("{} items have been dropped and {} items have failed to be written to DynamoDB",
+                    droppedCount.get(), failedCount.get());
+        }
+        logger.debug("DynamoDB write queue closed: {} items written with {} requests, {} throttled requests, "
+                + "{} items dropped, {} items failed", writtenCount.get(), requestCount.get(), throttledCount.get(),
+                droppedCount.get(), failedCount.get());
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getThrottledCount() {
+        return throttledCount.get();
+    }
+
+    private void run() {
+        try {
+            while (running || !queue.isEmpty() || !retries.isEmpty()) {
+                List<E> batch = collectBatch();
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<E> collectBatch() throws InterruptedException {
+        List<E> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (batch.size() < MAX_BATCH_SIZE && !retries.isEmpty()) {
+            batch.add(retries.removeFirst());
+        }
+        retryCount = retries.size();
+        if (!running) {
+            queue.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+            return batch;
+        }
+        if (batch.isEmpty()) {
+            E first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return batch;
+            }
+            batch.add(first);
+        }
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < MAX_BATCH_SIZE && running) {
+            queue.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= MAX_BATCH_SIZE || remaining <= 0) {
+                break;
+            }
+            // wake up regularly to notice when the queue is closed
+            E next = queue.poll(Math.min(remaining, IDLE_POLL_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+        return batch;
+    }
+
+    private void write(List<E> batch) throws InterruptedException {
+        if (backoffMillis > 0) {
+            logger.trace("Waiting {} ms before next DynamoDB batch write", backoffMillis);
+            Thread.sleep(backoffMillis);
+        }
+        requestCount.incrementAndGet();
+        try {
+            List<E> unprocessed = batchWriter.write(batch);
+            writtenCount.addAndGet(batch.size() - unprocessed.size());
+            if (unprocessed.isEmpty()) {
+                decreaseBackoff();
+            } else {
+                logger.debug("{} of {} items not processed by DynamoDB, retrying", unprocessed.size(), batch.size());
+                addRetries(unprocessed);
+                increaseBackoff();
+            }
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof ProvisionedThroughputExceededException
+                    || cause instanceof RequestLimitExceededException) {
+                throttledCount.incrementAndGet();
+                addRetries(batch);
+                increaseBackoff();
+                logger.debug("DynamoDB throttled batch write of {} items, retrying in {} ms", batch.size(),
+                        backoffMillis);
+            } else {
+                failedCount.addAndGet(batch.size());
+                logger.warn("Batch write of {} items failed with {} {}", batch.size(),
+                        cause.getClass().getSimpleName(), cause.getMessage());
+            }
+        }
+    }
+
+    private void addRetries(List<E> items) {
+        retries.addAll(items);
+        int excess = retries.size() + queue.size() - capacity;
+        for (int i = 0; i < excess && !retries.isEmpty(); i++) {
+            retries.removeFirst();
+        }
+        retryCount = retries.size();
+        if (excess > 0) {
+            long dropped = droppedCount.addAndGet(excess);
+            logger.warn("DynamoDB write queue is full, dropping the {} oldest items to be retried ({} dropped so far)",
+                    excess, dropped);
+        }
+    }
+
+    private void increaseBackoff() {
+        backoffMillis = Math.min(MAX_BACKOFF_MILLIS, Math.max(MIN_BACKOFF_MILLIS, backoffMillis * 2));
+    }
+
+    private void decreaseBackoff() {
+        backoffMillis = backoffMillis / 2 < MIN_BACKOFF_MILLIS ? 0 : backoffMillis / 2;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        Throwable cause = e;
+        Throwable inner;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && (inner = cause.getCause()) != null) {
+            cause = inner;
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+
+/**
+ *
+ * @author Sami Salonen - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class DynamoDBWriteQueueTest {
+
+    @Test
+    public void testItemsAreWrittenInBatchesOfAtMost25() {
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        DynamoDBWriteQueue<Integer> queue = new DynamoDBWriteQueue<>(1000, 60000, batch -> {
+            batches.add(List.copyOf(batch));
+            return List.of();
+        });
+        IntStream.range(0, 60).forEach(queue::add);
+        queue.close();
+
+        assertEquals(IntStream.range(0, 60).boxed().toList(), batches.stream().flatMap(List::stream).toList());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= DynamoDBWriteQueue.MAX_BATCH_SIZE));
+        assertEquals(3, queue.getRequestCount());
+        assertEquals(60, queue.getWrittenCount());
+    }
+
+    @Test
+    public void testBatchIsWrittenAfterFlushInterval() throws InterruptedException {
+        CountDownLatch written = new CountDownLatch(1);
+        DynamoDBWriteQueue<Integer> queue = new DynamoDBWriteQueue<>(1000, 50, batch -> {
+            written.countDown();
+            return List.of();
+        });
+        queue.add(1);
+
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        queue.close();
+    }
+
+    @Test
+    public void testUnprocessedAndThrottledItemsAreRetried() {
+        List<Integer> writtenItems = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean throttle = new AtomicBoolean(true);
+        AtomicBoolean leaveUnprocessed = new AtomicBoolean(true);
+        DynamoDBWriteQueue<Integer> queue = new DynamoDBWriteQueue<>(1000, 10, batch -> {
+            if (throttle.getAndSet(false)) {
+                throw ProvisionedThroughputExceededException.builder().message("throttled").build();
+            }
+            if (leaveUnprocessed.getAndSet(false)) {
+                writtenItems.addAll(batch.subList(1, batch.size()));
+                return List.of(batch.get(0));
+            }
+            writtenItems.addAll(batch);
+            return List.of();
+        });
+        IntStream.range(0, 5).forEach(queue::add);
+        queue.close();
+
+        assertEquals(List.of(1, 2, 3, 4, 0), writtenItems);
+        assertEquals(1, queue.getThrottledCount());
+        assertEquals(5, queue.getWrittenCount());
+        assertEquals(0, queue.getFailedCount());
+    }
+
+    @Test
+    public void testItemsAreDroppedWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DynamoDBWriteQueue<Integer> queue = new DynamoDBWriteQueue<>(2, 0, batch -> {
+            blocked.countDown();
+            release.await();
+            return List.of();
+        });
+        queue.add(0);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        assertTrue(queue.add(1));
+        assertTrue(queue.add(2));
+        assertFalse(queue.add(3));
+        assertEquals(1, queue.getDroppedCount());
+
+        release.countDown();
+        queue.close();
+        assertEquals(3, queue.getWrittenCount());
+    }
+
+    @Test
+    public void testOldestRetriesAreDroppedWhenQueueIsFull() throws InterruptedException {
+        List<Integer> writtenItems = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean throttle = new AtomicBoolean(true);
+        DynamoDBWriteQueue<Integer> queue = new DynamoDBWriteQueue<>(3, 0, batch -> {
+            if (throttle.getAndSet(false)) {
+                blocked.countDown();
+                release.await();
+                throw ProvisionedThroughputExceededException.builder().message("throttled").build();
+            }
+            writtenItems.addAll(batch);
+            return List.of();
+        });
+        queue.add(0);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        IntStream.range(1, 4).forEach(queue::add);
+
+        release.countDown();
+        queue.close();
+
+        assertEquals(List.of(1, 2, 3), writtenItems);
+        assertEquals(1, queue.getDroppedCount());
+    }
+}
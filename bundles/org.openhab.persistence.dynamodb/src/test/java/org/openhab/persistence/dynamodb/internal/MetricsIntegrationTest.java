@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests the metrics published by the {@link DynamoDBPersistenceService}.
+ *
+ * @author Sami Salonen - Initial contribution
+ */
+@NonNullByDefault
+public class MetricsIntegrationTest extends BaseIntegrationTest {
+
+    private static final String ITEM_NAME = "metricsItem";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    public void bindMetrics() {
+        getService().bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    public void removeItem() {
+        ITEMS.remove(ITEM_NAME);
+    }
+
+    @Test
+    public void testQueueSizeIsBound() {
+        assertEquals(0, meterRegistry.get(PersistenceMetrics.QUEUE).tag("service", "dynamodb").gauge().value());
+    }
+
+    @Test
+    public void testStoresAndQueriesAreCounted() {
+        // the service is shared with other tests, so only the change of the counts is checked
+        FunctionTimer stores = meterRegistry.get(PersistenceMetrics.STORE).tag("service", "dynamodb").functionTimer();
+        FunctionTimer queries = meterRegistry.get(PersistenceMetrics.QUERY).tag("service", "dynamodb").functionTimer();
+        double storesBefore = stores.count();
+        double queriesBefore = queries.count();
+
+        NumberItem item = new NumberItem(ITEM_NAME);
+        ITEMS.put(ITEM_NAME, item);
+        item.setState(DecimalType.valueOf("1.5"));
+        getService().store(item);
+        waitForAssert(() -> assertTrue(stores.count() > storesBefore));
+
+        FilterCriteria criteria = new FilterCriteria();
+        criteria.setItemName(ITEM_NAME);
+        getService().query(criteria);
+        assertEquals(queriesBefore + 1, queries.count());
+    }
+
+    private DynamoDBPersistenceService getService() {
+        return Objects.requireNonNull(service);
+    }
+}
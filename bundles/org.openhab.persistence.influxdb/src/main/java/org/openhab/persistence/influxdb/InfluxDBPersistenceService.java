@@ -14,6 +14,9 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -29,16 +32,22 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemFactory;
+import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.ItemUtil;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
@@ -54,8 +63,10 @@ import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBSpool;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
+import org.openhab.persistence.influxdb.internal.PersistenceMetrics;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1RepositoryImpl;
 import org.openhab.persistence.influxdb.internal.influx2.InfluxDB2RepositoryImpl;
 import org.osgi.framework.Constants;
@@ -68,6 +79,9 @@ import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
 /**
  * This is the implementation of the InfluxDB {@link PersistenceService}. It
  * persists item values using the <a href="http://influxdb.org">InfluxDB</a> time
@@ -88,16 +102,19 @@ import org.slf4j.LoggerFactory;
  *         branch from Dominik Vorreiter
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class,
-        QueryablePersistenceService.class }, configurationPid = "org.openhab.influxdb", //
+@Component(service = { PersistenceService.class, QueryablePersistenceService.class,
+        MeterBinder.class }, configurationPid = "org.openhab.influxdb", //
         property = Constants.SERVICE_PID + "=org.openhab.influxdb")
 @ConfigurableService(category = "persistence", label = "InfluxDB Persistence Service", description_uri = InfluxDBPersistenceService.CONFIG_URI)
-public class InfluxDBPersistenceService implements ModifiablePersistenceService {
+public class InfluxDBPersistenceService implements ModifiablePersistenceService, MeterBinder {
     public static final String SERVICE_NAME = "influxdb";
 
     private final Logger logger = LoggerFactory.getLogger(InfluxDBPersistenceService.class);
 
     private static final int COMMIT_INTERVAL = 3; // in s
+    private static final int SPOOL_REPLAY_BATCH_SIZE = 5000;
+    // points replayed per commit, the rest follows with the next commits
+    private static final int SPOOL_REPLAY_MAX_POINTS = 10 * SPOOL_REPLAY_BATCH_SIZE;
     protected static final String CONFIG_URI = "persistence:influxdb";
 
     // External dependencies
@@ -111,6 +128,8 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     // storage
     private final ScheduledFuture<?> storeJob;
     private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final @Nullable InfluxDBSpool spool;
+    private final PersistenceMetrics metrics = new PersistenceMetrics(SERVICE_NAME, pointsQueue::size);
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -123,6 +142,7 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         this.influxDBMetadataService = influxDBMetadataService;
         this.configuration = new InfluxDBConfiguration(config);
         if (configuration.isValid()) {
+            this.spool = createSpool();
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
             this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
@@ -144,6 +164,20 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         };
     }
 
+    private @Nullable InfluxDBSpool createSpool() {
+        if (!configuration.isSpoolEnabled()) {
+            return null;
+        }
+        Path directory = Path.of(OpenHAB.getUserDataFolder(), "persistence", SERVICE_NAME, "spool");
+        try {
+            return new InfluxDBSpool(directory, configuration.getSpoolMaxSize() * 1024L * 1024L);
+        } catch (IOException e) {
+            logger.warn("Failed to open InfluxDB spool in {}, points are only buffered in memory: {}", directory,
+                    e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Disconnect from database when service is deactivated
      */
@@ -154,7 +188,15 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         storeJob.cancel(false);
         commit(); // ensure we at least tried to store the data;
 
-        if (!pointsQueue.isEmpty()) {
+        InfluxDBSpool spool = this.spool;
+        if (spool != null) {
+            spoolQueuedPoints(spool);
+            if (!spool.isEmpty()) {
+                logger.info("InfluxDB spooled {} points to disk, they will be written after restart.",
+                        spool.getPendingCount());
+            }
+            spool.close();
+        } else if (!pointsQueue.isEmpty()) {
             logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
         }
 
@@ -243,8 +285,12 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                 return List.of();
             }
 
-            List<InfluxDBRepository.InfluxRow> results = influxDBRepository.query(filter,
-                    configuration.getRetentionPolicy());
+            Duration aggregationWindow = getAggregationWindow(filter);
+            if (aggregationWindow != null) {
+                logger.trace("Aggregating query results into windows of {}", aggregationWindow);
+            }
+            List<InfluxDBRepository.InfluxRow> results = timed(metrics::recordQuery,
+                    () -> influxDBRepository.query(filter, configuration.getRetentionPolicy(), aggregationWindow));
             return results.stream().map(this::mapRowToHistoricItem).collect(Collectors.toList());
         } else {
             logger.debug("Query for persisted data ignored, InfluxDB is not connected");
@@ -252,6 +298,47 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         }
     }
 
+    /**
+     * Determines if the values of a query should be aggregated by the database to stay within the configured
+     * maximum number of points. Only the first page of paged queries for a time range of a number item without state
+     * filter is aggregated, i.e. the caller has to ask for a limited number of points explicitly, and the page size
+     * further limits the number of points. Unpaged queries, like those of the persistence extensions calculating e.g.
+     * the maximum or sum of a time range, and queries for a single value need the raw values.
+     * <p />
+     * The method is package-private for testing.
+     *
+     * @param filter the query filter
+     * @return the length of the time windows to aggregate or <code>null</code> if the raw values should be queried
+     */
+    @Nullable
+    Duration getAggregationWindow(FilterCriteria filter) {
+        int maxPoints = Math.min(configuration.getMaxPointsPerQuery(), filter.getPageSize());
+        ZonedDateTime beginDate = filter.getBeginDate();
+        String itemName = filter.getItemName();
+        if (maxPoints < 2 || beginDate == null || itemName == null || filter.getState() != null
+                || filter.getPageSize() == Integer.MAX_VALUE || filter.getPageNumber() != 0) {
+            return null;
+        }
+        ZonedDateTime endDate = Objects.requireNonNullElse(filter.getEndDate(), ZonedDateTime.now());
+        long seconds = Duration.between(beginDate, endDate).toSeconds();
+        if (seconds < maxPoints) {
+            // windows shorter than a second are not worth it
+            return null;
+        }
+        try {
+            Item item = itemRegistry.getItem(itemName);
+            if (item instanceof GroupItem groupItem) {
+                item = groupItem.getBaseItem();
+            }
+            if (!(item instanceof NumberItem)) {
+                return null;
+            }
+        } catch (ItemNotFoundException e) {
+            return null;
+        }
+        return Duration.ofSeconds((seconds + maxPoints - 1) / maxPoints);
+    }
+
     private HistoricItem mapRowToHistoricItem(InfluxDBRepository.InfluxRow row) {
         State state = InfluxDBStateConvertUtils.objectToState(row.value(), row.itemName(), itemRegistry);
         return new InfluxDBHistoricItem(row.itemName(), state, row.time());
@@ -278,10 +365,13 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     }
 
     private void commit() {
-        if (!pointsQueue.isEmpty() && checkConnection()) {
+        InfluxDBSpool spool = this.spool;
+        if (spool != null) {
+            commitWithSpool(spool);
+        } else if (!pointsQueue.isEmpty() && checkConnection()) {
             List<InfluxPoint> points = new ArrayList<>();
             pointsQueue.drainTo(points);
-            if (!influxDBRepository.write(points)) {
+            if (!write(points)) {
                 logger.warn("Re-queuing {} elements, failed to write batch.", points.size());
                 pointsQueue.addAll(points);
                 influxDBRepository.disconnect();
@@ -291,6 +381,64 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         }
     }
 
+    private void commitWithSpool(InfluxDBSpool spool) {
+        if (pointsQueue.isEmpty() && spool.isEmpty()) {
+            return;
+        }
+        if (!checkConnection()) {
+            if (pointsQueue.size() > configuration.getSpoolThreshold()) {
+                spoolQueuedPoints(spool);
+            }
+            return;
+        }
+        if (!spool.isEmpty()) {
+            // keep the order: newer points have to wait behind the spooled ones
+            spoolQueuedPoints(spool);
+            if (!spool.replay(SPOOL_REPLAY_BATCH_SIZE, SPOOL_REPLAY_MAX_POINTS, this::write)) {
+                logger.warn("Failed to replay spooled points, {} points remain in spool.", spool.getPendingCount());
+                influxDBRepository.disconnect();
+            } else if (spool.isEmpty()) {
+                logger.info("Replayed all spooled points (total replayed: {}, dropped: {}).", spool.getReplayedCount(),
+                        spool.getDroppedCount());
+            } else {
+                logger.debug("Replayed spooled points, {} points remain in spool.", spool.getPendingCount());
+            }
+            return;
+        }
+        List<InfluxPoint> points = new ArrayList<>();
+        pointsQueue.drainTo(points);
+        if (!write(points)) {
+            logger.warn("Spooling {} elements, failed to write batch.", points.size());
+            spool.append(points);
+            influxDBRepository.disconnect();
+        } else {
+            logger.trace("Wrote {} elements to database", points.size());
+        }
+    }
+
+    private boolean write(List<InfluxPoint> points) {
+        return timed(metrics::recordStore, () -> influxDBRepository.write(points));
+    }
+
+    private <T> T timed(LongConsumer recorder, Supplier<T> operation) {
+        long start = System.nanoTime();
+        try {
+            return operation.get();
+        } finally {
+            recorder.accept(System.nanoTime() - start);
+        }
+    }
+
+    private void spoolQueuedPoints(InfluxDBSpool spool) {
+        if (!pointsQueue.isEmpty()) {
+            List<InfluxPoint> points = new ArrayList<>();
+            pointsQueue.drainTo(points);
+            spool.append(points);
+            logger.debug("Spooled {} elements (pending: {}, dropped: {})", points.size(), spool.getPendingCount(),
+                    spool.getDroppedCount());
+        }
+    }
+
     /**
      * Convert incoming data to an {@link InfluxPoint} for further processing. This is needed because storage is
      * asynchronous and the item data may have changed.
@@ -360,6 +508,11 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         calculateItemTypeClasses();
     }
 
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        metrics.bindTo(registry);
+    }
+
     private synchronized void calculateItemTypeClasses() {
         Map<String, Class<? extends State>> desiredClasses = new HashMap<>();
         itemFactories.forEach(factory -> {
@@ -39,6 +39,10 @@ public class InfluxDBConfiguration {
     public static final String ADD_CATEGORY_TAG_PARAM = "addCategoryTag";
     public static final String ADD_LABEL_TAG_PARAM = "addLabelTag";
     public static final String ADD_TYPE_TAG_PARAM = "addTypeTag";
+    public static final String SPOOL_ENABLED_PARAM = "spoolEnabled";
+    public static final String SPOOL_THRESHOLD_PARAM = "spoolThreshold";
+    public static final String SPOOL_MAX_SIZE_PARAM = "spoolMaxSize";
+    public static final String MAX_POINTS_PER_QUERY_PARAM = "maxPointsPerQuery";
     private final Logger logger = LoggerFactory.getLogger(InfluxDBConfiguration.class);
     private final String url;
     private final String user;
@@ -51,6 +55,10 @@ public class InfluxDBConfiguration {
     private final boolean addCategoryTag;
     private final boolean addTypeTag;
     private final boolean addLabelTag;
+    private final boolean spoolEnabled;
+    private final int spoolThreshold;
+    private final int spoolMaxSize;
+    private final int maxPointsPerQuery;
 
     public InfluxDBConfiguration(Map<String, Object> config) {
         url = ConfigParser.valueAsOrElse(config.get(URL_PARAM), String.class, "http://127.0.0.1:8086");
@@ -64,6 +72,10 @@ public class InfluxDBConfiguration {
         addCategoryTag = ConfigParser.valueAsOrElse(config.get(ADD_CATEGORY_TAG_PARAM), Boolean.class, false);
         addLabelTag = ConfigParser.valueAsOrElse(config.get(ADD_LABEL_TAG_PARAM), Boolean.class, false);
         addTypeTag = ConfigParser.valueAsOrElse(config.get(ADD_TYPE_TAG_PARAM), Boolean.class, false);
+        spoolEnabled = ConfigParser.valueAsOrElse(config.get(SPOOL_ENABLED_PARAM), Boolean.class, false);
+        spoolThreshold = ConfigParser.valueAsOrElse(config.get(SPOOL_THRESHOLD_PARAM), Integer.class, 10000);
+        spoolMaxSize = ConfigParser.valueAsOrElse(config.get(SPOOL_MAX_SIZE_PARAM), Integer.class, 100);
+        maxPointsPerQuery = ConfigParser.valueAsOrElse(config.get(MAX_POINTS_PER_QUERY_PARAM), Integer.class, 0);
     }
 
     private InfluxDBVersion parseInfluxVersion(@Nullable String value) {
@@ -142,6 +154,31 @@ public class InfluxDBConfiguration {
         return addLabelTag;
     }
 
+    public boolean isSpoolEnabled() {
+        return spoolEnabled;
+    }
+
+    /**
+     * @return the number of queued points above which points are moved to the spool
+     */
+    public int getSpoolThreshold() {
+        return spoolThreshold;
+    }
+
+    /**
+     * @return the maximum size of the spool in MB
+     */
+    public int getSpoolMaxSize() {
+        return spoolMaxSize;
+    }
+
+    /**
+     * @return the number of points above which query results are aggregated by the database, 0 if disabled
+     */
+    public int getMaxPointsPerQuery() {
+        return maxPointsPerQuery;
+    }
+
     public String getUser() {
         return user;
     }
@@ -160,6 +197,8 @@ public class InfluxDBConfiguration {
                 + " chars', token='" + token.length() + " chars', databaseName='" + databaseName
                 + "', retentionPolicy='" + retentionPolicy + "', version=" + version + ", replaceUnderscore="
                 + replaceUnderscore + ", addCategoryTag=" + addCategoryTag + ", addTypeTag=" + addTypeTag
-                + ", addLabelTag=" + addLabelTag + '}';
+                + ", addLabelTag=" + addLabelTag + ", spoolEnabled=" + spoolEnabled + ", spoolThreshold="
+                + spoolThreshold + ", spoolMaxSize=" + spoolMaxSize + ", maxPointsPerQuery=" + maxPointsPerQuery
+                + '}';
     }
 }
@@ -12,11 +12,13 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.persistence.FilterCriteria;
 
 /**
@@ -66,7 +68,19 @@ public interface InfluxDBRepository {
      * @return Query results
      * 
      */
-    List<InfluxRow> query(FilterCriteria filter, String retentionPolicy);
+    default List<InfluxRow> query(FilterCriteria filter, String retentionPolicy) {
+        return query(filter, retentionPolicy, null);
+    }
+
+    /**
+     * Executes query, letting the database aggregate the values into time windows
+     *
+     * @param filter the query filter
+     * @param aggregationWindow length of the time windows whose mean values are returned, or <code>null</code> to
+     *            return the raw values
+     * @return Query results
+     */
+    List<InfluxRow> query(FilterCriteria filter, String retentionPolicy, @Nullable Duration aggregationWindow);
 
     /**
      * Write points to database
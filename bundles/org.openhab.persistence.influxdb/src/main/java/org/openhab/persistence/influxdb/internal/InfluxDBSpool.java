@@ -0,0 +1,446 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Disk-backed write-ahead spool for points that could not (yet) be written to InfluxDB.
+ * <p />
+ * Points are appended to segment files of limited size. Each record is stored as its length followed by the
+ * serialized point. The length is written after the point data, so an interrupted write leaves a zero length which
+ * marks the end of the segment. Only the channel of the segment currently appended to is kept open. Points are
+ * replayed oldest first, in chunks of limited size, and a segment is deleted once all its points have been written.
+ * If the spool exceeds its maximum size, the oldest segments are dropped.
+ * <p />
+ * After a restart all remaining segments are replayed from their beginning, so points of a partially replayed segment
+ * may be written twice. This is harmless, as InfluxDB overwrites points with identical measurement, tags and time.
+ * <p />
+ * All public methods are synchronized, as the spool is used by the commit job as well as on deactivation.
+ *
+ * @author Joan Pujol Espinar - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBSpool {
+    static final int SEGMENT_SIZE = 4 * 1024 * 1024; // Visible for testing
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+
+    private static final byte TYPE_STRING = 0;
+    private static final byte TYPE_DECIMAL = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_BOOLEAN = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBSpool.class);
+
+    private final Path directory;
+    private final long maxSegments;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private @Nullable FileChannel tailChannel;
+    private @Nullable Segment tailSegment;
+    private @Nullable Segment headSegment;
+    private @Nullable ByteBuffer headBuffer;
+    private long nextSegmentId = 0;
+
+    private long spooledCount = 0;
+    private long replayedCount = 0;
+    private long droppedCount = 0;
+
+    /**
+     * Opens the spool in the given directory, recovering the segments left over from a previous run.
+     *
+     * @param directory the directory of the segment files, created if missing
+     * @param maxSize the maximum size of all segments in bytes
+     * @throws IOException if the directory or the existing segments cannot be accessed
+     */
+    public InfluxDBSpool(Path directory, long maxSize) throws IOException {
+        this.directory = directory;
+        this.maxSegments = Math.max(1, maxSize / SEGMENT_SIZE);
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                    && p.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long id;
+            try {
+                id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring unexpected file {} in spool directory", file);
+                continue;
+            }
+            Segment segment = new Segment(id, file);
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            while (buffer.remaining() >= Integer.BYTES) {
+                int length = buffer.getInt(buffer.position());
+                if (length <= 0 || length > buffer.remaining() - Integer.BYTES) {
+                    break;
+                }
+                buffer.position(buffer.position() + Integer.BYTES + length);
+                segment.count++;
+            }
+            segment.writePosition = buffer.position();
+            if (segment.count > 0) {
+                segments.add(segment);
+            } else {
+                deleteSegmentFile(segment);
+            }
+            nextSegmentId = Math.max(nextSegmentId, id + 1);
+        }
+        if (!segments.isEmpty()) {
+            logger.info("Recovered {} points from InfluxDB spool in {}", getPendingCount(), directory);
+        }
+    }
+
+    /**
+     * Appends points to the end of the spool, dropping the oldest segments if the size limit is reached.
+     *
+     * @param points the points to append
+     */
+    public synchronized void append(List<InfluxPoint> points) {
+        for (InfluxPoint point : points) {
+            byte[] data;
+            try {
+                data = serialize(point);
+            } catch (IOException e) {
+                logger.warn("Failed to serialize {}, dropping it: {}", point, e.getMessage());
+                droppedCount++;
+                continue;
+            }
+            if (data.length + Integer.BYTES > SEGMENT_SIZE) {
+                logger.warn("Point {} exceeds the spool segment size, dropping it.", point);
+                droppedCount++;
+                continue;
+            }
+            try {
+                FileChannel channel = getTailChannel(data.length + Integer.BYTES);
+                Segment tail = segments.getLast();
+                writeFully(channel, ByteBuffer.wrap(data), tail.writePosition + Integer.BYTES);
+                writeFully(channel, ByteBuffer.allocate(Integer.BYTES).putInt(0, data.length), tail.writePosition);
+                tail.writePosition += Integer.BYTES + data.length;
+                tail.count++;
+                spooledCount++;
+            } catch (IOException e) {
+                logger.warn("Failed to write to InfluxDB spool, dropping {}: {}", point, e.getMessage());
+                droppedCount++;
+            }
+        }
+        forceTail();
+    }
+
+    private FileChannel getTailChannel(int required) throws IOException {
+        FileChannel channel = tailChannel;
+        Segment tail = segments.peekLast();
+        if (channel != null && tail != null && tail == tailSegment && SEGMENT_SIZE - tail.writePosition >= required) {
+            return channel;
+        }
+        closeTail();
+        while (segments.size() >= maxSegments) {
+            Segment oldest = segments.removeFirst();
+            int lost = oldest.count - oldest.readCount;
+            droppedCount += lost;
+            logger.warn("InfluxDB spool is full, dropped {} oldest points.", lost);
+            deleteSegmentFile(oldest);
+        }
+        Segment segment = new Segment(nextSegmentId++,
+                directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, nextSegmentId - 1, SEGMENT_SUFFIX)));
+        channel = FileChannel.open(segment.file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        segments.addLast(segment);
+        tailChannel = channel;
+        tailSegment = segment;
+        return channel;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    private void forceTail() {
+        FileChannel channel = tailChannel;
+        if (channel != null) {
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                logger.warn("Failed to flush InfluxDB spool segment {}: {}", tailSegment, e.getMessage());
+            }
+        }
+    }
+
+    private void closeTail() {
+        FileChannel channel = tailChannel;
+        if (channel != null) {
+            forceTail();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close InfluxDB spool segment {}: {}", tailSegment, e.getMessage());
+            }
+        }
+        tailChannel = null;
+        tailSegment = null;
+    }
+
+    /**
+     * Replays spooled points in the order they were appended. At most <code>maxPoints</code> points are replayed per
+     * call, so a large spool is written in several chunks and does not block other callers for long.
+     *
+     * @param batchSize the maximum number of points passed to the writer at once
+     * @param maxPoints the maximum number of points replayed by this call
+     * @param writer writes the points and returns <code>true</code> on success
+     * @return <code>true</code> if the points have been replayed, <code>false</code> if the writer failed
+     */
+    public synchronized boolean replay(int batchSize, int maxPoints, Predicate<List<InfluxPoint>> writer) {
+        int remaining = maxPoints;
+        while (!segments.isEmpty() && remaining > 0) {
+            Segment head = segments.getFirst();
+            List<InfluxPoint> points = new ArrayList<>();
+            int position = head.readPosition;
+            int read = head.readCount;
+            try {
+                ByteBuffer buffer = readSegment(head);
+                int start = buffer.position();
+                while (points.size() < Math.min(batchSize, remaining) && read < head.count) {
+                    int length = buffer.getInt();
+                    byte[] data = new byte[length];
+                    buffer.get(data);
+                    read++;
+                    position = head.readPosition + buffer.position() - start;
+                    try {
+                        points.add(deserialize(data));
+                    } catch (IOException | RuntimeException e) {
+                        logger.warn("Dropping unreadable point from InfluxDB spool: {}", e.getMessage());
+                        droppedCount++;
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to read InfluxDB spool segment {}, dropping it: {}", head.file, e.getMessage());
+                droppedCount += head.count - head.readCount;
+                segments.removeFirst();
+                deleteSegmentFile(head);
+                continue;
+            }
+            if (!points.isEmpty() && !writer.test(points)) {
+                return false;
+            }
+            replayedCount += points.size();
+            remaining -= read - head.readCount;
+            head.readPosition = position;
+            head.readCount = read;
+            if (head.readCount >= head.count) {
+                segments.removeFirst();
+                deleteSegmentFile(head);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the unread part of a segment, positioned at its first unread record.
+     */
+    private ByteBuffer readSegment(Segment segment) throws IOException {
+        FileChannel channel = tailChannel;
+        if (channel != null && segment == tailSegment) {
+            // the segment is still appended to, so only the part written so far is read
+            ByteBuffer buffer = ByteBuffer.allocate(segment.writePosition - segment.readPosition);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, segment.readPosition + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of segment");
+                }
+            }
+            return buffer.flip();
+        }
+        ByteBuffer headBuffer = this.headBuffer;
+        if (headBuffer == null || segment != headSegment) {
+            headBuffer = ByteBuffer.wrap(Files.readAllBytes(segment.file));
+            this.headBuffer = headBuffer;
+            this.headSegment = segment;
+        }
+        return headBuffer.duplicate().position(segment.readPosition);
+    }
+
+    private void deleteSegmentFile(Segment segment) {
+        if (segment == headSegment) {
+            headSegment = null;
+            headBuffer = null;
+        }
+        if (segment == tailSegment) {
+            closeTail();
+        }
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            logger.debug("Failed to delete InfluxDB spool segment {}: {}", segment.file, e.getMessage());
+        }
+    }
+
+    /**
+     * Flushes the current segment to disk and closes it.
+     */
+    public synchronized void close() {
+        closeTail();
+        headSegment = null;
+        headBuffer = null;
+    }
+
+    public synchronized boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * @return the number of points currently waiting in the spool
+     */
+    public synchronized long getPendingCount() {
+        return segments.stream().mapToLong(s -> s.count - s.readCount).sum();
+    }
+
+    /**
+     * @return the number of points appended to the spool since it was opened
+     */
+    public synchronized long getSpooledCount() {
+        return spooledCount;
+    }
+
+    /**
+     * @return the number of points successfully replayed since the spool was opened
+     */
+    public synchronized long getReplayedCount() {
+        return replayedCount;
+    }
+
+    /**
+     * @return the number of points dropped because of the size limit or errors since the spool was opened
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    static byte[] serialize(InfluxPoint point) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(point.getMeasurementName());
+            out.writeLong(point.getTime().getEpochSecond());
+            out.writeInt(point.getTime().getNano());
+            Object value = point.getValue();
+            if (value instanceof BigDecimal decimal) {
+                out.writeByte(TYPE_DECIMAL);
+                out.writeUTF(decimal.toString());
+            } else if (value instanceof Integer integer) {
+                out.writeByte(TYPE_INTEGER);
+                out.writeInt(integer);
+            } else if (value instanceof Long longValue) {
+                out.writeByte(TYPE_LONG);
+                out.writeLong(longValue);
+            } else if (value instanceof Double doubleValue) {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble(doubleValue);
+            } else if (value instanceof Boolean booleanValue) {
+                out.writeByte(TYPE_BOOLEAN);
+                out.writeBoolean(booleanValue);
+            } else {
+                // strings may exceed the 64k limit of writeUTF
+                byte[] string = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+                out.writeByte(TYPE_STRING);
+                out.writeInt(string.length);
+                out.write(string);
+            }
+            Map<String, String> tags = point.getTags();
+            out.writeInt(tags.size());
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                out.writeUTF(tag.getKey());
+                out.writeUTF(tag.getValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static InfluxPoint deserialize(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            InfluxPoint.Builder builder = InfluxPoint.newBuilder(in.readUTF())
+                    .withTime(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+            byte type = in.readByte();
+            switch (type) {
+                case TYPE_DECIMAL -> builder.withValue(new BigDecimal(in.readUTF()));
+                case TYPE_INTEGER -> builder.withValue(in.readInt());
+                case TYPE_LONG -> builder.withValue(in.readLong());
+                case TYPE_DOUBLE -> builder.withValue(in.readDouble());
+                case TYPE_BOOLEAN -> builder.withValue(in.readBoolean());
+                case TYPE_STRING -> {
+                    byte[] string = new byte[in.readInt()];
+                    in.readFully(string);
+                    builder.withValue(new String(string, StandardCharsets.UTF_8));
+                }
+                default -> throw new IOException("Unknown value type " + type);
+            }
+            int tagCount = in.readInt();
+            for (int i = 0; i < tagCount; i++) {
+                builder.withTag(in.readUTF(), in.readUTF());
+            }
+            return builder.build();
+        }
+    }
+
+    private static class Segment {
+        private final long id;
+        private final Path file;
+        private int writePosition = 0;
+        private int readPosition = 0;
+        private int count = 0;
+        private int readCount = 0;
+
+        private Segment(long id, Path file) {
+            this.id = id;
+            this.file = file;
+        }
+
+        @Override
+        public String toString() {
+            return "Segment{id=" + id + ", count=" + count + ", readCount=" + readCount + "}";
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * The {@link PersistenceMetrics} count the stores and queries of the persistence service and their duration. They are
+ * bound to a registry together with the size of the write queue, when the service is picked up as {@link MeterBinder}
+ * by a metrics service.
+ *
+ * @author Joan Pujol Espinar - Initial contribution
+ */
+@NonNullByDefault
+public class PersistenceMetrics implements MeterBinder {
+    public static final String STORE = "openhab.persistence.store";
+    public static final String QUERY = "openhab.persistence.query";
+    public static final String QUEUE = "openhab.persistence.queue";
+
+    private final String serviceId;
+    private final IntSupplier queueSize;
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder storeNanos = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder queryNanos = new LongAdder();
+
+    public PersistenceMetrics(String serviceId, IntSupplier queueSize) {
+        this.serviceId = serviceId;
+        this.queueSize = queueSize;
+    }
+
+    public void recordStore(long durationNanos) {
+        stores.increment();
+        storeNanos.add(durationNanos);
+    }
+
+    public void recordQuery(long durationNanos) {
+        queries.increment();
+        queryNanos.add(durationNanos);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Tags tags = Tags.of("service", serviceId);
+        FunctionTimer.builder(STORE, this, m -> m.stores.sum(), m -> m.storeNanos.sum(), TimeUnit.NANOSECONDS)
+                .tags(tags).description("Number and duration of writes to the database").register(registry);
+        FunctionTimer.builder(QUERY, this, m -> m.queries.sum(), m -> m.queryNanos.sum(), TimeUnit.NANOSECONDS)
+                .tags(tags).description("Number and duration of queries").register(registry);
+        Gauge.builder(QUEUE, this, m -> m.queueSize.getAsInt()).tags(tags)
+                .description("Number of values waiting to be stored").register(registry);
+    }
+}
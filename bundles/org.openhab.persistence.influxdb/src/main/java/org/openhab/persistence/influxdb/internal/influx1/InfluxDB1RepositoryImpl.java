@@ -17,6 +17,7 @@ import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.COLUMN
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.FIELD_VALUE_NAME;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.TAG_ITEM_NAME;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -168,11 +169,11 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
     }
 
     @Override
-    public List<InfluxRow> query(FilterCriteria filter, String retentionPolicy) {
+    public List<InfluxRow> query(FilterCriteria filter, String retentionPolicy, @Nullable Duration aggregationWindow) {
         try {
             final InfluxDB currentClient = client;
             if (currentClient != null) {
-                String query = queryCreator.createQuery(filter, retentionPolicy);
+                String query = queryCreator.createQuery(filter, retentionPolicy, aggregationWindow);
                 logger.trace("Query {}", query);
                 Query parsedQuery = new Query(query, configuration.getDatabaseName());
                 List<QueryResult.Result> results = currentClient.query(parsedQuery, TimeUnit.MILLISECONDS).getResults();
@@ -199,7 +200,10 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
             } else {
                 for (QueryResult.Series series : allSeries) {
                     logger.trace("series {}", series);
-                    String defaultItemName = series.getName();
+                    // aggregated queries are grouped by the item tag instead of returning it as column
+                    Map<String, String> tags = series.getTags();
+                    String defaultItemName = Objects.requireNonNullElse(tags != null ? tags.get(TAG_ITEM_NAME) : null,
+                            series.getName());
                     List<List<Object>> allValues = series.getValues();
                     if (allValues == null) {
                         logger.debug("query returned no values");
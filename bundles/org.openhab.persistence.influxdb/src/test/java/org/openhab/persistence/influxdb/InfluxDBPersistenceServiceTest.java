@@ -12,10 +12,11 @@
  */
 package org.openhab.persistence.influxdb;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.DATABASE_PARAM;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.MAX_POINTS_PER_QUERY_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.PASSWORD_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.RETENTION_POLICY_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.TOKEN_PARAM;
@@ -23,6 +24,9 @@ import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.UR
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.USER_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.VERSION_PARAM;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -32,14 +36,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxDBVersion;
 import org.openhab.persistence.influxdb.internal.ItemTestHelper;
+import org.openhab.persistence.influxdb.internal.PersistenceMetrics;
 import org.openhab.persistence.influxdb.internal.UnexpectedConditionException;
 
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 /**
  * @author Joan Pujol Espinar - Initial contribution
  */
@@ -124,8 +135,89 @@ public class InfluxDBPersistenceServiceTest {
         verify(influxDBRepositoryMock, never()).write(any());
     }
 
+    @Test
+    public void queueSizeIsBound() {
+        InfluxDBPersistenceService instance = getService(VALID_V2_CONFIGURATION);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        instance.bindTo(meterRegistry);
+        assertEquals(0, meterRegistry.get(PersistenceMetrics.QUEUE).tag("service", "influxdb").gauge().value());
+    }
+
+    @Test
+    public void storesAndQueriesAreCounted() throws UnexpectedConditionException, InterruptedException {
+        InfluxDBPersistenceService instance = getService(VALID_V2_CONFIGURATION);
+        when(influxDBRepositoryMock.isConnected()).thenReturn(true);
+        when(influxDBRepositoryMock.write(any())).thenReturn(true);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        instance.bindTo(meterRegistry);
+
+        instance.store(ItemTestHelper.createNumberItem("number", 5));
+        verify(influxDBRepositoryMock, timeout(5000)).write(any());
+        FunctionTimer stores = meterRegistry.get(PersistenceMetrics.STORE).tag("service", "influxdb").functionTimer();
+        waitForCount(stores, 1);
+
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName("number");
+        instance.query(filter);
+        assertEquals(1, meterRegistry.get(PersistenceMetrics.QUERY).tag("service", "influxdb").functionTimer().count());
+    }
+
+    private void waitForCount(FunctionTimer timer, long count) throws InterruptedException {
+        long end = System.currentTimeMillis() + 5000;
+        while (timer.count() < count && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, timer.count());
+    }
+
+    @Test
+    public void onlyPagedQueriesAreAggregated() throws ItemNotFoundException {
+        Map<String, Object> config = new HashMap<>(VALID_V2_CONFIGURATION);
+        config.put(MAX_POINTS_PER_QUERY_PARAM, 100);
+        ItemRegistry itemRegistry = mock(ItemRegistry.class);
+        when(itemRegistry.getItem("number")).thenReturn(new NumberItem("number"));
+        InfluxDBPersistenceService instance = getService(config, itemRegistry);
+
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName("number");
+        ZonedDateTime end = ZonedDateTime.now();
+        filter.setBeginDate(end.minusDays(1));
+        filter.setEndDate(end);
+        // unpaged queries, e.g. of maximumSince or sumSince, need the raw values
+        assertNull(instance.getAggregationWindow(filter));
+
+        filter.setPageSize(1000);
+        assertEquals(Duration.ofSeconds(864), instance.getAggregationWindow(filter));
+        filter.setPageSize(50);
+        assertEquals(Duration.ofSeconds(1728), instance.getAggregationWindow(filter));
+
+        // single values and further pages are not aggregated
+        filter.setPageSize(1);
+        assertNull(instance.getAggregationWindow(filter));
+        filter.setPageSize(50);
+        filter.setPageNumber(1);
+        assertNull(instance.getAggregationWindow(filter));
+    }
+
+    @Test
+    public void queriesAreNotAggregatedByDefault() throws ItemNotFoundException {
+        ItemRegistry itemRegistry = mock(ItemRegistry.class);
+        when(itemRegistry.getItem("number")).thenReturn(new NumberItem("number"));
+        InfluxDBPersistenceService instance = getService(VALID_V2_CONFIGURATION, itemRegistry);
+
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName("number");
+        filter.setBeginDate(ZonedDateTime.now().minusDays(1));
+        filter.setPageSize(50);
+        assertNull(instance.getAggregationWindow(filter));
+    }
+
     private InfluxDBPersistenceService getService(Map<String, Object> config) {
-        return new InfluxDBPersistenceService(mock(ItemRegistry.class), influxDBMetadataService, config) {
+        return getService(config, mock(ItemRegistry.class));
+    }
+
+    private InfluxDBPersistenceService getService(Map<String, Object> config, ItemRegistry itemRegistry) {
+        return new InfluxDBPersistenceService(itemRegistry, influxDBMetadataService, config) {
             @Override
             protected InfluxDBRepository createInfluxDBRepository() {
                 return influxDBRepositoryMock;
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Joan Pujol Espinar - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBSpoolTest {
+    private @TempDir @NonNullByDefault({}) Path directory;
+
+    private static InfluxPoint point(int i) {
+        return InfluxPoint.newBuilder("measurement").withTime(Instant.ofEpochMilli(1000L * i))
+                .withValue(new BigDecimal(i)).withTag("item", "item" + i).build();
+    }
+
+    private static List<BigDecimal> values(List<InfluxPoint> points) {
+        return points.stream().map(p -> (BigDecimal) p.getValue()).toList();
+    }
+
+    @Test
+    public void serializationKeepsAllFields() throws IOException {
+        InfluxPoint point = InfluxPoint.newBuilder("m").withTime(Instant.ofEpochSecond(1700000000, 123456789))
+                .withValue(1L).withTag("item", "x").withTag("floor", "first").build();
+        InfluxPoint copy = InfluxDBSpool.deserialize(InfluxDBSpool.serialize(point));
+        assertThat(copy.getMeasurementName(), is("m"));
+        assertThat(copy.getTime(), is(point.getTime()));
+        assertThat(copy.getValue(), is(1L));
+        assertThat(copy.getTags(), is(equalTo(point.getTags())));
+
+        InfluxPoint stringPoint = InfluxPoint.newBuilder("m").withTime(Instant.EPOCH).withValue("ON,äöü").build();
+        assertThat(InfluxDBSpool.deserialize(InfluxDBSpool.serialize(stringPoint)).getValue(), is("ON,äöü"));
+    }
+
+    @Test
+    public void pointsAreReplayedInOrder() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(directory, 100L * 1024 * 1024);
+        spool.append(IntStream.range(0, 10).mapToObj(InfluxDBSpoolTest::point).toList());
+
+        List<InfluxPoint> written = new ArrayList<>();
+        assertThat(spool.replay(3, 100, written::addAll), is(true));
+
+        assertThat(values(written),
+                contains(IntStream.range(0, 10).mapToObj(BigDecimal::new).toArray(BigDecimal[]::new)));
+        assertThat(spool.isEmpty(), is(true));
+        assertThat(spool.getReplayedCount(), is(10L));
+    }
+
+    @Test
+    public void pointsAreReplayedInChunks() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(directory, 100L * 1024 * 1024);
+        spool.append(IntStream.range(0, 10).mapToObj(InfluxDBSpoolTest::point).toList());
+
+        List<InfluxPoint> written = new ArrayList<>();
+        assertThat(spool.replay(3, 4, written::addAll), is(true));
+        assertThat(values(written),
+                contains(new BigDecimal(0), new BigDecimal(1), new BigDecimal(2), new BigDecimal(3)));
+        assertThat(spool.getPendingCount(), is(6L));
+
+        // points appended in between are replayed after the remaining ones
+        spool.append(List.of(point(10)));
+        assertThat(spool.replay(3, 100, written::addAll), is(true));
+        assertThat(values(written),
+                contains(IntStream.range(0, 11).mapToObj(BigDecimal::new).toArray(BigDecimal[]::new)));
+        assertThat(spool.isEmpty(), is(true));
+    }
+
+    @Test
+    public void consumedSegmentsAreDeleted() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(directory, 100L * 1024 * 1024);
+        spool.append(List.of(point(1), point(2)));
+        assertThat(directoryContents().size(), is(1));
+
+        spool.replay(10, 100, points -> true);
+        assertThat(directoryContents(), is(empty()));
+
+        spool.append(List.of(point(3)));
+        spool.close();
+        assertThat(directoryContents().size(), is(1));
+    }
+
+    private List<Path> directoryContents() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    @Test
+    public void failedReplayKeepsPoints() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(directory, 100L * 1024 * 1024);
+        spool.append(List.of(point(1), point(2)));
+
+        assertThat(spool.replay(10, 100, points -> false), is(false));
+        assertThat(spool.getPendingCount(), is(2L));
+
+        List<InfluxPoint> written = new ArrayList<>();
+        assertThat(spool.replay(10, 100, written::addAll), is(true));
+        assertThat(values(written), contains(new BigDecimal(1), new BigDecimal(2)));
+    }
+
+    @Test
+    public void pointsSurviveRestart() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(directory, 100L * 1024 * 1024);
+        spool.append(List.of(point(1), point(2), point(3)));
+        spool.close();
+
+        InfluxDBSpool reopened = new InfluxDBSpool(directory, 100L * 1024 * 1024);
+        assertThat(reopened.getPendingCount(), is(3L));
+        reopened.append(List.of(point(4)));
+
+        List<InfluxPoint> written = new ArrayList<>();
+        assertThat(reopened.replay(10, 100, written::addAll), is(true));
+        assertThat(values(written),
+                contains(new BigDecimal(1), new BigDecimal(2), new BigDecimal(3), new BigDecimal(4)));
+    }
+
+    @Test
+    public void oldestPointsAreDroppedWhenFull() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(directory, 2L * InfluxDBSpool.SEGMENT_SIZE);
+        String large = "x".repeat(InfluxDBSpool.SEGMENT_SIZE / 4);
+        List<InfluxPoint> points = IntStream.range(0, 12).mapToObj(i -> InfluxPoint.newBuilder("m")
+                .withTime(Instant.ofEpochSecond(i)).withValue(i + large).build()).toList();
+        spool.append(points);
+
+        assertThat(spool.getDroppedCount() > 0, is(true));
+        assertThat(spool.getPendingCount(), is(lessThan(12L)));
+        assertThat(spool.getPendingCount() + spool.getDroppedCount(), is(12L));
+
+        List<InfluxPoint> written = new ArrayList<>();
+        spool.replay(100, 100, written::addAll);
+        // the newest point is always kept
+        assertThat(written.get(written.size() - 1).getTime(), is(Instant.ofEpochSecond(11)));
+    }
+}
@@ -12,10 +12,13 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -172,6 +175,26 @@ public class InfluxFilterCriteriaQueryCreatorImplTest {
                 \t|> sort(desc:false, columns:["_time"])"""));
     }
 
+    @Test
+    public void testAggregationWindow() {
+        FilterCriteria criteria = createBaseCriteria();
+        ZonedDateTime now = ZonedDateTime.now();
+        criteria.setBeginDate(now.minusDays(30));
+        criteria.setEndDate(now);
+        criteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+
+        String queryV1 = instanceV1.createQuery(criteria, RETENTION_POLICY, Duration.ofHours(1));
+        assertThat(queryV1, containsString("FROM \"origin\".\"sampleItem\" WHERE time >= "));
+        assertThat(queryV1, containsString("GROUP BY time(3600s)"));
+        assertThat(queryV1, containsString("fill(none)"));
+
+        String queryV2 = instanceV2.createQuery(criteria, RETENTION_POLICY, Duration.ofHours(1));
+        assertThat(queryV2, containsString("aggregateWindow(every:3600s, fn:mean"));
+        assertThat(queryV2, containsString("timeSrc:\"_start\""));
+        // the window needs the _start and _stop columns removed by keep()
+        assertThat(queryV2.indexOf("aggregateWindow"), lessThan(queryV2.indexOf("keep")));
+    }
+
     @Test
     public void testPreviousState() {
         FilterCriteria criteria = createBaseCriteria();
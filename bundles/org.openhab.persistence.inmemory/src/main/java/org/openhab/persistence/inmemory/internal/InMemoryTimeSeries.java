@@ -0,0 +1,351 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link InMemoryTimeSeries} holds the persisted states of one item, ordered by their timestamps.
+ * <p>
+ * Entries are kept in a ring buffer of parallel arrays, so appending the newest entry and dropping the oldest one do
+ * not move any data. Time ranges are looked up by binary search. Equal consecutive states share one instance.
+ * Queries hold a read lock, so they do not block each other, only stores and removals hold the write lock.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+class InMemoryTimeSeries {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    record Summary(int count, ZonedDateTime earliest, ZonedDateTime latest) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] seconds;
+    private int[] nanos;
+    private @Nullable ZoneId[] zones;
+    private @Nullable State[] states;
+    // physical index of the oldest entry
+    private int head = 0;
+    private int size = 0;
+
+    InMemoryTimeSeries(long maxEntries) {
+        int capacity = (int) Math.max(1, Math.min(INITIAL_CAPACITY, maxEntries));
+        seconds = new long[capacity];
+        nanos = new int[capacity];
+        zones = new ZoneId[capacity];
+        states = new State[capacity];
+    }
+
+    /**
+     * Adds an entry, replacing an existing entry with the same timestamp. If the series already holds the maximum
+     * number of entries, the oldest entry is dropped.
+     *
+     * @param timestamp the timestamp of the entry
+     * @param state the state
+     * @param maxEntries the maximum number of entries
+     */
+    void add(ZonedDateTime timestamp, State state, long maxEntries) {
+        Instant instant = timestamp.toInstant();
+        long second = instant.getEpochSecond();
+        int nano = instant.getNano();
+
+        lock.writeLock().lock();
+        try {
+            int index;
+            if (size == 0 || compareAt(size - 1, second, nano) < 0) {
+                // most entries are newer than all existing ones
+                index = size;
+            } else {
+                index = lowerBound(second, nano);
+                if (index < size && compareAt(index, second, nano) == 0) {
+                    set(index, second, nano, timestamp.getZone(), state);
+                    return;
+                }
+            }
+
+            if (size >= maxEntries) {
+                if (index == 0) {
+                    // older than all retained entries
+                    return;
+                }
+                removeFirst();
+                index--;
+            }
+            ensureCapacity(size + 1, maxEntries);
+            for (int i = size; i > index; i--) {
+                move(i - 1, i);
+            }
+            size++;
+            set(index, second, nano, timestamp.getZone(), state);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the oldest entries until at most the given number of entries are left.
+     *
+     * @param maxEntries the maximum number of entries
+     */
+    void trim(long maxEntries) {
+        lock.writeLock().lock();
+        try {
+            while (size > 0 && size > maxEntries) {
+                removeFirst();
+            }
+            if (seconds.length > Math.max(INITIAL_CAPACITY, maxEntries)) {
+                resize(Math.max(1, size));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the entries within the given time range, which match the given state filter.
+     *
+     * @param begin the earliest timestamp (inclusive) or <code>null</code>
+     * @param end the latest timestamp (inclusive) or <code>null</code>
+     * @param ascending if the entries shall be returned in ascending order of their timestamps
+     * @param filter the filter for the states
+     * @param offset the number of matching entries to skip
+     * @param limit the maximum number of entries to return
+     * @param mapper creates the result from the timestamp and state of an entry
+     * @return the results in the requested order
+     */
+    <T> List<T> query(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, boolean ascending,
+            Predicate<State> filter, long offset, int limit, BiFunction<ZonedDateTime, State, T> mapper) {
+        lock.readLock().lock();
+        try {
+            int from = lowerBound(begin);
+            int to = upperBound(end);
+            if (from >= to || limit <= 0) {
+                return List.of();
+            }
+
+            List<T> results = new ArrayList<>(Math.min(to - from, limit));
+            long skip = offset;
+            for (int n = 0; n < to - from && results.size() < limit; n++) {
+                int index = ascending ? from + n : to - 1 - n;
+                State state = stateAt(index);
+                if (!filter.test(state)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                results.add(mapper.apply(timestampAt(index), state));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the entries within the given time range, which match the given state filter.
+     *
+     * @param begin the earliest timestamp (inclusive) or <code>null</code>
+     * @param end the latest timestamp (inclusive) or <code>null</code>
+     * @param filter the filter for the states
+     * @return the number of removed entries
+     */
+    int remove(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, Predicate<State> filter) {
+        lock.writeLock().lock();
+        try {
+            int from = lowerBound(begin);
+            int to = upperBound(end);
+            int target = from;
+            for (int index = from; index < to; index++) {
+                if (!filter.test(stateAt(index))) {
+                    move(index, target++);
+                }
+            }
+            int removed = to - target;
+            if (removed > 0) {
+                for (int index = to; index < size; index++) {
+                    move(index, target++);
+                }
+                for (int index = target; index < size; index++) {
+                    clear(index);
+                }
+                size = target;
+            }
+            return Math.max(0, removed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of entries and the range of their timestamps.
+     *
+     * @return the summary or <code>null</code> if the series is empty
+     */
+    @Nullable
+    Summary getSummary() {
+        lock.readLock().lock();
+        try {
+            return size == 0 ? null : new Summary(size, timestampAt(0), timestampAt(size - 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int physical(int index) {
+        int i = head + index;
+        return i >= seconds.length ? i - seconds.length : i;
+    }
+
+    private int compareAt(int index, long second, int nano) {
+        int p = physical(index);
+        int c = Long.compare(seconds[p], second);
+        return c != 0 ? c : Integer.compare(nanos[p], nano);
+    }
+
+    // index of the first entry not older than the given timestamp
+    private int lowerBound(long second, int nano) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareAt(mid, second, nano) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int lowerBound(@Nullable ZonedDateTime begin) {
+        if (begin == null) {
+            return 0;
+        }
+        Instant instant = begin.toInstant();
+        return lowerBound(instant.getEpochSecond(), instant.getNano());
+    }
+
+    // index of the first entry newer than the given timestamp
+    private int upperBound(@Nullable ZonedDateTime end) {
+        if (end == null) {
+            return size;
+        }
+        Instant instant = end.toInstant();
+        long second = instant.getEpochSecond();
+        int nano = instant.getNano();
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareAt(mid, second, nano) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private State stateAt(int index) {
+        return Objects.requireNonNull(states[physical(index)]);
+    }
+
+    private ZonedDateTime timestampAt(int index) {
+        int p = physical(index);
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(seconds[p], nanos[p]), Objects.requireNonNull(zones[p]));
+    }
+
+    private void set(int index, long second, int nano, ZoneId zone, State state) {
+        State stored = state;
+        if (index > 0) {
+            State previous = stateAt(index - 1);
+            if (previous.equals(state)) {
+                stored = previous;
+            }
+        }
+        int p = physical(index);
+        seconds[p] = second;
+        nanos[p] = nano;
+        zones[p] = zone;
+        states[p] = stored;
+    }
+
+    private void move(int from, int to) {
+        if (from == to) {
+            return;
+        }
+        int pf = physical(from);
+        int pt = physical(to);
+        seconds[pt] = seconds[pf];
+        nanos[pt] = nanos[pf];
+        zones[pt] = zones[pf];
+        states[pt] = states[pf];
+    }
+
+    private void clear(int index) {
+        int p = physical(index);
+        zones[p] = null;
+        states[p] = null;
+    }
+
+    private void removeFirst() {
+        clear(0);
+        head = physical(1);
+        size--;
+    }
+
+    private void ensureCapacity(int required, long maxEntries) {
+        if (required <= seconds.length) {
+            return;
+        }
+        long capacity = Math.min(Math.min((long) seconds.length * 2, maxEntries), MAX_CAPACITY);
+        resize((int) Math.max(capacity, required));
+    }
+
+    private void resize(int capacity) {
+        long[] newSeconds = new long[capacity];
+        int[] newNanos = new int[capacity];
+        @Nullable ZoneId[] newZones = new ZoneId[capacity];
+        @Nullable State[] newStates = new State[capacity];
+        for (int index = 0; index < size; index++) {
+            int p = physical(index);
+            newSeconds[index] = seconds[p];
+            newNanos[index] = nanos[p];
+            newZones[index] = zones[p];
+            newStates[index] = states[p];
+        }
+        seconds = newSeconds;
+        nanos = newNanos;
+        zones = newZones;
+        states = newStates;
+        head = 0;
+    }
+}
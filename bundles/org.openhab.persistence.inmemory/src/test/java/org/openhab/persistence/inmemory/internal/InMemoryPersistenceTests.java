@@ -21,6 +21,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -275,4 +276,54 @@ public class InMemoryPersistenceTests {
 
         // begin date is before first date is already covered by case #1
     }
+
+    @Test
+    public void oldestEntriesAreDroppedWhenMaxEntriesIsReached() {
+        service.activate(Map.of("maxEntries", 3L));
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start.plusHours(1), new DecimalType(2));
+        service.store(item, start.plusHours(3), new DecimalType(4));
+        // out of order
+        service.store(item, start.plusHours(2), new DecimalType(3));
+        service.store(item, start, new DecimalType(1));
+        service.store(item, start.plusHours(4), new DecimalType(5));
+
+        List<Integer> resultSet = new ArrayList<>();
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+
+        assertThat(resultSet, contains(3, 4, 5));
+        assertThat(service.getItemInfo().iterator().next().getCount(), is(3));
+    }
+
+    @Test
+    public void storeWithSameTimestampReplacesState() {
+        ZonedDateTime time = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, time, new StringType("forecast1"));
+        service.store(item, time, new StringType("forecast2"));
+
+        List<State> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(h.getState()));
+
+        assertThat(resultSet, contains(new StringType("forecast2")));
+    }
+
+    @Test
+    public void querySupportsPaging() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 10; i++) {
+            service.store(item, start.plusMinutes(i), new DecimalType(i));
+        }
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.DESCENDING);
+        filterCriteria.setBeginDate(start.plusMinutes(2));
+        filterCriteria.setEndDate(start.plusMinutes(8));
+        filterCriteria.setPageSize(3);
+        filterCriteria.setPageNumber(1);
+
+        List<Integer> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+
+        assertThat(resultSet, contains(5, 4, 3));
+    }
 }
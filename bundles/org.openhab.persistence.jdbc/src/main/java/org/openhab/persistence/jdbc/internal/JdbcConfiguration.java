@@ -66,6 +66,13 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private int storeQueueSize = 10000;
+    private int storeBatchSize = 100;
+    private int storeFlushInterval = 1000;
+    private int storeWriterThreads = 1;
+
+    private int queryCacheWindow = 0;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -149,6 +156,36 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: errReconnectThreshold={}", errReconnectThreshold);
         }
 
+        String qs = (String) configuration.get("storeQueueSize");
+        if (qs != null && !qs.isBlank() && isNumericPattern.matcher(qs).matches()) {
+            storeQueueSize = Math.max(1, Integer.parseInt(qs));
+            logger.debug("JDBC::updateConfig: storeQueueSize={}", storeQueueSize);
+        }
+
+        String bs = (String) configuration.get("storeBatchSize");
+        if (bs != null && !bs.isBlank() && isNumericPattern.matcher(bs).matches()) {
+            storeBatchSize = Math.max(1, Integer.parseInt(bs));
+            logger.debug("JDBC::updateConfig: storeBatchSize={}", storeBatchSize);
+        }
+
+        String fi = (String) configuration.get("storeFlushInterval");
+        if (fi != null && !fi.isBlank() && isNumericPattern.matcher(fi).matches()) {
+            storeFlushInterval = Integer.parseInt(fi);
+            logger.debug("JDBC::updateConfig: storeFlushInterval={}", storeFlushInterval);
+        }
+
+        String wt = (String) configuration.get("storeWriterThreads");
+        if (wt != null && !wt.isBlank() && isNumericPattern.matcher(wt).matches()) {
+            storeWriterThreads = Math.max(1, Integer.parseInt(wt));
+            logger.debug("JDBC::updateConfig: storeWriterThreads={}", storeWriterThreads);
+        }
+
+        String cw = (String) configuration.get("queryCacheWindow");
+        if (cw != null && !cw.isBlank() && isNumericPattern.matcher(cw).matches()) {
+            queryCacheWindow = Integer.parseInt(cw);
+            logger.debug("JDBC::updateConfig: queryCacheWindow={}", queryCacheWindow);
+        }
+
         String mt = (String) configuration.get("itemsManageTable");
         if (mt != null && !mt.isBlank()) {
             itemsManageTable = mt;
@@ -375,6 +412,26 @@ public class JdbcConfiguration {
         return errReconnectThreshold;
     }
 
+    public int getStoreQueueSize() {
+        return storeQueueSize;
+    }
+
+    public int getStoreBatchSize() {
+        return storeBatchSize;
+    }
+
+    public int getStoreFlushInterval() {
+        return storeFlushInterval;
+    }
+
+    public int getStoreWriterThreads() {
+        return storeWriterThreads;
+    }
+
+    public int getQueryCacheWindow() {
+        return queryCacheWindow;
+    }
+
     public boolean getRebuildTableNames() {
         return rebuildTableNames;
     }
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -36,6 +37,7 @@ import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
+import org.openhab.persistence.jdbc.internal.dto.JdbcStoreEntry;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.slf4j.Logger;
@@ -56,8 +58,10 @@ public class JdbcMapper {
     private final TimeZoneProvider timeZoneProvider;
 
     // Error counter - used to reconnect to database on error
-    protected int errCnt;
-    protected boolean initialized = false;
+    protected final AtomicInteger errCnt = new AtomicInteger();
+    protected volatile boolean initialized = false;
+    // only one thread at a time pings the database while it is not accessible
+    private final Object accessabilityLock = new Object();
     protected @NonNullByDefault({}) JdbcConfiguration conf;
     protected final Map<String, String> itemNameToTableNameMap = new HashMap<>();
     protected @NonNullByDefault({}) NamingStrategy namingStrategy;
@@ -222,7 +226,15 @@ public class JdbcMapper {
             conf.getDBDAO().doStoreItemValue(item, itemState, new ItemVO(tableName, null), date);
         }
         logTime("storeItemValue", timerStart, System.currentTimeMillis());
-        errCnt = 0;
+        errCnt.set(0);
+    }
+
+    protected void storeItemValues(String tableName, List<JdbcStoreEntry> entries) throws JdbcException {
+        logger.debug("JDBC::storeItemValues: table={} count={}", tableName, entries.size());
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(tableName, entries);
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt.set(0);
     }
 
     public long getRowCount(String tableName) throws JdbcSQLException {
@@ -238,7 +250,7 @@ public class JdbcMapper {
         List<HistoricItem> result = conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount, table,
                 item.getName(), timeZoneProvider.getTimeZone());
         logTime("getHistItemFilterQuery", timerStart, System.currentTimeMillis());
-        errCnt = 0;
+        errCnt.set(0);
         return result;
     }
 
@@ -247,7 +259,7 @@ public class JdbcMapper {
         long timerStart = System.currentTimeMillis();
         conf.getDBDAO().doDeleteItemValues(filter, table, timeZoneProvider.getTimeZone());
         logTime("deleteItemValues", timerStart, System.currentTimeMillis());
-        errCnt = 0;
+        errCnt.set(0);
     }
 
     /***********************
@@ -292,21 +304,28 @@ public class JdbcMapper {
         if (initialized) {
             return true;
         }
-        try {
-            // first
-            boolean p = pingDB();
-            if (p) {
-                logger.debug("JDBC::checkDBAcessability, first try connection: {}", p);
-                return (p && !(conf.getErrReconnectThreshold() > 0 && errCnt <= conf.getErrReconnectThreshold()));
-            } else {
-                // second
-                p = pingDB();
-                logger.debug("JDBC::checkDBAcessability, second try connection: {}", p);
-                return (p && !(conf.getErrReconnectThreshold() > 0 && errCnt <= conf.getErrReconnectThreshold()));
+        synchronized (accessabilityLock) {
+            if (initialized) {
+                return true;
+            }
+            try {
+                // first
+                boolean p = pingDB();
+                if (p) {
+                    logger.debug("JDBC::checkDBAcessability, first try connection: {}", p);
+                    return (p && !(conf.getErrReconnectThreshold() > 0
+                            && errCnt.get() <= conf.getErrReconnectThreshold()));
+                } else {
+                    // second
+                    p = pingDB();
+                    logger.debug("JDBC::checkDBAcessability, second try connection: {}", p);
+                    return (p && !(conf.getErrReconnectThreshold() > 0
+                            && errCnt.get() <= conf.getErrReconnectThreshold()));
+                }
+            } catch (JdbcSQLException e) {
+                logger.warn("Unable to ping database", e);
+                return false;
             }
-        } catch (JdbcSQLException e) {
-            logger.warn("Unable to ping database", e);
-            return false;
         }
     }
 
@@ -329,7 +348,7 @@ public class JdbcMapper {
             logger.info(
                     "JDBC::checkDBSchema: Rebuild complete, configure the 'rebuildTableNames' setting to 'false' to stop rebuilds on startup");
             // Reset the error counter
-            errCnt = 0;
+            errCnt.set(0);
         }
         populateItemNameToTableNameMap();
     }
@@ -353,7 +372,7 @@ public class JdbcMapper {
         }
     }
 
-    protected String getTable(Item item) throws JdbcException {
+    protected synchronized String getTable(Item item) throws JdbcException {
         String itemName = item.getName();
         if (!initialized) {
             throw new JdbcException("Not initialized, unable to find table for item " + itemName);
@@ -13,21 +13,21 @@
 package org.openhab.persistence.jdbc.internal;
 
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.common.registry.RegistryChangeListener;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.GroupItem;
@@ -46,6 +46,8 @@ import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.JdbcStoreEntry;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.framework.BundleContext;
@@ -57,6 +59,9 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
 /**
  * This is the implementation of the JDBC {@link PersistenceService}.
  *
@@ -64,18 +69,45 @@ import org.slf4j.LoggerFactory;
  * @author Kai Kreuzer - Migration to 3.x
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class,
-        QueryablePersistenceService.class }, configurationPid = "org.openhab.jdbc", //
+@Component(service = { PersistenceService.class, QueryablePersistenceService.class,
+        MeterBinder.class }, configurationPid = "org.openhab.jdbc", //
         property = Constants.SERVICE_PID + "=org.openhab.jdbc")
 @ConfigurableService(category = "persistence", label = "JDBC Persistence Service", description_uri = JdbcPersistenceServiceConstants.CONFIG_URI)
-public class JdbcPersistenceService extends JdbcMapper implements ModifiablePersistenceService {
+public class JdbcPersistenceService extends JdbcMapper implements ModifiablePersistenceService, MeterBinder {
+
+    private static final long STORE_QUEUE_SHUTDOWN_TIMEOUT = 10000;
 
     private final Logger logger = LoggerFactory.getLogger(JdbcPersistenceService.class);
 
     private final ItemRegistry itemRegistry;
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
-            new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
+    private @Nullable JdbcStoreQueue storeQueue;
+    private @Nullable JdbcQueryCache queryCache;
+    private final PersistenceMetrics metrics = new PersistenceMetrics(JdbcPersistenceServiceConstants.SERVICE_ID,
+            this::getQueueDepth);
+
+    private final RegistryChangeListener<Item> itemRemovalListener = new RegistryChangeListener<>() {
+        @Override
+        public void added(Item element) {
+        }
+
+        @Override
+        public void removed(Item element) {
+            JdbcQueryCache queryCache = JdbcPersistenceService.this.queryCache;
+            if (queryCache != null) {
+                queryCache.remove(element.getName());
+            }
+        }
+
+        @Override
+        public void updated(Item oldElement, Item element) {
+            JdbcQueryCache queryCache = JdbcPersistenceService.this.queryCache;
+            if (queryCache != null) {
+                // the type of the values may have changed
+                queryCache.remove(oldElement.getName());
+            }
+        }
+    };
 
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
@@ -98,6 +130,10 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     public void activate(BundleContext bundleContext, Map<Object, Object> configuration) {
         logger.debug("JDBC::activate: persistence service activated");
         updateConfig(configuration);
+        storeQueue = new JdbcStoreQueue(conf.getStoreQueueSize(), conf.getStoreBatchSize(),
+                conf.getStoreFlushInterval(), conf.getStoreWriterThreads(), this::storeBatch);
+        queryCache = conf.getQueryCacheWindow() > 0 ? new JdbcQueryCache(conf.getQueryCacheWindow()) : null;
+        itemRegistry.addRegistryChangeListener(itemRemovalListener);
     }
 
     /**
@@ -121,6 +157,19 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
         // closeConnection();
+        itemRegistry.removeRegistryChangeListener(itemRemovalListener);
+        JdbcStoreQueue storeQueue = this.storeQueue;
+        if (storeQueue != null) {
+            storeQueue.shutdown(STORE_QUEUE_SHUTDOWN_TIMEOUT);
+            this.storeQueue = null;
+        }
+        JdbcQueryCache queryCache = this.queryCache;
+        if (queryCache != null) {
+            logger.debug("JDBC::deactivate: query cache answered {} queries, {} queries loaded from database",
+                    queryCache.getHitCount(), queryCache.getMissCount());
+            queryCache.clear();
+            this.queryCache = null;
+        }
         initialized = false;
     }
 
@@ -137,47 +186,114 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        internalStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        internalStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state));
+        internalStore(item, date, state);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, date, state));
+        internalStore(item, date, state);
     }
 
-    private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state) {
+    private void internalStore(Item item, @Nullable ZonedDateTime date, State state) {
         // Do not store undefined/uninitialized data
         if (state instanceof UnDefType) {
             logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
             return;
         }
+        JdbcStoreQueue storeQueue = this.storeQueue;
+        if (storeQueue == null) {
+            logger.debug("JDBC::store: service not active, ignore Item '{}'", item.getName());
+            return;
+        }
+        // When batching, the time of the state change is fixed now instead of by the database at insert time, as
+        // the value may wait in the queue for up to the flush interval and all rows of a batch are inserted at once.
+        ZonedDateTime timestamp = date == null && storeQueue.getBatchSize() > 1 ? ZonedDateTime.now() : date;
+        if (!storeQueue.offer(new JdbcStoreEntry(item, state, timestamp))) {
+            logger.debug("JDBC::store: write queue full, dropped state '{}' for item '{}'", state, item.getName());
+        }
+    }
+
+    private void storeBatch(List<JdbcStoreEntry> entries) {
         if (!checkDBAccessability()) {
             logger.warn(
-                    "JDBC::store: No connection to database. Cannot persist state '{}' for item '{}'! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
-                    state, item, errCnt, conf.getErrReconnectThreshold());
+                    "JDBC::store: No connection to database. Cannot persist {} state(s)! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
+                    entries.size(), errCnt.get(), conf.getErrReconnectThreshold());
             return;
         }
-        try {
-            long timerStart = System.currentTimeMillis();
-            storeItemValue(item, state, date);
-            if (logger.isDebugEnabled()) {
-                logger.debug("JDBC: Stored item '{}' as '{}' in SQL database at {} in {} ms.", item.getName(), state,
-                        new Date(), System.currentTimeMillis() - timerStart);
+        Map<String, List<JdbcStoreEntry>> entriesByTable = new LinkedHashMap<>();
+        for (JdbcStoreEntry entry : entries) {
+            try {
+                entriesByTable.computeIfAbsent(getTable(entry.getItem()), t -> new ArrayList<>()).add(entry);
+            } catch (JdbcException e) {
+                logger.warn("JDBC::store: Unable to store item", e);
+            }
+        }
+        for (Entry<String, List<JdbcStoreEntry>> tableEntries : entriesByTable.entrySet()) {
+            List<JdbcStoreEntry> values = tableEntries.getValue();
+            try {
+                long timerStart = System.currentTimeMillis();
+                long storeStart = System.nanoTime();
+                if (values.size() == 1) {
+                    JdbcStoreEntry entry = values.get(0);
+                    storeItemValue(entry.getItem(), entry.getState(), entry.getDate());
+                } else {
+                    storeItemValues(tableEntries.getKey(), values);
+                }
+                metrics.recordStore(System.nanoTime() - storeStart);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("JDBC: Stored {} value(s) of item '{}' in SQL database at {} in {} ms.", values.size(),
+                            values.get(0).getItem().getName(), new Date(), System.currentTimeMillis() - timerStart);
+                }
+                updateQueryCache(values);
+            } catch (JdbcException e) {
+                logger.warn("JDBC::store: Unable to store item", e);
+                invalidateQueryCache(values);
+            }
+        }
+    }
+
+    private void updateQueryCache(List<JdbcStoreEntry> entries) {
+        JdbcQueryCache queryCache = this.queryCache;
+        if (queryCache == null) {
+            return;
+        }
+        for (JdbcStoreEntry entry : entries) {
+            String itemName = entry.getItem().getName();
+            ZonedDateTime date = entry.getDate();
+            if (date == null) {
+                // the timestamp has been set by the database
+                queryCache.invalidate(itemName);
+                continue;
+            }
+            try {
+                State state = conf.getDBDAO().getStoredState(entry.getItem(), entry.getState(),
+                        conf.getNumberDecimalcount());
+                queryCache.append(itemName,
+                        new JdbcHistoricItem(itemName, state, date.toInstant().truncatedTo(ChronoUnit.MILLIS)));
+            } catch (RuntimeException e) {
+                logger.debug("JDBC::store: Unable to add state '{}' of item '{}' to query cache: {}",
+                        entry.getState(), itemName, e.getMessage());
+                queryCache.invalidate(itemName);
             }
-        } catch (JdbcException e) {
-            logger.warn("JDBC::store: Unable to store item", e);
+        }
+    }
+
+    private void invalidateQueryCache(List<JdbcStoreEntry> entries) {
+        JdbcQueryCache queryCache = this.queryCache;
+        if (queryCache != null) {
+            entries.forEach(entry -> queryCache.invalidate(entry.getItem().getName()));
         }
     }
 
@@ -239,13 +355,21 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
         try {
             long timerStart = System.currentTimeMillis();
-            List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+            long queryStart = System.nanoTime();
+            JdbcQueryCache queryCache = this.queryCache;
+            Item queryItem = item;
+            int numberDecimalcount = conf.getNumberDecimalcount();
+            List<HistoricItem> items = queryCache != null && queryCache.isCacheable(filter)
+                    ? queryCache.query(filter,
+                            windowFilter -> getHistItemFilterQuery(windowFilter, numberDecimalcount, table, queryItem))
+                    : getHistItemFilterQuery(filter, numberDecimalcount, table, item);
+            metrics.recordQuery(System.nanoTime() - queryStart);
             if (logger.isDebugEnabled()) {
                 logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", itemName, items.size(),
                         System.currentTimeMillis() - timerStart);
             }
             // Success
-            errCnt = 0;
+            errCnt.set(0);
             return items;
         } catch (JdbcSQLException e) {
             logger.warn("JDBC::query: Unable to query item", e);
@@ -311,9 +435,31 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         } catch (JdbcSQLException e) {
             logger.debug("JDBC::remove: Unable to remove values for item", e);
             return false;
+        } finally {
+            JdbcQueryCache queryCache = this.queryCache;
+            if (queryCache != null) {
+                queryCache.invalidate(itemName);
+            }
         }
     }
 
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        metrics.bindTo(registry);
+    }
+
+    private int getQueueDepth() {
+        JdbcStoreQueue storeQueue = this.storeQueue;
+        return storeQueue != null ? storeQueue.getQueueDepth() : 0;
+    }
+
+    /**
+     * Get the write queue, if the service is active.
+     */
+    public @Nullable JdbcStoreQueue getStoreQueue() {
+        return storeQueue;
+    }
+
     /**
      * Get a list of names of persisted items.
      */
@@ -551,6 +697,10 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
                     deleteItemsEntry(itemsVo);
                 }
                 itemNameToTableNameMap.remove(entry.getItemName());
+                JdbcQueryCache queryCache = this.queryCache;
+                if (queryCache != null) {
+                    queryCache.remove(entry.getItemName());
+                }
                 return true;
             case ORPHAN_TABLE:
             case VALID:
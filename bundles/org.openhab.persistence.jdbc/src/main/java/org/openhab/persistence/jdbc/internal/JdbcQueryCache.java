@@ -0,0 +1,276 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+
+/**
+ * In-memory cache of the most recent values of items, used to answer queries for recent time ranges (e.g. of charts)
+ * without a database round trip.
+ *
+ * The first cacheable query for an item loads all of its values within the cache window from the database. Further
+ * queries, whose begin lies within the loaded range, are answered from memory. Values written to the database by the
+ * service are appended, so the cache stays current without reloading. An item is invalidated whenever its values
+ * cannot be appended, e.g. because their timestamp is set by the database, and when values are removed.
+ *
+ * Values older than the window are dropped, and items not queried for longer than the window are evicted.
+ *
+ * @author Helmut Lehmeyer - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcQueryCache {
+
+    /**
+     * Loads values from the database.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        List<HistoricItem> load(FilterCriteria filter) throws JdbcSQLException;
+    }
+
+    private static class Series {
+        // incremented on every modification, so a load running concurrently can detect that it is outdated
+        long version;
+        // values ordered by ascending timestamp, or null if not loaded
+        @Nullable
+        List<HistoricItem> entries;
+        // all values of the item since this instant are contained in entries
+        Instant coveredFrom = Instant.MAX;
+        Instant lastQueried = Instant.MIN;
+    }
+
+    private static final Comparator<HistoricItem> BY_INSTANT = Comparator.comparing(HistoricItem::getInstant);
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private final Duration window;
+    private final Clock clock;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * @param windowMinutes time range in minutes before now for which values are cached
+     */
+    public JdbcQueryCache(int windowMinutes) {
+        this(Duration.ofMinutes(windowMinutes), Clock.systemUTC());
+    }
+
+    JdbcQueryCache(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether the cache can answer a query: it must not filter by state and must begin within the cache window.
+     */
+    public boolean isCacheable(FilterCriteria filter) {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        return filter.getItemName() != null && filter.getState() == null && beginDate != null
+                && !truncate(beginDate).isBefore(windowStart());
+    }
+
+    /**
+     * Answers a query from the cache, loading the values within the cache window first if needed.
+     *
+     * @param filter a filter for which {@link #isCacheable(FilterCriteria)} returns <code>true</code>
+     * @param loader loads the values of the item from the database
+     * @return the values matching the filter
+     * @throws JdbcSQLException if loading the values failed
+     */
+    public List<HistoricItem> query(FilterCriteria filter, Loader loader) throws JdbcSQLException {
+        String itemName = filter.getItemName();
+        ZonedDateTime beginDate = filter.getBeginDate();
+        if (itemName == null || beginDate == null) {
+            throw new IllegalArgumentException("Filter is not cacheable: " + filter);
+        }
+        Instant begin = truncate(beginDate);
+        Instant now = clock.instant();
+        Series series = this.series.computeIfAbsent(itemName, name -> new Series());
+        long version;
+        synchronized (series) {
+            series.lastQueried = now;
+            List<HistoricItem> entries = series.entries;
+            if (entries != null && !begin.isBefore(series.coveredFrom)) {
+                hitCount.incrementAndGet();
+                return select(entries, begin, filter);
+            }
+            version = series.version;
+        }
+        missCount.incrementAndGet();
+
+        Instant loadFrom = windowStart();
+        if (begin.isBefore(loadFrom)) {
+            loadFrom = begin;
+        }
+        FilterCriteria windowFilter = new FilterCriteria().setItemName(itemName)
+                .setBeginDate(ZonedDateTime.ofInstant(loadFrom, ZoneOffset.UTC)).setOrdering(Ordering.ASCENDING);
+        List<HistoricItem> loaded = new ArrayList<>(loader.load(windowFilter));
+        loaded.sort(BY_INSTANT);
+        synchronized (series) {
+            if (series.version == version) {
+                series.entries = loaded;
+                series.coveredFrom = loadFrom;
+            }
+            return select(loaded, begin, filter);
+        }
+    }
+
+    /**
+     * Adds a value that has been written to the database, replacing a value with the same timestamp.
+     *
+     * @param itemName the name of the item
+     * @param item the value, as it would be returned by a query
+     */
+    public void append(String itemName, HistoricItem item) {
+        Series series = this.series.get(itemName);
+        if (series == null) {
+            return;
+        }
+        Instant now = clock.instant();
+        synchronized (series) {
+            series.version++;
+            List<HistoricItem> entries = series.entries;
+            if (entries == null) {
+                return;
+            }
+            if (series.lastQueried.isBefore(now.minus(window))) {
+                // not queried for a while, do not keep the values up to date any longer
+                series.entries = null;
+                this.series.remove(itemName, series);
+                return;
+            }
+            Instant instant = item.getInstant();
+            if (instant.isBefore(series.coveredFrom)) {
+                return;
+            }
+            int index = lowerBound(entries, instant);
+            if (index < entries.size() && entries.get(index).getInstant().equals(instant)) {
+                entries.set(index, item);
+            } else {
+                entries.add(index, item);
+            }
+            Instant windowStart = windowStart();
+            if (series.coveredFrom.isBefore(windowStart)) {
+                entries.subList(0, lowerBound(entries, windowStart)).clear();
+                series.coveredFrom = windowStart;
+            }
+        }
+    }
+
+    /**
+     * Drops the cached values of an item, e.g. after values have been removed from the database.
+     *
+     * @param itemName the name of the item
+     */
+    public void invalidate(String itemName) {
+        Series series = this.series.get(itemName);
+        if (series == null) {
+            return;
+        }
+        synchronized (series) {
+            series.version++;
+            series.entries = null;
+        }
+    }
+
+    /**
+     * Drops an item from the cache, e.g. after it has been removed.
+     *
+     * @param itemName the name of the item
+     */
+    public void remove(String itemName) {
+        Series series = this.series.remove(itemName);
+        if (series == null) {
+            return;
+        }
+        synchronized (series) {
+            series.version++;
+            series.entries = null;
+        }
+    }
+
+    /**
+     * Drops all items from the cache.
+     */
+    public void clear() {
+        series.keySet().forEach(this::remove);
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private Instant windowStart() {
+        return clock.instant().minus(window).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    /**
+     * Applies the time range, ordering and paging of a filter like the database query does. The database compares
+     * timestamps with the time filter with a precision of seconds.
+     */
+    private static List<HistoricItem> select(List<HistoricItem> entries, Instant begin, FilterCriteria filter) {
+        ZonedDateTime endDate = filter.getEndDate();
+        int from = lowerBound(entries, begin);
+        int to = endDate == null ? entries.size() : lowerBound(entries, truncate(endDate).plusNanos(1));
+        int pageSize = filter.getPageSize();
+        long offset = pageSize == Integer.MAX_VALUE ? 0 : (long) filter.getPageNumber() * pageSize;
+        boolean ascending = filter.getOrdering() == Ordering.ASCENDING;
+
+        List<HistoricItem> result = new ArrayList<>();
+        for (long n = offset; n < to - from && result.size() < pageSize; n++) {
+            result.add(entries.get((int) (ascending ? from + n : to - 1 - n)));
+        }
+        return result;
+    }
+
+    // index of the first value not older than the given instant
+    private static int lowerBound(List<HistoricItem> entries, Instant instant) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries.get(mid).getInstant().isBefore(instant)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static Instant truncate(ZonedDateTime date) {
+        return date.toInstant().truncatedTo(ChronoUnit.SECONDS);
+    }
+}
@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.persistence.jdbc.internal.dto.JdbcStoreEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded write queue in front of the database. Entries are distributed over a number of writer threads by item
+ * name, so values of one item are always written in order by the same writer, while different items can be written
+ * in parallel over several pool connections. Each writer collects entries until either the batch size is reached or
+ * the flush interval has elapsed since the first entry of the batch was taken, and then hands the batch over to the
+ * batch handler.
+ *
+ * @author Helmut Lehmeyer - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcStoreQueue {
+    private static final long IDLE_POLL_MILLIS = 500;
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcStoreQueue.class);
+
+    private final List<BlockingQueue<JdbcStoreEntry>> queues = new ArrayList<>();
+    private final ExecutorService writers;
+    private final Consumer<List<JdbcStoreEntry>> batchHandler;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private volatile boolean running = true;
+
+    private final AtomicBoolean full = new AtomicBoolean(false);
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushedEntryCount = new AtomicLong();
+    private final AtomicLong flushTimeNanos = new AtomicLong();
+    private final AtomicLong maxFlushTimeNanos = new AtomicLong();
+    private final AtomicLong lastFlushTimeNanos = new AtomicLong();
+    private final AtomicLong lastBatchSize = new AtomicLong();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+
+    /**
+     * Creates the queue and starts its writer threads.
+     *
+     * @param queueSize maximum number of entries waiting in total, further entries are dropped
+     * @param batchSize maximum number of entries handed over to the batch handler at once
+     * @param flushInterval maximum time in milliseconds an entry waits for further entries to fill its batch
+     * @param writerCount number of writer threads, and thereby the number of concurrently used connections
+     * @param batchHandler writes a batch to the database
+     */
+    public JdbcStoreQueue(int queueSize, int batchSize, int flushInterval, int writerCount,
+            Consumer<List<JdbcStoreEntry>> batchHandler) {
+        this.batchHandler = batchHandler;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, flushInterval));
+        int writers = Math.max(1, writerCount);
+        int capacity = Math.max(1, queueSize / writers);
+        this.writers = Executors.newFixedThreadPool(writers,
+                new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID + "-writer"));
+        for (int i = 0; i < writers; i++) {
+            BlockingQueue<JdbcStoreEntry> queue = new LinkedBlockingQueue<>(capacity);
+            queues.add(queue);
+            this.writers.execute(() -> runWriter(queue));
+        }
+        logger.debug("JDBC::JdbcStoreQueue: started {} writer(s), capacity={}, batchSize={}, flushInterval={} ms",
+                writers, capacity * writers, this.batchSize, flushInterval);
+    }
+
+    /**
+     * Adds an entry to the queue of its writer.
+     *
+     * @param entry the entry to store
+     * @return false if the queue is full or shut down and the entry has been dropped
+     */
+    public boolean offer(JdbcStoreEntry entry) {
+        BlockingQueue<JdbcStoreEntry> queue = queues
+                .get(Math.floorMod(entry.getItem().getName().hashCode(), queues.size()));
+        if (running && queue.offer(entry)) {
+            enqueuedCount.incrementAndGet();
+            if (full.compareAndSet(true, false)) {
+                logger.info("JDBC::store: Write queue accepts new entries again, {} entries dropped so far.",
+                        droppedCount.get());
+            }
+            return true;
+        }
+        droppedCount.incrementAndGet();
+        if (running && full.compareAndSet(false, true)) {
+            logger.warn("JDBC::store: Write queue is full, dropping new entries until the database catches up.");
+        }
+        return false;
+    }
+
+    /**
+     * Stops accepting new entries and waits for the writers to flush the remaining ones.
+     *
+     * @param timeout maximum time in milliseconds to wait for pending entries to be written
+     */
+    public void shutdown(long timeout) {
+        running = false;
+        writers.shutdown();
+        try {
+            if (!writers.awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
+                logger.warn("JDBC::shutdown: Write queue not flushed within {} ms, {} entries are lost.", timeout,
+                        getQueueDepth());
+                writers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter(BlockingQueue<JdbcStoreEntry> queue) {
+        List<JdbcStoreEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                JdbcStoreEntry first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    JdbcStoreEntry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                flush(batch);
+                Thread.currentThread().interrupt();
+                return;
+            }
+            flush(batch);
+        }
+    }
+
+    private void flush(List<JdbcStoreEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            batchHandler.accept(batch);
+        } catch (RuntimeException e) {
+            logger.warn("JDBC::flush: Unable to store {} entries", batch.size(), e);
+        }
+        long duration = System.nanoTime() - start;
+        flushCount.incrementAndGet();
+        flushedEntryCount.addAndGet(batch.size());
+        flushTimeNanos.addAndGet(duration);
+        lastFlushTimeNanos.set(duration);
+        maxFlushTimeNanos.accumulateAndGet(duration, Math::max);
+        lastBatchSize.set(batch.size());
+        maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+        batch.clear();
+    }
+
+    public int getQueueDepth() {
+        return queues.stream().mapToInt(BlockingQueue::size).sum();
+    }
+
+    public int getQueueCapacity() {
+        return queues.stream().mapToInt(q -> q.size() + q.remainingCapacity()).sum();
+    }
+
+    public int getWriterCount() {
+        return queues.size();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getEnqueuedCount() {
+        return enqueuedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getFlushedEntryCount() {
+        return flushedEntryCount.get();
+    }
+
+    public long getLastBatchSize() {
+        return lastBatchSize.get();
+    }
+
+    public long getMaxBatchSize() {
+        return maxBatchSize.get();
+    }
+
+    public double getAverageBatchSize() {
+        long flushes = flushCount.get();
+        return flushes == 0 ? 0 : (double) flushedEntryCount.get() / flushes;
+    }
+
+    public double getLastFlushTime() {
+        return lastFlushTimeNanos.get() / 1_000_000.0;
+    }
+
+    public double getMaxFlushTime() {
+        return maxFlushTimeNanos.get() / 1_000_000.0;
+    }
+
+    public double getAverageFlushTime() {
+        long flushes = flushCount.get();
+        return flushes == 0 ? 0 : flushTimeNanos.get() / 1_000_000.0 / flushes;
+    }
+}
@@ -34,6 +34,7 @@ import org.openhab.persistence.jdbc.internal.ItemTableCheckEntry;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntryStatus;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceService;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceServiceConstants;
+import org.openhab.persistence.jdbc.internal.JdbcStoreQueue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -51,6 +52,7 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String CMD_SCHEMA = "schema";
     private static final String CMD_TABLES = "tables";
     private static final String CMD_RELOAD = "reload";
+    private static final String CMD_QUEUE = "queue";
     private static final String SUBCMD_SCHEMA_CHECK = "check";
     private static final String SUBCMD_SCHEMA_FIX = "fix";
     private static final String SUBCMD_TABLES_LIST = "list";
@@ -58,7 +60,7 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String PARAMETER_ALL = "all";
     private static final String PARAMETER_FORCE = "force";
     private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
-            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD), false);
+            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD, CMD_QUEUE), false);
     private static final StringsCompleter SUBCMD_SCHEMA_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_SCHEMA_CHECK, SUBCMD_SCHEMA_FIX), false);
     private static final StringsCompleter SUBCMD_TABLES_COMPLETER = new StringsCompleter(
@@ -135,6 +137,9 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         } else if (args.length == 1 && CMD_RELOAD.equalsIgnoreCase(args[0])) {
             reload(persistenceService, console);
             return true;
+        } else if (args.length == 1 && CMD_QUEUE.equalsIgnoreCase(args[0])) {
+            printQueueStatistics(persistenceService, console);
+            return true;
         }
         return false;
     }
@@ -252,6 +257,26 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         console.println("Item index reloaded.");
     }
 
+    private void printQueueStatistics(JdbcPersistenceService persistenceService, Console console) {
+        JdbcStoreQueue storeQueue = persistenceService.getStoreQueue();
+        if (storeQueue == null) {
+            console.println("Write queue is not active.");
+            return;
+        }
+        console.println(String.format("Queue depth:        %d / %d", storeQueue.getQueueDepth(),
+                storeQueue.getQueueCapacity()));
+        console.println(String.format("Writers:            %d", storeQueue.getWriterCount()));
+        console.println(String.format("Enqueued:           %d", storeQueue.getEnqueuedCount()));
+        console.println(String.format("Dropped:            %d", storeQueue.getDroppedCount()));
+        console.println(String.format("Flushes:            %d (%d values)", storeQueue.getFlushCount(),
+                storeQueue.getFlushedEntryCount()));
+        console.println(String.format("Batch size:         last %d, avg %.1f, max %d (limit %d)",
+                storeQueue.getLastBatchSize(), storeQueue.getAverageBatchSize(), storeQueue.getMaxBatchSize(),
+                storeQueue.getBatchSize()));
+        console.println(String.format("Flush latency (ms): last %.1f, avg %.1f, max %.1f",
+                storeQueue.getLastFlushTime(), storeQueue.getAverageFlushTime(), storeQueue.getMaxFlushTime()));
+    }
+
     @Override
     public List<String> getUsages() {
         return Arrays.asList(buildCommandUsage(CMD_SCHEMA + " " + SUBCMD_SCHEMA_CHECK, "check schema integrity"),
@@ -261,7 +286,8 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                 buildCommandUsage(
                         CMD_TABLES + " " + SUBCMD_TABLES_CLEAN + " [<itemName>]" + " [" + PARAMETER_FORCE + "]",
                         "clean inconsistent items (remove from index and drop tables)"),
-                buildCommandUsage(CMD_RELOAD, "reload item index/schema"));
+                buildCommandUsage(CMD_RELOAD, "reload item index/schema"),
+                buildCommandUsage(CMD_QUEUE, "show write queue statistics"));
     }
 
     @Override
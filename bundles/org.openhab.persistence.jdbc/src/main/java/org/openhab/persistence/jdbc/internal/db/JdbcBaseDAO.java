@@ -13,13 +13,16 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -60,6 +63,7 @@ import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.JdbcStoreEntry;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -444,11 +448,9 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { formattedIdentifier(storedVO.getTableName()), "?" });
+        String sql = storeItemValueWithTimeSqlProvider(storedVO);
         java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
+        Object[] params = storeItemValueWithTimeParamsProvider(storedVO, timestamp);
         logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -457,6 +459,35 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Stores several values of the same item table with a single JDBC batch (addBatch/executeBatch).
+     *
+     * @param tableName name of the item table
+     * @param entries values to store, entries without timestamp are stored with the current time
+     * @throws JdbcSQLException on SQL errors
+     */
+    public void doStoreItemValues(String tableName, List<JdbcStoreEntry> entries) throws JdbcSQLException {
+        // the statement only depends on table and data type, group by it to be safe for items changing their type
+        Map<String, List<Object[]>> batches = new LinkedHashMap<>();
+        for (JdbcStoreEntry entry : entries) {
+            ItemVO storedVO = storeItemValueProvider(entry.getItem(), entry.getState(), new ItemVO(tableName, null));
+            String sql = storeItemValueWithTimeSqlProvider(storedVO);
+            ZonedDateTime date = entry.getDate();
+            java.sql.Timestamp timestamp = new java.sql.Timestamp(
+                    (date != null ? date.toInstant() : Instant.now()).toEpochMilli());
+            batches.computeIfAbsent(sql, k -> new ArrayList<>())
+                    .add(storeItemValueWithTimeParamsProvider(storedVO, timestamp));
+        }
+        for (Map.Entry<String, List<Object[]>> batch : batches.entrySet()) {
+            logger.debug("JDBC::doStoreItemValues sql={} batchSize={}", batch.getKey(), batch.getValue().size());
+            try {
+                Yank.executeBatch(batch.getKey(), batch.getValue().toArray(new Object[0][]));
+            } catch (YankSQLException e) {
+                throw new JdbcSQLException(e);
+            }
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
@@ -479,6 +510,27 @@ public class JdbcBaseDAO {
                 .collect(Collectors.<HistoricItem> toList());
     }
 
+    /**
+     * Converts a state like storing it and reading it back by {@link #doGetHistItemFilterQuery} does, e.g. to the unit
+     * of the item, the SQL type of its value and the rounding of numbers.
+     *
+     * @throws IllegalStateException if the item is a group item without base item
+     */
+    public State getStoredState(Item item, State itemState, int numberDecimalcount) {
+        Item stateItem = item instanceof GroupItem groupItem ? groupItem.getBaseItem() : item;
+        if (stateItem == null) {
+            throw new IllegalStateException("Base item of group item " + item.getName() + " is not set");
+        }
+        Object value = storeItemValueProvider(item, itemState, new ItemVO(item.getName(), null)).getValue();
+        // round like histItemFilterQueryProvider does, which is passed the item name as simple name
+        if (value instanceof Number number && "NUMBERITEM".equalsIgnoreCase(item.getName())
+                && numberDecimalcount > -1) {
+            value = new BigDecimal(number.toString()).setScale(numberDecimalcount, RoundingMode.HALF_UP);
+        }
+        Unit<? extends Quantity<?>> unit = stateItem instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        return objectAsState(stateItem, unit, value);
+    }
+
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterDeleteProvider(filter, table, timeZone);
         logger.debug("JDBC::doDeleteItemValues sql={}", sql);
@@ -554,6 +606,19 @@ public class JdbcBaseDAO {
         return filterString;
     }
 
+    /**
+     * Provides the insert statement for a value with an explicit timestamp, the timestamp being the first parameter.
+     */
+    protected String storeItemValueWithTimeSqlProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" },
+                new String[] { formattedIdentifier(storedVO.getTableName()), "?" });
+    }
+
+    protected Object[] storeItemValueWithTimeParamsProvider(ItemVO storedVO, java.sql.Timestamp timestamp) {
+        return new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() };
+    }
+
     private String updateItemTableNamesProvider(ItemVO itemTable) {
         String newTableName = itemTable.getNewTableName();
         if (newTableName == null) {
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.dto;
+
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.items.Item;
+import org.openhab.core.types.State;
+
+/**
+ * Represents a pending store request waiting in the write queue.
+ *
+ * @author Helmut Lehmeyer - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcStoreEntry {
+
+    private final Item item;
+    private final State state;
+    private final @Nullable ZonedDateTime date;
+
+    public JdbcStoreEntry(Item item, State state, @Nullable ZonedDateTime date) {
+        this.item = item;
+        this.state = state;
+        this.date = date;
+    }
+
+    public Item getItem() {
+        return item;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the timestamp of the value, or <code>null</code> if the database should set it when inserting.
+     */
+    public @Nullable ZonedDateTime getDate() {
+        return date;
+    }
+
+    @Override
+    public String toString() {
+        return "JdbcStoreEntry [item=" + item.getName() + ", state=" + state + ", date=" + date + "]";
+    }
+}
@@ -12,15 +12,25 @@
  */
 package org.openhab.persistence.jdbc.internal;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.mock;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.i18n.TimeZoneProvider;
+import org.openhab.core.items.Item;
+import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * Tests the {@link JdbcPersistenceService}.
@@ -30,12 +40,20 @@ import org.openhab.core.persistence.FilterCriteria;
 @NonNullByDefault
 public class JdbcPersistenceServiceTest {
 
-    private final JdbcPersistenceService jdbcPersistenceService = new JdbcPersistenceService(mock(ItemRegistry.class),
+    private final ItemRegistry itemRegistry = mock(ItemRegistry.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JdbcPersistenceService jdbcPersistenceService = new JdbcPersistenceService(itemRegistry,
             mock(TimeZoneProvider.class)) {
         @Override
         protected boolean checkDBAccessability() {
             return true;
         }
+
+        @Override
+        protected List<HistoricItem> getHistItemFilterQuery(FilterCriteria filter, int numberDecimalcount, String table,
+                Item item) {
+            return List.of();
+        }
     };
     private @NonNullByDefault({}) FilterCriteria filter;
 
@@ -48,4 +66,28 @@ public class JdbcPersistenceServiceTest {
     void removeThrowsIllegalArgumentExceptionIfItemNameOfFilterIsNull() {
         assertThrows(IllegalArgumentException.class, () -> jdbcPersistenceService.remove(filter));
     }
+
+    @Test
+    void queueDepthIsBound() {
+        jdbcPersistenceService.bindTo(meterRegistry);
+        Gauge queueDepth = meterRegistry.get(PersistenceMetrics.QUEUE).tag("service", "jdbc").gauge();
+        // the queue is only created when the service is activated
+        assertEquals(0, queueDepth.value());
+    }
+
+    @Test
+    void queriesAreCounted() throws ItemNotFoundException {
+        when(itemRegistry.getItem("item")).thenReturn(new NumberItem("item"));
+        jdbcPersistenceService.conf = mock(JdbcConfiguration.class);
+        jdbcPersistenceService.itemNameToTableNameMap.put("item", "item0001");
+        jdbcPersistenceService.bindTo(meterRegistry);
+        filter.setItemName("item");
+
+        jdbcPersistenceService.query(filter);
+        jdbcPersistenceService.query(filter);
+
+        FunctionTimer queries = meterRegistry.get(PersistenceMetrics.QUERY).tag("service", "jdbc").functionTimer();
+        assertEquals(2, queries.count());
+        assertEquals(0, meterRegistry.get(PersistenceMetrics.STORE).functionTimer().count());
+    }
 }
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Operator;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+
+/**
+ * Tests the {@link JdbcQueryCache}.
+ *
+ * @author Helmut Lehmeyer - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcQueryCacheTest {
+
+    private static final String ITEM_NAME = "Item";
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    private final List<HistoricItem> database = new ArrayList<>();
+    private final List<FilterCriteria> loads = new ArrayList<>();
+    private final JdbcQueryCache cache = new JdbcQueryCache(Duration.ofMinutes(60), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @BeforeEach
+    void setup() {
+        for (int i = 0; i < 5; i++) {
+            database.add(value(i, -50 + i * 10));
+        }
+    }
+
+    private static HistoricItem value(int value, int minutesFromNow) {
+        return new JdbcHistoricItem(ITEM_NAME, new DecimalType(value), NOW.plus(Duration.ofMinutes(minutesFromNow)));
+    }
+
+    private static ZonedDateTime date(int minutesFromNow) {
+        return ZonedDateTime.ofInstant(NOW.plus(Duration.ofMinutes(minutesFromNow)), ZoneOffset.UTC);
+    }
+
+    private static FilterCriteria filter(int beginMinutesFromNow) {
+        return new FilterCriteria().setItemName(ITEM_NAME).setBeginDate(date(beginMinutesFromNow));
+    }
+
+    private List<HistoricItem> query(FilterCriteria filter) throws Exception {
+        assertTrue(cache.isCacheable(filter));
+        return cache.query(filter, windowFilter -> {
+            loads.add(windowFilter);
+            ZonedDateTime begin = windowFilter.getBeginDate();
+            return database.stream().filter(item -> begin == null || !item.getInstant().isBefore(begin.toInstant()))
+                    .toList();
+        });
+    }
+
+    private static List<Integer> values(List<HistoricItem> items) {
+        return items.stream().map(item -> ((DecimalType) item.getState()).intValue()).toList();
+    }
+
+    @Test
+    void repeatedQueriesAreAnsweredFromMemory() throws Exception {
+        assertThat(values(query(filter(-60))), contains(4, 3, 2, 1, 0));
+        assertThat(values(query(filter(-25).setOrdering(Ordering.ASCENDING))), contains(3, 4));
+
+        assertThat(loads.size(), is(1));
+        assertThat(loads.get(0).getBeginDate().toInstant(), is(NOW.minus(Duration.ofMinutes(60))));
+        assertThat(cache.getHitCount(), is(1L));
+        assertThat(cache.getMissCount(), is(1L));
+    }
+
+    @Test
+    void endDateAndPagingAreApplied() throws Exception {
+        assertThat(values(query(filter(-60).setEndDate(date(-20)))), contains(3, 2, 1, 0));
+        assertThat(values(query(filter(-60).setEndDate(date(-25)))), contains(2, 1, 0));
+        assertThat(values(query(filter(-60).setPageSize(2).setPageNumber(1))), contains(2, 1));
+        assertThat(loads.size(), is(1));
+    }
+
+    @Test
+    void appendedValuesAreReturned() throws Exception {
+        query(filter(-60));
+        cache.append(ITEM_NAME, value(5, 0));
+        cache.append(ITEM_NAME, value(6, -15));
+        cache.append(ITEM_NAME, value(7, -10));
+
+        assertThat(values(query(filter(-20).setOrdering(Ordering.ASCENDING))), contains(3, 6, 7, 5));
+        assertThat(loads.size(), is(1));
+    }
+
+    @Test
+    void invalidatedItemIsLoadedAgain() throws Exception {
+        query(filter(-60));
+        database.remove(0);
+        cache.invalidate(ITEM_NAME);
+
+        assertThat(values(query(filter(-60))), contains(4, 3, 2, 1));
+        assertThat(loads.size(), is(2));
+    }
+
+    @Test
+    void removedItemIsNotKeptUpToDate() throws Exception {
+        query(filter(-60));
+        cache.remove(ITEM_NAME);
+        cache.append(ITEM_NAME, value(5, 0));
+
+        assertThat(values(query(filter(-60))), contains(4, 3, 2, 1, 0));
+        assertThat(loads.size(), is(2));
+    }
+
+    @Test
+    void queriesOutsideWindowOrByStateAreNotCacheable() {
+        assertFalse(cache.isCacheable(filter(-61)));
+        assertFalse(cache.isCacheable(new FilterCriteria().setItemName(ITEM_NAME)));
+        assertFalse(cache.isCacheable(filter(-10).setOperator(Operator.GT).setState(new DecimalType(1))));
+    }
+}
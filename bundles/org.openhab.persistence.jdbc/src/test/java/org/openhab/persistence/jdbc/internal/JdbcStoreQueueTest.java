@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.persistence.jdbc.internal.dto.JdbcStoreEntry;
+
+/**
+ * Tests the {@link JdbcStoreQueue}.
+ *
+ * @author Helmut Lehmeyer - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcStoreQueueTest {
+
+    private static JdbcStoreEntry entry(String itemName, int value) {
+        return new JdbcStoreEntry(new NumberItem(itemName), new DecimalType(value), null);
+    }
+
+    @Test
+    void entriesAreFlushedInBatchesInOrder() throws InterruptedException {
+        List<List<JdbcStoreEntry>> batches = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(10);
+        JdbcStoreQueue queue = new JdbcStoreQueue(100, 5, 60000, 1, batch -> {
+            batches.add(new ArrayList<>(batch));
+            batch.forEach(e -> latch.countDown());
+        });
+        for (int i = 0; i < 10; i++) {
+            assertTrue(queue.offer(entry("Item", i)));
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        queue.shutdown(5000);
+
+        assertThat(batches.stream().mapToInt(List::size).max().orElse(0), is(lessThanOrEqualTo(5)));
+        List<Integer> values = batches.stream().flatMap(List::stream)
+                .map(e -> ((DecimalType) e.getState()).intValue()).toList();
+        assertThat(values, contains(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        assertThat(queue.getFlushedEntryCount(), is(10L));
+    }
+
+    @Test
+    void pendingEntriesAreFlushedOnShutdown() {
+        List<JdbcStoreEntry> stored = Collections.synchronizedList(new ArrayList<>());
+        JdbcStoreQueue queue = new JdbcStoreQueue(100, 50, 60000, 2, stored::addAll);
+        queue.offer(entry("Item1", 1));
+        queue.offer(entry("Item2", 2));
+        queue.offer(entry("Item3", 3));
+        queue.shutdown(5000);
+
+        assertThat(stored, hasSize(3));
+        assertThat(queue.getQueueDepth(), is(0));
+        assertFalse(queue.offer(entry("Item1", 4)));
+    }
+
+    @Test
+    void entriesAreDroppedWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JdbcStoreQueue queue = new JdbcStoreQueue(2, 1, 0, 1, batch -> {
+            blocked.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(queue.offer(entry("Item", 0)));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        assertTrue(queue.offer(entry("Item", 1)));
+        assertTrue(queue.offer(entry("Item", 2)));
+        assertFalse(queue.offer(entry("Item", 3)));
+        assertThat(queue.getDroppedCount(), is(1L));
+        release.countDown();
+        queue.shutdown(5000);
+        assertThat(queue.getFlushedEntryCount(), is(3L));
+    }
+}
@@ -36,6 +36,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.items.CallItem;
 import org.openhab.core.library.items.ColorItem;
@@ -88,6 +89,22 @@ public class JdbcBaseDAOTest {
         filter = new FilterCriteria();
     }
 
+    @Test
+    void getStoredStateRoundsLikeQuery() {
+        assertThat(jdbcBaseDAO.getStoredState(new NumberItem("NumberItem"), new DecimalType(7.3456), 2),
+                is(DecimalType.valueOf("7.35")));
+        assertThat(jdbcBaseDAO.getStoredState(new NumberItem("NumberItem"), new DecimalType(7.3456), -1),
+                is(DecimalType.valueOf("7.3456")));
+        assertThat(jdbcBaseDAO.getStoredState(new NumberItem("Other_NumberItem"), new DecimalType(7.3456), 2),
+                is(DecimalType.valueOf("7.3456")));
+    }
+
+    @Test
+    void getStoredStateThrowsForGroupItemWithoutBaseItem() {
+        assertThrows(IllegalStateException.class,
+                () -> jdbcBaseDAO.getStoredState(new GroupItem("Group"), StringType.valueOf("String"), 2));
+    }
+
     @ParameterizedTest
     @MethodSource("provideTestCasesForObjectAsStateValid")
     void objectAsStateReturnsValidStateForCompatibleType(Item item, Object value,
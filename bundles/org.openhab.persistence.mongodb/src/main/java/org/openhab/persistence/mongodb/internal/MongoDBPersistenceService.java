@@ -16,15 +16,23 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -50,10 +58,13 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.result.DeleteResult;
 
 /**
@@ -69,19 +80,39 @@ import com.mongodb.client.result.DeleteResult;
                 + "=org.openhab.mongodb")
 public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int DEFAULT_FLUSH_INTERVAL = 1000;
+    // maximum number of batches buffered while the database does not keep up, further values are dropped
+    private static final int MAX_PENDING_BATCHES = 10;
+
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("mongodb");
+
     private String url = "";
     private String db = "";
     private String collection = "";
     private boolean collectionPerItem;
 
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
     private boolean initialized = false;
 
     protected final ItemRegistry itemRegistry;
 
     private @Nullable MongoClient cl;
 
+    // documents waiting to be written, per collection, guarded by itself
+    private final Map<String, List<Document>> pendingDocuments = new LinkedHashMap<>();
+    private int pendingCount = 0;
+    private int droppedCount = 0;
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    // collections for which the index has been verified on the current connection
+    private final Set<String> indexedCollections = ConcurrentHashMap.newKeySet();
+
     @Activate
     public MongoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
@@ -113,8 +144,21 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         collection = dbCollection == null ? "" : dbCollection;
         collectionPerItem = dbCollection == null || dbCollection.isBlank();
 
+        batchSize = Math.max(1, ConfigParser.valueAsOrElse(config.get("batchSize"), Integer.class, DEFAULT_BATCH_SIZE));
+        int flushInterval = Math.max(100,
+                ConfigParser.valueAsOrElse(config.get("flushInterval"), Integer.class, DEFAULT_FLUSH_INTERVAL));
+        logger.debug("MongoDB batch size {}, flush interval {} ms", batchSize, flushInterval);
+
         if (!tryConnectToDatabase()) {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
+        } else if (!collectionPerItem) {
+            // verify the index of the shared collection right away
+            connectToCollection(collection);
+        }
+
+        if (batchSize > 1) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval,
+                    TimeUnit.MILLISECONDS);
         }
 
         initialized = true;
@@ -123,6 +167,12 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        ScheduledFuture<?> localFlushJob = flushJob;
+        if (localFlushJob != null) {
+            localFlushJob.cancel(false);
+            flushJob = null;
+        }
+        flush();
         disconnectFromDatabase();
     }
 
@@ -222,9 +272,10 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
             MongoCollection<Document> mongoCollection = db.getDatabase(this.db).getCollection(collectionName);
 
-            Document idx = new Document();
-            idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
-            mongoCollection.createIndex(idx);
+            if (!indexedCollections.contains(collectionName)) {
+                ensureIndex(mongoCollection);
+                indexedCollections.add(collectionName);
+            }
 
             return mongoCollection;
         } catch (Exception e) {
@@ -233,6 +284,25 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         }
     }
 
+    /**
+     * Creates the compound index on item name and timestamp, unless the collection already has it.
+     *
+     * @param mongoCollection the collection to check
+     */
+    private void ensureIndex(MongoCollection<Document> mongoCollection) {
+        Document idx = new Document();
+        idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
+
+        for (Document index : mongoCollection.listIndexes()) {
+            if (idx.equals(index.get("key"))) {
+                return;
+            }
+        }
+
+        logger.debug("Creating index on collection {}", mongoCollection.getNamespace().getCollectionName());
+        mongoCollection.createIndex(idx);
+    }
+
     /**
      * Disconnects from the database
      */
@@ -243,6 +313,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         }
 
         cl = null;
+        indexedCollections.clear();
     }
 
     @Override
@@ -273,12 +344,19 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         }
         List<HistoricItem> items = new ArrayList<>();
 
+        // make pending documents visible to the query
+        flush();
+
         logger.debug("Query: {}", query);
 
         Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
         MongoCursor<Document> cursor = null;
         try {
-            cursor = collection.find(query).sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
+            cursor = collection.find(query)
+                    .projection(Projections.fields(Projections.include(MongoDBFields.FIELD_TIMESTAMP,
+                            MongoDBFields.FIELD_VALUE, MongoDBFields.FIELD_UNIT, MongoDBFields.FIELD_REALNAME),
+                            Projections.excludeId()))
+                    .sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
                     .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize()).iterator();
 
             while (cursor.hasNext()) {
@@ -344,6 +422,39 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
+        String realItemName = item.getName();
+        String collectionName = collectionPerItem ? realItemName : this.collection;
+        String name = (alias != null) ? alias : realItemName;
+        Object value = MongoDBTypeConversions.convertValue(state);
+
+        Document obj = new Document();
+        obj.put(MongoDBFields.FIELD_ID, new ObjectId());
+        obj.put(MongoDBFields.FIELD_ITEM, name);
+        obj.put(MongoDBFields.FIELD_REALNAME, realItemName);
+        obj.put(MongoDBFields.FIELD_TIMESTAMP, date);
+        obj.put(MongoDBFields.FIELD_VALUE, value);
+        if (item instanceof NumberItem && state instanceof QuantityType<?>) {
+            obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
+        }
+
+        if (batchSize > 1) {
+            int count;
+            synchronized (pendingDocuments) {
+                if (pendingCount >= batchSize * MAX_PENDING_BATCHES) {
+                    // reported with the next flush
+                    droppedCount++;
+                    return;
+                }
+                pendingDocuments.computeIfAbsent(collectionName, k -> new ArrayList<>()).add(obj);
+                count = ++pendingCount;
+            }
+            if (count >= batchSize && flushScheduled.compareAndSet(false, true)) {
+                scheduler.execute(this::flush);
+            }
+            logger.debug("MongoDB queued {}={}", name, value);
+            return;
+        }
+
         // Connect to mongodb server if we're not already connected
         // If we can't connect, log.
         if (!tryConnectToDatabase()) {
@@ -353,9 +464,6 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        String realItemName = item.getName();
-        String collectionName = collectionPerItem ? realItemName : this.collection;
-
         @Nullable
         MongoCollection<Document> collection = connectToCollection(collectionName);
 
@@ -364,18 +472,6 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        String name = (alias != null) ? alias : realItemName;
-        Object value = MongoDBTypeConversions.convertValue(state);
-
-        Document obj = new Document();
-        obj.put(MongoDBFields.FIELD_ID, new ObjectId());
-        obj.put(MongoDBFields.FIELD_ITEM, name);
-        obj.put(MongoDBFields.FIELD_REALNAME, realItemName);
-        obj.put(MongoDBFields.FIELD_TIMESTAMP, date);
-        obj.put(MongoDBFields.FIELD_VALUE, value);
-        if (item instanceof NumberItem && state instanceof QuantityType<?>) {
-            obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
-        }
         try {
             collection.insertOne(obj);
         } catch (org.bson.BsonMaximumSizeExceededException e) {
@@ -385,6 +481,55 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         logger.debug("MongoDB save {}={}", name, value);
     }
 
+    /**
+     * Writes all pending documents with one unordered bulk insert per collection.
+     */
+    void flush() {
+        synchronized (flushLock) {
+            flushScheduled.set(false);
+            Map<String, List<Document>> documents;
+            int dropped;
+            synchronized (pendingDocuments) {
+                dropped = droppedCount;
+                droppedCount = 0;
+                documents = new LinkedHashMap<>(pendingDocuments);
+                pendingDocuments.clear();
+                pendingCount = 0;
+            }
+            if (dropped > 0) {
+                logger.warn("mongodb: {} values dropped, as the database did not keep up with writing them", dropped);
+            }
+            if (documents.isEmpty()) {
+                return;
+            }
+
+            if (!tryConnectToDatabase()) {
+                logger.warn("mongodb: No connection to database. Cannot persist {} values! "
+                        + "Will retry connecting to database next time.",
+                        documents.values().stream().mapToInt(List::size).sum());
+                return;
+            }
+
+            for (Map.Entry<String, List<Document>> entry : documents.entrySet()) {
+                MongoCollection<Document> collection = connectToCollection(entry.getKey());
+                if (collection == null) {
+                    // Logging is done in connectToCollection()
+                    continue;
+                }
+                try {
+                    collection.insertMany(entry.getValue(), new InsertManyOptions().ordered(false));
+                    logger.debug("MongoDB saved {} values to collection {}", entry.getValue().size(), entry.getKey());
+                } catch (MongoBulkWriteException e) {
+                    logger.error("{} of {} values not persisted to collection {}: {}", e.getWriteErrors().size(),
+                            entry.getValue().size(), entry.getKey(), e.getMessage());
+                } catch (Exception e) {
+                    logger.error("Failed to persist {} values to collection {}: {}", entry.getValue().size(),
+                            entry.getKey(), e.getMessage());
+                }
+            }
+        }
+    }
+
     @Nullable
     public MongoCollection<Document> prepareCollection(FilterCriteria filter) {
         if (!initialized || !tryConnectToDatabase()) {
@@ -477,6 +622,9 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return false;
         }
 
+        // pending documents matching the filter must be removed as well
+        flush();
+
         logger.debug("Query: {}", query);
 
         DeleteResult result = collection.deleteMany(query);
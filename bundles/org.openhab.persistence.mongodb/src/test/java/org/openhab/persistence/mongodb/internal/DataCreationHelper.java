@@ -355,6 +355,8 @@ public class DataCreationHelper {
         if (collectionName != null) {
             config.put("collection", collectionName);
         }
+        // write each value right away, so tests can verify the collection directly
+        config.put("batchSize", 1);
 
         // Create a MongoClient connected to the mock server
         MongoClient mongoClient = MongoClients.create(dbContainer.getConnectionString());
@@ -990,4 +990,143 @@ public class MongoDBPersistenceServiceTest {
             dbContainer.stop();
         }
     }
+
+    /*
+     * Test that the compound index on item name and timestamp is created on activation
+     */
+    @Test
+    public void testIndexIsCreatedOnActivate() {
+        // Preparation
+        DatabaseTestContainer dbContainer = new DatabaseTestContainer(new MemoryBackend());
+        try {
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoDatabase database = setupResult.database;
+
+            // Execution
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            // Verification
+            MongoCollection<Document> collection = database.getCollection("testCollection");
+            Document expectedKey = new Document(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
+            List<Document> indexes = collection.listIndexes().into(new ArrayList<>());
+            assertTrue(indexes.stream().anyMatch(index -> expectedKey.equals(index.get("key"))),
+                    "Index on item and timestamp not found: " + indexes);
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    /*
+     * Test that values are buffered and written in bulk once the batch size is reached
+     */
+    @Test
+    public void testStoreBatched() throws InterruptedException {
+        // Preparation
+        DatabaseTestContainer dbContainer = new DatabaseTestContainer(new MemoryBackend());
+        try {
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoDatabase database = setupResult.database;
+            setupResult.config.put("batchSize", 5);
+            setupResult.config.put("flushInterval", 60000);
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+            MongoCollection<Document> collection = database.getCollection("testCollection");
+
+            // Execution
+            for (int i = 0; i < 4; i++) {
+                service.store(DataCreationHelper.createNumberItem("TestItem", i));
+            }
+
+            // Verification
+            assertEquals(0, collection.countDocuments());
+
+            service.store(DataCreationHelper.createNumberItem("TestItem", 4));
+            for (int i = 0; i < 50 && collection.countDocuments() < 5; i++) {
+                Thread.sleep(100);
+            }
+            assertEquals(5, collection.countDocuments());
+
+            service.deactivate(1);
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    /*
+     * Test that buffered values of several items are written with a single bulk insert
+     */
+    @Test
+    public void testStoreBatchedWithSingleBulkInsert() throws InterruptedException {
+        // Preparation
+        DatabaseTestContainer dbContainer = new DatabaseTestContainer(new MemoryBackend());
+        try {
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoDatabase database = setupResult.database;
+            setupResult.config.put("batchSize", 5);
+            setupResult.config.put("flushInterval", 60000);
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+            MongoCollection<Document> collection = database.getCollection("testCollection");
+            ListAppender<ILoggingEvent> listAppender = DataCreationHelper.setupLogger(MongoDBPersistenceService.class,
+                    Level.DEBUG);
+
+            // Execution
+            for (int i = 0; i < 5; i++) {
+                service.store(DataCreationHelper.createNumberItem("TestItem" + i, i));
+            }
+            for (int i = 0; i < 50 && collection.countDocuments() < 5; i++) {
+                Thread.sleep(100);
+            }
+
+            // waits for the running flush to complete
+            service.deactivate(1);
+
+            // Verification
+            assertEquals(5, collection.countDocuments());
+            List<String> bulkInserts = listAppender.list.stream().map(ILoggingEvent::getFormattedMessage)
+                    .filter(message -> message.startsWith("MongoDB saved")).toList();
+            assertEquals(List.of("MongoDB saved 5 values to collection testCollection"), bulkInserts);
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    /*
+     * Test that buffered values are written before a query, so they are included in its result
+     */
+    @Test
+    public void testQueryIncludesBufferedValues() throws ItemNotFoundException {
+        // Preparation
+        DatabaseTestContainer dbContainer = new DatabaseTestContainer(new MemoryBackend());
+        try {
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            setupResult.config.put("batchSize", 100);
+            setupResult.config.put("flushInterval", 60000);
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            NumberItem item = DataCreationHelper.createNumberItem("TestItem", 0);
+            Mockito.when(setupResult.itemRegistry.getItem("TestItem")).thenReturn(item);
+            ZonedDateTime now = ZonedDateTime.now();
+            for (int i = 0; i < 3; i++) {
+                service.store(item, now.plusSeconds(i), new DecimalType(i));
+            }
+
+            // Execution
+            FilterCriteria filter = DataCreationHelper.createFilterCriteria("TestItem");
+            filter.setOrdering(FilterCriteria.Ordering.ASCENDING);
+            Iterable<HistoricItem> result = service.query(filter);
+
+            // Verification
+            VerificationHelper.verifyQueryResult(result, 0, 1, 3);
+
+            service.deactivate(1);
+        } finally {
+            dbContainer.stop();
+        }
+    }
 }
@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.rrd4j.core.RrdDb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a reference to recently used databases of the {@link org.rrd4j.core.RrdDbPool}, so the pool does not close
+ * the underlying file when the last user releases it. Further requests for such a database are then served by the
+ * pool without opening the file again. The least recently used databases are released once more than the maximum
+ * number of databases are held, and databases that have not been used for a while are released by
+ * {@link #releaseIdle(long)}.
+ *
+ * @author Kai Kreuzer - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jDatabaseCache {
+
+    private static class Handle {
+        private final RrdDb db;
+        private long lastAccess;
+
+        private Handle(RrdDb db, long lastAccess) {
+            this.db = db;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(RRD4jDatabaseCache.class);
+
+    // access order, the eldest entry is the least recently used database
+    private final LinkedHashMap<String, Handle> handles = new LinkedHashMap<>(16, 0.75f, true);
+    private int maxSize;
+
+    public RRD4jDatabaseCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Marks a database as used.
+     *
+     * @param name the name of the database
+     * @return <code>true</code> if the database is held by the cache, <code>false</code> if it has to be added
+     */
+    public synchronized boolean touch(String name) {
+        Handle handle = handles.get(name);
+        if (handle == null) {
+            return false;
+        }
+        handle.lastAccess = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * Adds a reference to a database to the cache. The reference is released by the cache when the database is
+     * evicted, so it must not be closed by the caller.
+     *
+     * @param name the name of the database
+     * @param db an additional reference to the database requested from the pool
+     */
+    public void add(String name, RrdDb db) {
+        List<RrdDb> released = new ArrayList<>();
+        synchronized (this) {
+            if (handles.containsKey(name)) {
+                // another thread was faster
+                released.add(db);
+            } else {
+                handles.put(name, new Handle(db, System.currentTimeMillis()));
+                evictEldest(released);
+            }
+        }
+        release(released);
+    }
+
+    /**
+     * Releases the database with the given name, e.g. before its file is deleted.
+     *
+     * @param name the name of the database
+     */
+    public void remove(String name) {
+        Handle handle;
+        synchronized (this) {
+            handle = handles.remove(name);
+        }
+        if (handle != null) {
+            release(List.of(handle.db));
+        }
+    }
+
+    /**
+     * Releases all databases that have not been used within the given time.
+     *
+     * @param idleTime the time in milliseconds after which an unused database is released
+     */
+    public void releaseIdle(long idleTime) {
+        long limit = System.currentTimeMillis() - idleTime;
+        List<RrdDb> released = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Handle> iterator = handles.values().iterator();
+            while (iterator.hasNext()) {
+                Handle handle = iterator.next();
+                if (handle.lastAccess >= limit) {
+                    // access order, all further entries have been used more recently
+                    break;
+                }
+                released.add(handle.db);
+                iterator.remove();
+            }
+        }
+        if (!released.isEmpty()) {
+            logger.trace("Releasing {} idle rrd4j databases", released.size());
+        }
+        release(released);
+    }
+
+    /**
+     * Releases all databases.
+     */
+    public void clear() {
+        List<RrdDb> released;
+        synchronized (this) {
+            released = handles.values().stream().map(handle -> handle.db).toList();
+            handles.clear();
+        }
+        release(released);
+    }
+
+    /**
+     * Changes the maximum number of databases held by the cache.
+     *
+     * @param maxSize the new maximum
+     */
+    public void setMaxSize(int maxSize) {
+        List<RrdDb> released = new ArrayList<>();
+        synchronized (this) {
+            this.maxSize = maxSize;
+            evictEldest(released);
+        }
+        release(released);
+    }
+
+    public synchronized int size() {
+        return handles.size();
+    }
+
+    private void evictEldest(List<RrdDb> released) {
+        Iterator<Map.Entry<String, Handle>> iterator = handles.entrySet().iterator();
+        while (handles.size() > maxSize && iterator.hasNext()) {
+            released.add(iterator.next().getValue().db);
+            iterator.remove();
+        }
+    }
+
+    private void release(List<RrdDb> databases) {
+        for (RrdDb db : databases) {
+            try {
+                db.close();
+            } catch (IOException e) {
+                logger.debug("Error closing rrd4j database: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -21,20 +21,27 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.DoubleFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.measure.Quantity;
@@ -119,11 +126,21 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     private static final String DEFAULT_NUMERIC = "default_numeric";
     private static final String DEFAULT_QUANTIFIABLE = "default_quantifiable";
 
+    private static final String CONFIG_MAX_OPEN_DATABASES = "maxOpenDatabases";
+    private static final int DEFAULT_MAX_OPEN_DATABASES = 500;
+    // additional pool capacity for databases that are requested while the cache is full
+    private static final int POOL_RESERVE = 50;
+    private static final long DATABASE_IDLE_TIME = TimeUnit.MINUTES.toMillis(10);
+    private static final int LOCK_STRIPES = 64;
+    private static final int FLUSH_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
     private static final Set<String> SUPPORTED_TYPES = Set.of(CoreItemFactory.SWITCH, CoreItemFactory.CONTACT,
             CoreItemFactory.DIMMER, CoreItemFactory.NUMBER, CoreItemFactory.ROLLERSHUTTER, CoreItemFactory.COLOR);
 
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory("RRD4j"));
+    private final ExecutorService flushExecutor = Executors.newFixedThreadPool(FLUSH_THREADS,
+            new NamedThreadFactory("RRD4j-flush"));
 
     private final Map<String, RrdDefConfig> rrdDefs = new ConcurrentHashMap<>();
 
@@ -135,6 +152,10 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private static final RrdDbPool DATABASE_POOL = new RrdDbPool();
 
+    private final RRD4jDatabaseCache databaseCache = new RRD4jDatabaseCache(DEFAULT_MAX_OPEN_DATABASES);
+    private final Lock[] databaseLocks = IntStream.range(0, LOCK_STRIPES).mapToObj(i -> new ReentrantLock())
+            .toArray(Lock[]::new);
+
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
     private final ItemRegistry itemRegistry;
     private boolean active = false;
@@ -148,11 +169,14 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     }
 
     private final ScheduledFuture<?> storeJob;
+    private final ScheduledFuture<?> releaseJob;
 
     @Activate
     public RRD4jPersistenceService(final @Reference ItemRegistry itemRegistry, Map<String, Object> config) {
         this.itemRegistry = itemRegistry;
         storeJob = scheduler.scheduleWithFixedDelay(() -> doStore(false), 1, 1, TimeUnit.SECONDS);
+        releaseJob = scheduler.scheduleWithFixedDelay(() -> databaseCache.releaseIdle(DATABASE_IDLE_TIME), 1, 1,
+                TimeUnit.MINUTES);
         modified(config);
         active = true;
     }
@@ -201,6 +225,20 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         defaultOther.addArchives("LAST,0.5,1,720:LAST,0.5,12,10080:LAST,0.5,180,35040:LAST,0.5,2880,21900");
         rrdDefs.put(DEFAULT_OTHER, defaultOther);
 
+        int maxOpenDatabases = DEFAULT_MAX_OPEN_DATABASES;
+        Object maxOpenDatabasesValue = config.get(CONFIG_MAX_OPEN_DATABASES);
+        if (maxOpenDatabasesValue != null) {
+            try {
+                maxOpenDatabases = Math.max(0, Integer.parseInt(maxOpenDatabasesValue.toString().trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring illegal configuration: {} = {}", CONFIG_MAX_OPEN_DATABASES,
+                        maxOpenDatabasesValue);
+            }
+        }
+        // the pool blocks new requests when its capacity is exhausted, so it must be able to hold all cached databases
+        DATABASE_POOL.setCapacity(maxOpenDatabases + POOL_RESERVE);
+        databaseCache.setMaxSize(maxOpenDatabases);
+
         if (config.isEmpty()) {
             logger.debug("using default configuration only");
             return;
@@ -210,8 +248,8 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         while (keys.hasNext()) {
             String key = keys.next();
 
-            if ("service.pid".equals(key) || "component.name".equals(key)) {
-                // ignore service.pid and name
+            if ("service.pid".equals(key) || "component.name".equals(key) || CONFIG_MAX_OPEN_DATABASES.equals(key)) {
+                // ignore service.pid and name, maxOpenDatabases has already been handled
                 continue;
             }
 
@@ -269,9 +307,12 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     protected void deactivate() {
         active = false;
         storeJob.cancel(false);
+        releaseJob.cancel(false);
 
         // make sure we really store everything
         doStore(true);
+        flushExecutor.shutdown();
+        databaseCache.clear();
     }
 
     @Override
@@ -339,30 +380,65 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private void doStore(boolean force) {
         long now = System.currentTimeMillis() / 1000;
+        // collect the points per database, keeping them in the order of their timestamps
+        Map<String, List<Map.Entry<Key, Double>>> points = new LinkedHashMap<>();
         while (!storageMap.isEmpty()) {
             Key key = storageMap.firstKey();
             if (now > key.timestamp || force) {
                 // no new elements can be added for this timestamp because we are already past that time or the service
                 // requires forced storing
-                Double value = storageMap.pollFirstEntry().getValue();
-                writePointToDatabase(key.name, value, key.timestamp);
+                Map.Entry<Key, Double> entry = storageMap.pollFirstEntry();
+                points.computeIfAbsent(key.name, k -> new ArrayList<>()).add(entry);
             } else {
-                return;
+                break;
             }
         }
-    }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
-        RrdDb db = null;
+        if (points.size() <= 1 || flushExecutor.isShutdown()) {
+            points.forEach(this::writePointsToDatabase);
+            return;
+        }
+        // different databases are written in parallel, the points of one database are written by the same task
+        CompletableFuture<?>[] futures = points.entrySet().stream().map(
+                entry -> CompletableFuture.runAsync(() -> writePointsToDatabase(entry.getKey(), entry.getValue()),
+                        flushExecutor))
+                .toArray(CompletableFuture[]::new);
         try {
-            db = getDB(name, true);
-        } catch (Exception e) {
-            logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            logger.warn("Failed to store values in rrd4j databases: {}", e.getMessage());
         }
-        if (db == null) {
-            return;
+    }
+
+    private void writePointsToDatabase(String name, List<Map.Entry<Key, Double>> points) {
+        Lock lock = databaseLocks[Math.floorMod(name.hashCode(), databaseLocks.length)];
+        lock.lock();
+        try {
+            RrdDb db = null;
+            try {
+                db = getDB(name, true);
+            } catch (Exception e) {
+                logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
+            }
+            if (db == null) {
+                return;
+            }
+
+            for (Map.Entry<Key, Double> point : points) {
+                writePointToDatabase(db, name, point.getValue(), point.getKey().timestamp);
+            }
+
+            try {
+                db.close();
+            } catch (IOException e) {
+                logger.debug("Error closing rrd4j database: {}", e.getMessage());
+            }
+        } finally {
+            lock.unlock();
         }
+    }
 
+    private void writePointToDatabase(RrdDb db, String name, double value, long timestamp) {
         ConsolFun function = getConsolidationFunction(db);
         if (function != ConsolFun.AVERAGE) {
             try {
@@ -397,11 +473,6 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         } catch (Exception e) {
             logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         }
-        try {
-            db.close();
-        } catch (IOException e) {
-            logger.debug("Error closing rrd4j database: {}", e.getMessage());
-        }
     }
 
     @Override
@@ -538,7 +609,15 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+    /**
+     * Requests a database from the pool. The returned reference has to be closed by the caller. Recently used
+     * databases are kept open by the {@link RRD4jDatabaseCache}, so closing the reference does not close the file.
+     *
+     * @param alias the name of the database
+     * @param createFileIfAbsent if the database file should be created if it does not exist
+     * @return the database or <code>null</code> if it does not exist and could not be created
+     */
+    protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
         try {
@@ -564,6 +643,10 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                             alias);
                 }
             }
+            if (db != null && !databaseCache.touch(alias)) {
+                // hold an additional reference, so the pool keeps the file open after the caller closed it
+                databaseCache.add(alias, RrdDb.getBuilder().setPool(DATABASE_POOL).setPath(path.toString()).build());
+            }
         } catch (IOException e) {
             logger.error("Could not create rrd4j database file '{}': {}", path, e.getMessage());
         } catch (RejectedExecutionException e) {
@@ -620,6 +703,15 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    /**
+     * Releases the database of the given name, so its file is closed once it is no longer used.
+     *
+     * @param alias the name of the database
+     */
+    public void releaseDB(String alias) {
+        databaseCache.remove(alias);
+    }
+
     public ConsolFun getConsolidationFunction(RrdDb db) {
         try {
             return db.getArchive(0).getConsolFun();
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.rrd4j.core.RrdDb;
+
+/**
+ * Tests for {@link RRD4jDatabaseCache}.
+ *
+ * @author Kai Kreuzer - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jDatabaseCacheTest {
+
+    @Test
+    public void testTouchOnlyKnowsAddedDatabases() {
+        RRD4jDatabaseCache cache = new RRD4jDatabaseCache(2);
+
+        assertFalse(cache.touch("a"));
+        cache.add("a", mock(RrdDb.class));
+        assertTrue(cache.touch("a"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testSecondReferenceIsReleased() throws IOException {
+        RRD4jDatabaseCache cache = new RRD4jDatabaseCache(2);
+        RrdDb first = mock(RrdDb.class);
+        RrdDb second = mock(RrdDb.class);
+
+        cache.add("a", first);
+        cache.add("a", second);
+
+        assertEquals(1, cache.size());
+        verify(first, never()).close();
+        verify(second).close();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDatabaseIsEvicted() throws IOException {
+        RRD4jDatabaseCache cache = new RRD4jDatabaseCache(2);
+        RrdDb a = mock(RrdDb.class);
+        RrdDb b = mock(RrdDb.class);
+        RrdDb c = mock(RrdDb.class);
+
+        cache.add("a", a);
+        cache.add("b", b);
+        // a is now used more recently than b
+        cache.touch("a");
+        cache.add("c", c);
+
+        assertEquals(2, cache.size());
+        verify(b).close();
+        verify(a, never()).close();
+        verify(c, never()).close();
+        assertFalse(cache.touch("b"));
+    }
+
+    @Test
+    public void testShrinkingReleasesDatabases() throws IOException {
+        RRD4jDatabaseCache cache = new RRD4jDatabaseCache(3);
+        RrdDb a = mock(RrdDb.class);
+        RrdDb b = mock(RrdDb.class);
+        cache.add("a", a);
+        cache.add("b", b);
+
+        cache.setMaxSize(1);
+
+        assertEquals(1, cache.size());
+        verify(a).close();
+        verify(b, never()).close();
+    }
+
+    @Test
+    public void testReleaseIdle() throws IOException {
+        RRD4jDatabaseCache cache = new RRD4jDatabaseCache(2);
+        RrdDb a = mock(RrdDb.class);
+        cache.add("a", a);
+
+        cache.releaseIdle(60_000);
+        assertEquals(1, cache.size());
+        verify(a, never()).close();
+
+        // a negative idle time makes every database idle
+        cache.releaseIdle(-60_000);
+        assertEquals(0, cache.size());
+        verify(a).close();
+    }
+
+    @Test
+    public void testRemoveAndClear() throws IOException {
+        RRD4jDatabaseCache cache = new RRD4jDatabaseCache(3);
+        RrdDb a = mock(RrdDb.class);
+        RrdDb b = mock(RrdDb.class);
+        RrdDb c = mock(RrdDb.class);
+        cache.add("a", a);
+        cache.add("b", b);
+        cache.add("c", c);
+
+        cache.remove("a");
+        verify(a).close();
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        verify(b).close();
+        verify(c).close();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testCloseFailureDoesNotPreventRelease() throws IOException {
+        RRD4jDatabaseCache cache = new RRD4jDatabaseCache(2);
+        RrdDb a = mock(RrdDb.class);
+        RrdDb b = mock(RrdDb.class);
+        doThrow(new IOException("test")).when(a).close();
+        cache.add("a", a);
+        cache.add("b", b);
+
+        cache.clear();
+
+        verify(b).close();
+        assertEquals(0, cache.size());
+    }
+}
@@ -12,7 +12,9 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -39,8 +41,21 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    // expressions are usually static, so this is only reached if they are built dynamically
+    static final int MAX_CACHED_PATHS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    // least recently used paths are removed first, guarded by itself
+    private final Map<String, JsonPath> pathCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, JsonPath> eldest) {
+            return size() > MAX_CACHED_PATHS;
+        }
+    };
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -62,7 +77,7 @@ public class JSonPathTransformationService implements TransformationService {
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = getCompiledPath(jsonPathExpression).read(source);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -78,6 +93,20 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    JsonPath getCompiledPath(String jsonPathExpression) {
+        JsonPath path;
+        synchronized (pathCache) {
+            path = pathCache.get(jsonPathExpression);
+        }
+        if (path == null) {
+            path = JsonPath.compile(jsonPathExpression);
+            synchronized (pathCache) {
+                pathCache.put(jsonPathExpression, path);
+            }
+        }
+        return path;
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -19,6 +19,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
 
+import com.jayway.jsonpath.JsonPath;
+
 /**
  * @author Gaël L'hopital - Initial contribution
  */
@@ -53,6 +55,29 @@ public class JSonPathTransformationServiceTest {
         assertEquals("bob", transformedResponse);
     }
 
+    @Test
+    public void testCompiledPathIsReused() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+        assertEquals("alice", processor.transform("$[1].name", JSON_ARRAY));
+
+        assertSame(processor.getCompiledPath("$[0].name"), processor.getCompiledPath("$[0].name"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedPathIsRemoved() {
+        JsonPath first = processor.getCompiledPath("$[0]");
+        JsonPath second = processor.getCompiledPath("$[1]");
+        for (int i = 2; i < JSonPathTransformationService.MAX_CACHED_PATHS; i++) {
+            processor.getCompiledPath("$[" + i + "]");
+        }
+        assertSame(first, processor.getCompiledPath("$[0]"));
+
+        processor.getCompiledPath("$[" + JSonPathTransformationService.MAX_CACHED_PATHS + "]");
+
+        assertSame(first, processor.getCompiledPath("$[0]"));
+        assertNotSame(second, processor.getCompiledPath("$[1]"));
+    }
+
     @Test
     public void testValidPath2() throws TransformationException {
         String transformedResponse = processor.transform("$[1].id", JSON_ARRAY);
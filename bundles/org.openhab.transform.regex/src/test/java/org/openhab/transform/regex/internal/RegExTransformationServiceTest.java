@@ -17,6 +17,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
+import org.openhab.transform.regex.internal.RegExTransformationService.CompiledExpression;
 
 /**
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
@@ -75,4 +76,29 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testCompiledExpressionIsReused() throws TransformationException {
+        assertEquals("SetMode(42)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:SetMode,ARG:42"));
+        assertEquals("Reset(0)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:Reset,ARG:0"));
+        assertEquals("8", processor.transform(".*?<temp_c data=\"(.*?)\".*", source));
+
+        assertSame(processor.getCompiledExpression("s/^OP:(.*?),ARG:(.*)$/$1($2)/"),
+                processor.getCompiledExpression("s/^OP:(.*?),ARG:(.*)$/$1($2)/"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedExpressionIsRemoved() {
+        CompiledExpression first = processor.getCompiledExpression("a0");
+        CompiledExpression second = processor.getCompiledExpression("a1");
+        for (int i = 2; i < RegExTransformationService.MAX_CACHED_EXPRESSIONS; i++) {
+            processor.getCompiledExpression("a" + i);
+        }
+        assertSame(first, processor.getCompiledExpression("a0"));
+
+        processor.getCompiledExpression("a" + RegExTransformationService.MAX_CACHED_EXPRESSIONS);
+
+        assertSame(first, processor.getCompiledExpression("a0"));
+        assertNotSame(second, processor.getCompiledExpression("a1"));
+    }
 }
@@ -12,12 +12,15 @@
  */
 package org.openhab.transform.xslt.internal;
 
-import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -25,24 +28,66 @@ import javax.xml.transform.stream.StreamSource;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.OpenHAB;
+import org.openhab.core.service.WatchService;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XSLT.
+ * <p>
+ * Stylesheets are compiled once into {@link Templates}, which are kept until the stylesheet file changes. The least
+ * recently used templates are dropped once {@value #MAX_CACHED_TEMPLATES} stylesheets are cached. Each transformation
+ * uses a new {@link Transformer} created from the thread-safe templates, as transformers are not thread-safe.
  *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XSLT" })
-public class XsltTransformationService implements TransformationService {
+public class XsltTransformationService implements TransformationService, WatchService.WatchEventListener {
+
+    static final int MAX_CACHED_TEMPLATES = 64;
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final WatchService watchService;
+    private final Path transformFolder;
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    // access-ordered, guarded by transformerFactory
+    private final Map<Path, Templates> templatesCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, Templates> eldest) {
+            return size() > MAX_CACHED_TEMPLATES;
+        }
+    };
+
+    private long compileCount = 0;
+
+    @Activate
+    public XsltTransformationService(
+            final @Reference(target = WatchService.CONFIG_WATCHER_FILTER) WatchService watchService) {
+        this.watchService = watchService;
+        this.transformFolder = Path.of(OpenHAB.getConfigFolder(), TransformationService.TRANSFORM_FOLDER_NAME)
+                .toAbsolutePath().normalize();
+        watchService.registerListener(this, Path.of(TransformationService.TRANSFORM_FOLDER_NAME));
+    }
+
+    @Deactivate
+    public void deactivate() {
+        watchService.unregisterListener(this);
+        synchronized (transformerFactory) {
+            templatesCache.clear();
+        }
+    }
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,12 +105,12 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        Path path;
+        Templates templates;
 
         try {
-            String path = OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
-                    + File.separator + filename;
-            xsl = new StreamSource(new File(path));
+            path = transformFolder.resolve(filename).normalize();
+            templates = getTemplates(path);
         } catch (Exception e) {
             String message = "opening file '" + filename + "' throws exception";
 
@@ -73,15 +118,13 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException(message, e);
         }
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
+        logger.debug("about to transform '{}' by the function '{}'", source, path);
 
         StringReader xml = new StringReader(source);
         StringWriter out = new StringWriter();
 
-        Transformer transformer;
-
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
+            Transformer transformer = templates.newTransformer();
             transformer.transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
@@ -92,4 +135,38 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    @Override
+    public void processWatchEvent(WatchService.Kind kind, Path path) {
+        Path changed = watchService.getWatchPath().resolve(path).toAbsolutePath().normalize();
+        synchronized (transformerFactory) {
+            if (templatesCache.remove(changed) == null && !templatesCache.isEmpty()) {
+                // the file might be included or imported by a cached stylesheet
+                templatesCache.clear();
+            }
+        }
+        logger.trace("Invalidated compiled XSLT templates after {} of '{}'", kind, path);
+    }
+
+    /**
+     * Returns the number of stylesheets compiled so far.
+     *
+     * @return the number of compilations
+     */
+    long getCompileCount() {
+        return compileCount;
+    }
+
+    private Templates getTemplates(Path path) throws TransformerConfigurationException {
+        synchronized (transformerFactory) {
+            Templates templates = templatesCache.get(path);
+            if (templates == null) {
+                logger.debug("Compiling XSLT stylesheet '{}'", path);
+                templates = transformerFactory.newTemplates(new StreamSource(path.toFile()));
+                templatesCache.put(path, templates);
+                compileCount++;
+            }
+            return templates;
+        }
+    }
 }
@@ -13,6 +13,7 @@
 package org.openhab.transform.xslt.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -22,16 +23,26 @@ import java.nio.file.StandardCopyOption;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
 import org.openhab.core.OpenHAB;
+import org.openhab.core.service.WatchService;
 import org.openhab.core.transform.TransformationException;
 
 /**
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
 public class XsltTransformationServiceTest extends AbstractTransformationServiceTest {
 
     private XsltTransformationService processor;
 
+    private @Mock WatchService watchService;
+
     private final Path transformHttpPath = Paths.get(OpenHAB.getConfigFolder()).resolve("transform/http");
 
     @BeforeEach
@@ -40,7 +51,8 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
             Files.createDirectories(transformHttpPath);
         }
 
-        processor = new XsltTransformationService();
+        when(watchService.getWatchPath()).thenReturn(Paths.get(OpenHAB.getConfigFolder()));
+        processor = new XsltTransformationService(watchService);
     }
 
     @Test
@@ -54,4 +66,42 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTemplatesAreCachedUntilFileChanges() throws TransformationException, IOException {
+        Path stylesheet = transformHttpPath.resolve("cached.xsl");
+        Files.copy(getClass().getResourceAsStream("google_weather.xsl"), stylesheet,
+                StandardCopyOption.REPLACE_EXISTING);
+
+        assertEquals("8", processor.transform("http/cached.xsl", source));
+        assertEquals("8", processor.transform("http/cached.xsl", source));
+        assertEquals(1, processor.getCompileCount());
+
+        Files.writeString(stylesheet, Files.readString(stylesheet).replace("temp_c", "temp_f"));
+        processor.processWatchEvent(WatchService.Kind.MODIFY, Path.of("transform/http/cached.xsl"));
+
+        assertEquals("46", processor.transform("http/cached.xsl", source));
+        assertEquals(2, processor.getCompileCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedTemplatesAreDropped() throws TransformationException, IOException {
+        for (int i = 0; i <= XsltTransformationService.MAX_CACHED_TEMPLATES; i++) {
+            Files.copy(getClass().getResourceAsStream("google_weather.xsl"), transformHttpPath.resolve(i + ".xsl"),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        for (int i = 0; i < XsltTransformationService.MAX_CACHED_TEMPLATES; i++) {
+            assertEquals("8", processor.transform("http/" + i + ".xsl", source));
+        }
+        // the first stylesheet is used again, so the second one is the least recently used
+        assertEquals("8", processor.transform("http/0.xsl", source));
+        assertEquals("8", processor.transform("http/" + XsltTransformationService.MAX_CACHED_TEMPLATES + ".xsl",
+                source));
+        long compileCount = processor.getCompileCount();
+
+        assertEquals("8", processor.transform("http/0.xsl", source));
+        assertEquals(compileCount, processor.getCompileCount());
+        assertEquals("8", processor.transform("http/1.xsl", source));
+        assertEquals(compileCount + 1, processor.getCompileCount());
+    }
 }